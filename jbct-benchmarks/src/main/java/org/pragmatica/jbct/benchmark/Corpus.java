@@ -0,0 +1,77 @@
+package org.pragmatica.jbct.benchmark;
+
+import org.pragmatica.jbct.shared.SourceFile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+
+/**
+ * Benchmark inputs: the golden formatter examples and synthetic sources derived from them.
+ */
+final class Corpus {
+    private static final String EXAMPLES = "/format-examples/";
+
+    private Corpus() {}
+
+    /**
+     * Golden example as it is stored, i.e. already formatted.
+     */
+    static SourceFile example(String fileName) {
+        try (var stream = Corpus.class.getResourceAsStream(EXAMPLES + fileName)) {
+            if (stream == null) {
+                throw new IllegalArgumentException("Unknown example " + fileName);
+            }
+            return SourceFile.sourceFile(Path.of(fileName), new String(stream.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Golden example whose top-level type body is repeated the given number of times. Member names
+     * repeat too, which the formatter does not care about.
+     */
+    static SourceFile scaledMembers(String fileName, int copies) {
+        var example = example(fileName);
+        var content = example.content();
+        var bodyStart = content.indexOf('{') + 1;
+        var bodyEnd = content.lastIndexOf('}');
+        var body = content.substring(bodyStart, bodyEnd);
+        var scaled = new StringBuilder(content.length() + body.length() * (copies - 1));
+        scaled.append(content, 0, bodyStart);
+        for (int i = 0; i < copies; i++) {
+            scaled.append(body);
+        }
+        scaled.append(content, bodyEnd, content.length());
+        return example.withContent(scaled.toString());
+    }
+
+    /**
+     * Method whose body is a chain of lambdas nested to the given depth, written on a single line
+     * so the formatter has to find the layout.
+     */
+    static SourceFile nestedLambdas(int depth) {
+        var expression = new StringBuilder();
+        for (int i = 0; i < depth; i++) {
+            expression.append("input.flatMap(v")
+                      .append(i)
+                      .append(" -> ");
+        }
+        expression.append("input.map(value -> value + 1)");
+        expression.append(")".repeat(depth));
+        var content = """
+            package bench;
+
+            import org.pragmatica.lang.Result;
+
+            class Nested {
+                Result<Integer> run(Result<Integer> input) {
+                    return %s;
+                }
+            }
+            """.formatted(expression);
+        return SourceFile.sourceFile(Path.of("Nested.java"), content);
+    }
+}
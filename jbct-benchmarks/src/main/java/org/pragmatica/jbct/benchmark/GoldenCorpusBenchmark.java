@@ -0,0 +1,72 @@
+package org.pragmatica.jbct.benchmark;
+
+import org.pragmatica.jbct.format.cst.CstFormatter;
+import org.pragmatica.jbct.shared.SourceFile;
+import org.pragmatica.lang.Result;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Formatter throughput over each golden example.
+ *
+ * <p>Run with {@code java -jar jbct-benchmarks/target/benchmarks.jar GoldenCorpus -prof gc}. The
+ * {@code gc.alloc.rate.norm} metric is the number of bytes allocated per formatted file; divide it by
+ * the example size to compare allocation per source byte across examples.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Benchmark)
+public class GoldenCorpusBenchmark {
+    @Param({"Annotations.java",
+    "BlankLines.java",
+    "ChainAlignment.java",
+    "Comments.java",
+    "Imports.java",
+    "KeywordPrefixedIdentifiers.java",
+    "Lambdas.java",
+    "LineWrapping.java",
+    "MultilineArguments.java",
+    "MultilineParameters.java",
+    "Records.java",
+    "SwitchExpressions.java",
+    "TernaryOperators.java",
+    "TextBlocks.java"})
+    public String example;
+
+    private CstFormatter formatter;
+    private SourceFile source;
+
+    @Setup
+    public void setUp() {
+        formatter = CstFormatter.cstFormatter();
+        source = Corpus.example(example);
+        // Fail fast instead of measuring the error path
+        formatter.format(source)
+                 .unwrap();
+    }
+
+    @Benchmark
+    public Result<SourceFile> format() {
+        return formatter.format(source);
+    }
+
+    @Benchmark
+    public Result<Boolean> isFormatted() {
+        return formatter.isFormatted(source);
+    }
+}
@@ -0,0 +1,52 @@
+package org.pragmatica.jbct.benchmark;
+
+import org.pragmatica.jbct.format.cst.CstFormatter;
+import org.pragmatica.jbct.shared.SourceFile;
+import org.pragmatica.lang.Result;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Formatting time of a single statement made of lambdas nested to doubling depths.
+ *
+ * <p>Every nesting level asks whether the rest of the expression fits on the line, so this is where
+ * repeated measurement of nested subtrees shows up first: time should roughly double with depth.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Benchmark)
+public class LambdaNestingBenchmark {
+    @Param({"2", "4", "8", "16", "32"})
+    public int depth;
+
+    private CstFormatter formatter;
+    private SourceFile source;
+
+    @Setup
+    public void setUp() {
+        formatter = CstFormatter.cstFormatter();
+        source = Corpus.nestedLambdas(depth);
+        formatter.format(source)
+                 .unwrap();
+    }
+
+    @Benchmark
+    public Result<SourceFile> format() {
+        return formatter.format(source);
+    }
+}
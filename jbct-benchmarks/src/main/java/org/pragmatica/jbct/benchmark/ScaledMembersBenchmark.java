@@ -0,0 +1,61 @@
+package org.pragmatica.jbct.benchmark;
+
+import org.pragmatica.jbct.format.cst.CstFormatter;
+import org.pragmatica.jbct.shared.SourceFile;
+import org.pragmatica.lang.Result;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Formatting time of golden examples whose type body is repeated 1, 10 and 100 times.
+ *
+ * <p>Time per operation should grow linearly with the number of copies; a steeper curve points at
+ * work which depends on file size rather than on member size. The 100 copies variants exceed the
+ * parallel parsing threshold, so that path is covered too.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Benchmark)
+public class ScaledMembersBenchmark {
+    @Param({"ChainAlignment.java", "Lambdas.java", "MultilineArguments.java"})
+    public String example;
+
+    @Param({"1", "10", "100"})
+    public int copies;
+
+    private CstFormatter formatter;
+    private SourceFile source;
+
+    @Setup
+    public void setUp() {
+        formatter = CstFormatter.cstFormatter();
+        source = Corpus.scaledMembers(example, copies);
+        formatter.format(source)
+                 .unwrap();
+    }
+
+    @Benchmark
+    public Result<SourceFile> format() {
+        return formatter.format(source);
+    }
+
+    @Benchmark
+    public Result<Boolean> isFormatted() {
+        return formatter.isFormatted(source);
+    }
+}
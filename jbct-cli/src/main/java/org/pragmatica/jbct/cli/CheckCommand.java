@@ -1,15 +1,17 @@
 package org.pragmatica.jbct.cli;
 
+import org.pragmatica.jbct.analysis.AnalysisResult;
+import org.pragmatica.jbct.analysis.SourceAnalyzer;
 import org.pragmatica.jbct.config.ConfigLoader;
 import org.pragmatica.jbct.config.JbctConfig;
-import org.pragmatica.jbct.format.JbctFormatter;
-import org.pragmatica.jbct.lint.Diagnostic;
-import org.pragmatica.jbct.lint.DiagnosticSeverity;
-import org.pragmatica.jbct.lint.JbctLinter;
+import org.pragmatica.jbct.format.cst.CstFormatter;
 import org.pragmatica.jbct.lint.LintContext;
+import org.pragmatica.jbct.lint.RuleProfiler;
+import org.pragmatica.jbct.lint.cst.CstLinter;
 import org.pragmatica.jbct.shared.FileCollector;
-import org.pragmatica.jbct.shared.SourceFile;
+import org.pragmatica.jbct.shared.FilePipeline;
 import org.pragmatica.lang.Option;
+import org.pragmatica.lang.Result;
 
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -18,6 +20,7 @@ import java.util.concurrent.Callable;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import picocli.CommandLine.Command;
+import picocli.CommandLine.Mixin;
 import picocli.CommandLine.Parameters;
 
 /**
@@ -49,33 +52,52 @@ public class CheckCommand implements Callable<Integer> {
     description = "Path to configuration file")
     Path configPath;
 
+    @picocli.CommandLine.Option(
+    names = {"--fail-fast"},
+    description = "Stop at the first violation (for gatekeeping hooks)")
+    boolean failFast;
+
+    @Mixin
+    ProfileOptions profileOptions;
+
     @Override
     public Integer call() {
         // Load configuration
         var config = ConfigLoader.load(Option.option(configPath), Option.none());
-        var formatter = JbctFormatter.jbctFormatter(config.formatter());
-        var context = createContext(config);
-        var linter = JbctLinter.jbctLinter(context);
-        var filesToProcess = collectJavaFiles();
+        var filesToProcess = collectJavaFiles(config);
         if (filesToProcess.isEmpty()) {
             System.out.println("No Java files found.");
             return 0;
         }
+        var context = withProjectIndex(createContext(config), filesToProcess);
+        var profiler = RuleProfiler.ruleProfiler();
+        var linter = profileOptions.enabled()
+                     ? CstLinter.cstLinter(context, profiler)
+                     : CstLinter.cstLinter(context);
+        var analyzer = SourceAnalyzer.sourceAnalyzer(CstFormatter.cstFormatter(config.formatter()), linter);
         if (verbose) {
             System.out.println("Checking " + filesToProcess.size() + " Java file(s)...");
         }
+        if (failFast) {
+            var exitCode = checkFailFast(filesToProcess, analyzer);
+            profileOptions.report(profiler, System.out);
+            return exitCode;
+        }
         // Format check
         var needsFormatting = new ArrayList<Path>();
-        var formatErrors = new AtomicInteger(0);
         // Lint check
-        var allDiagnostics = new ArrayList<Diagnostic>();
         var lintErrors = new AtomicInteger(0);
         var warnings = new AtomicInteger(0);
         var parseErrors = new AtomicInteger(0);
-        for (var file : filesToProcess) {
-            checkFormat(file, formatter, needsFormatting, formatErrors);
-            checkLint(file, linter, allDiagnostics, lintErrors, warnings, parseErrors);
-        }
+        // Files are checked concurrently; lint issues are printed as soon as each file is reported
+        FilePipeline.filePipeline(analyzer::check)
+                    .forEach(filesToProcess,
+                             (file, result) -> checkFile(file,
+                                                         result,
+                                                         needsFormatting,
+                                                         lintErrors,
+                                                         warnings,
+                                                         parseErrors));
         // Report format issues
         if (!needsFormatting.isEmpty()) {
             System.out.println();
@@ -84,19 +106,13 @@ public class CheckCommand implements Callable<Integer> {
                 System.out.println("  " + file);
             }
         }
-        // Report lint issues
-        if (!allDiagnostics.isEmpty()) {
-            System.out.println();
-            for (var d : allDiagnostics) {
-                System.out.print(d.toHumanReadable());
-            }
-        }
         // Summary
         System.out.println();
         System.out.println("Check results: " + needsFormatting.size() + " format issue(s), " + lintErrors.get()
                            + " lint error(s), " + warnings.get() + " warning(s)");
+        profileOptions.report(profiler, System.out);
         // Determine exit code
-        if (formatErrors.get() > 0 || parseErrors.get() > 0) {
+        if (parseErrors.get() > 0) {
             return 2;
         }
         if (!needsFormatting.isEmpty() || lintErrors.get() > 0) {
@@ -119,50 +135,83 @@ public class CheckCommand implements Callable<Integer> {
                           .withBusinessPackages(jbctConfig.businessPackages());
     }
 
-    private List<Path> collectJavaFiles() {
-        return FileCollector.collectJavaFiles(paths, System.err::println);
+    private LintContext withProjectIndex(LintContext context, List<Path> files) {
+        // Cross-file rules see all checked files, not only the one being analyzed
+        return context.withProjectIndex(ProjectCache.projectIndex(files));
+    }
+
+    private int checkFailFast(List<Path> files, SourceAnalyzer analyzer) {
+        var failure = new AtomicInteger(0);
+        FilePipeline.filePipeline(analyzer::checkFailFast)
+                    .until(files,
+                           (file, result) -> {
+                               Option<Integer> exitCode = result.fold(cause -> {
+                                                                          System.err.println("  ✗ error: " + file + ": "
+                                                                                             + cause.message());
+                                                                          return Option.some(2);
+                                                                      },
+                                                                      this::firstFailure);
+                               exitCode.onPresent(failure::set);
+                               if (exitCode.isEmpty() && verbose) {
+                                   System.out.println("  ✓ " + file.getFileName());
+                               }
+                               return exitCode.isEmpty();
+                           });
+        if (failure.get() != 0) {
+            return failure.get();
+        }
+        System.out.println("✓ All checks passed.");
+        return 0;
+    }
+
+    private Option<Integer> firstFailure(AnalysisResult result) {
+        if (result.changed()) {
+            System.out.println("File not properly formatted: " + result.source()
+                                                                       .path());
+            return Option.some(1);
+        }
+        return result.diagnostics()
+                     .stream()
+                     .findFirst()
+                     .map(d -> {
+                              System.out.print(d.toHumanReadable());
+                              return Option.some(1);
+                          })
+                     .orElse(Option.none());
     }
 
-    private void checkFormat(Path file, JbctFormatter formatter, List<Path> needsFormatting, AtomicInteger errors) {
-        SourceFile.sourceFile(file)
-                  .flatMap(formatter::isFormatted)
-                  .onSuccess(isFormatted -> {
-                                 if (!isFormatted) {
-                                     needsFormatting.add(file);
-                                 } else if (verbose) {
-                                     System.out.println("  ✓ format: " + file.getFileName());
-                                 }
-                             })
-                  .onFailure(cause -> {
-                                 errors.incrementAndGet();
-                                 System.err.println("  ✗ format error: " + file + ": " + cause.message());
-                             });
+    private List<Path> collectJavaFiles(JbctConfig config) {
+        return FileCollector.collectJavaFiles(paths, config.excludes(), System.err::println);
     }
 
-    private void checkLint(Path file,
-                           JbctLinter linter,
-                           List<Diagnostic> allDiagnostics,
+    private void checkFile(Path file,
+                           Result<AnalysisResult> analysis,
+                           List<Path> needsFormatting,
                            AtomicInteger errors,
                            AtomicInteger warnings,
                            AtomicInteger parseErrors) {
-        SourceFile.sourceFile(file)
-                  .flatMap(linter::lint)
-                  .onSuccess(diagnostics -> {
-                                 allDiagnostics.addAll(diagnostics);
-                                 for (var d : diagnostics) {
-                                     switch (d.severity()) {
+        analysis.onSuccess(result -> {
+                               if (result.changed()) {
+                                   needsFormatting.add(file);
+                               } else if (verbose) {
+                                   System.out.println("  ✓ format: " + file.getFileName());
+                               }
+                               var diagnostics = result.diagnostics();
+                               for (var d : diagnostics) {
+                                   System.out.print(d.toHumanReadable());
+                                   switch (d.severity()) {
             case ERROR -> errors.incrementAndGet();
             case WARNING -> warnings.incrementAndGet();
             default -> {}
         }
-                                 }
-                                 if (verbose && diagnostics.isEmpty()) {
-                                     System.out.println("  ✓ lint: " + file.getFileName());
-                                 }
-                             })
-                  .onFailure(cause -> {
-                                 parseErrors.incrementAndGet();
-                                 System.err.println("  ✗ parse error: " + file + ": " + cause.message());
-                             });
+                               }
+                               if (verbose && diagnostics.isEmpty()) {
+                                   System.out.println("  ✓ lint: " + file.getFileName());
+                               }
+                           })
+                .onFailure(cause -> {
+                               parseErrors.incrementAndGet();
+                               System.err.println("  ✗ parse error: " + file + ": " + cause.message());
+                           });
     }
 }
@@ -2,10 +2,14 @@ package org.pragmatica.jbct.cli;
 
 import org.pragmatica.jbct.config.ConfigLoader;
 import org.pragmatica.jbct.config.JbctConfig;
+import org.pragmatica.jbct.format.FormatCache;
 import org.pragmatica.jbct.format.JbctFormatter;
+import org.pragmatica.jbct.format.TextEdit;
 import org.pragmatica.jbct.shared.FileCollector;
+import org.pragmatica.jbct.shared.FilePipeline;
 import org.pragmatica.jbct.shared.SourceFile;
 import org.pragmatica.lang.Option;
+import org.pragmatica.lang.Result;
 
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -44,19 +48,33 @@ public class FormatCommand implements Callable<Integer> {
     description = "Show verbose output")
     boolean verbose;
 
+    @picocli.CommandLine.Option(
+    names = {"--imports-only"},
+    description = "Only group and order import declarations, leaving the rest of each file as is")
+    boolean importsOnly;
+
+    @picocli.CommandLine.Option(
+    names = {"--no-cache"},
+    description = "Check every file instead of skipping files already verified as formatted")
+    boolean noCache;
+
     @picocli.CommandLine.Option(
     names = {"--config"},
     description = "Path to configuration file")
     Path configPath;
 
     private JbctFormatter formatter;
+    private Option<FormatCache> cache = Option.none();
 
     @Override
     public Integer call() {
         // Load configuration
         var config = ConfigLoader.load(Option.option(configPath), Option.none());
         formatter = JbctFormatter.jbctFormatter(config.formatter());
-        var filesToProcess = collectJavaFiles();
+        if (!noCache) {
+            cache = Option.some(FormatCache.formatCache(ProjectCache.file("format-cache"), config.formatter()));
+        }
+        var filesToProcess = collectJavaFiles(config);
         if (filesToProcess.isEmpty()) {
             System.out.println("No Java files found.");
             return 0;
@@ -66,9 +84,12 @@ public class FormatCommand implements Callable<Integer> {
         }
         var counters = new int[3]; // 0=formatted, 1=unchanged, 2=errors
         var needsFormatting = new ArrayList<Path>();
-        for (var file : filesToProcess) {
-            processFile(file, counters, needsFormatting);
-        }
+        // Files are formatted and written on a bounded pool; only changed files are written
+        FilePipeline.filePipeline(this::formatFile)
+                    .forEach(filesToProcess, (file, result) -> reportFile(file, result, counters, needsFormatting));
+        cache.onPresent(formatCache -> formatCache.write()
+                                                  .onFailure(cause -> printVerbose("Failed to write format cache: "
+                                                                                   + cause.message())));
         // Print summary
         printSummary(counters[0], counters[1], counters[2], needsFormatting);
         // Return appropriate exit code
@@ -81,66 +102,104 @@ public class FormatCommand implements Callable<Integer> {
         return 0;
     }
 
-    private List<Path> collectJavaFiles() {
-        return FileCollector.collectJavaFiles(paths, System.err::println);
+    private List<Path> collectJavaFiles(JbctConfig config) {
+        return FileCollector.collectJavaFiles(paths, config.excludes(), System.err::println);
     }
 
-    private void processFile(Path file, int[] counters, List<Path> needsFormatting) {
-        SourceFile.sourceFile(file)
-                  .flatMap(source -> checkAndFormat(source, file, counters, needsFormatting))
-                  .onFailure(cause -> {
-                                 counters[2]++;
-                                 System.err.println("  error: " + file + " - " + cause.message());
-                             });
+    private Result<Outcome> formatFile(SourceFile source) {
+        if (cache.filter(formatCache -> formatCache.isFormatted(source))
+                 .isPresent()) {
+            // Verified by an earlier run with the same content, configuration and formatter version
+            return Result.success(Outcome.UNCHANGED);
+        }
+        if (importsOnly) {
+            // Parses and prints the package and import declarations only
+            return formatter.organizeImports(source)
+                            .flatMap(edits -> applyImportEdits(source, edits));
+        }
+        if (checkOnly || dryRun) {
+            // Stops at the first difference, no formatted text is built
+            return formatter.isFormatted(source)
+                            .onSuccess(formatted -> {
+                                           if (formatted) {
+                                               markFormatted(source);
+                                           }
+                                       })
+                            .map(formatted -> formatted
+                                              ? Outcome.UNCHANGED
+                                              : Outcome.NEEDS_FORMATTING);
+        }
+        // Single parse: the formatted output doubles as the "is formatted" check. Only content the
+        // formatter left unchanged counts as verified; rewritten files are verified by the next run
+        return formatter.format(source)
+                        .flatMap(formattedSource -> formattedSource.content()
+                                                                   .equals(source.content())
+                                                    ? verifiedUnchanged(source)
+                                                    : applyFormatting(formattedSource));
     }
 
-    private org.pragmatica.lang.Result<SourceFile> checkAndFormat(SourceFile source,
-                                                                  Path file,
-                                                                  int[] counters,
-                                                                  List<Path> needsFormatting) {
-        return formatter.isFormatted(source)
-                        .flatMap(isFormatted -> isFormatted
-                                                ? handleUnchanged(source, file, counters)
-                                                : handleNeedsFormatting(source, file, counters, needsFormatting));
+    private Result<Outcome> applyImportEdits(SourceFile source, List<TextEdit> edits) {
+        if (edits.isEmpty()) {
+            return Result.success(Outcome.UNCHANGED);
+        }
+        if (checkOnly || dryRun) {
+            return Result.success(Outcome.NEEDS_FORMATTING);
+        }
+        return applyFormatting(source.withContent(TextEdit.apply(source.content(), edits)));
     }
 
-    private org.pragmatica.lang.Result<SourceFile> handleUnchanged(SourceFile source, Path file, int[] counters) {
-        counters[1]++;
-        if (verbose) {
-            System.out.println("  unchanged: " + file);
-        }
-        return org.pragmatica.lang.Result.success(source);
+    private Result<Outcome> applyFormatting(SourceFile formattedSource) {
+        return formattedSource.writeIfChanged()
+                              .map(written -> written
+                                              ? Outcome.FORMATTED
+                                              : Outcome.UNCHANGED);
     }
 
-    private org.pragmatica.lang.Result<SourceFile> handleNeedsFormatting(SourceFile source,
-                                                                         Path file,
-                                                                         int[] counters,
-                                                                         List<Path> needsFormatting) {
-        needsFormatting.add(file);
-        if (checkOnly) {
-            System.out.println("  needs formatting: " + file);
-            return org.pragmatica.lang.Result.success(source);
+    private Result<Outcome> verifiedUnchanged(SourceFile source) {
+        markFormatted(source);
+        return Result.success(Outcome.UNCHANGED);
+    }
+
+    private void markFormatted(SourceFile source) {
+        cache.onPresent(formatCache -> formatCache.markFormatted(source));
+    }
+
+    private void printVerbose(String message) {
+        if (verbose) {
+            System.out.println(message);
         }
-        return formatAndWrite(source, file, counters);
     }
 
-    private org.pragmatica.lang.Result<SourceFile> formatAndWrite(SourceFile source, Path file, int[] counters) {
-        return formatter.format(source)
-                        .flatMap(formattedSource -> writeFormatted(formattedSource, file, counters));
+    private void reportFile(Path file, Result<Outcome> result, int[] counters, List<Path> needsFormatting) {
+        result.onSuccess(outcome -> reportOutcome(file, outcome, counters, needsFormatting))
+              .onFailure(cause -> {
+                             counters[2]++;
+                             System.err.println("  error: " + file + " - " + cause.message());
+                         });
     }
 
-    private org.pragmatica.lang.Result<SourceFile> writeFormatted(SourceFile formattedSource, Path file, int[] counters) {
-        if (dryRun) {
-            System.out.println("  would format: " + file);
-            return org.pragmatica.lang.Result.success(formattedSource);
+    private void reportOutcome(Path file, Outcome outcome, int[] counters, List<Path> needsFormatting) {
+        switch (outcome) {
+            case UNCHANGED -> {
+                counters[1]++;
+                if (verbose) {
+                    System.out.println("  unchanged: " + file);
+                }
+            }
+            case FORMATTED -> {
+                needsFormatting.add(file);
+                counters[0]++;
+                if (verbose) {
+                    System.out.println("  formatted: " + file);
+                }
+            }
+            case NEEDS_FORMATTING -> {
+                needsFormatting.add(file);
+                System.out.println(checkOnly
+                                   ? "  needs formatting: " + file
+                                   : "  would format: " + file);
+            }
         }
-        return formattedSource.write()
-                              .onSuccess(_ -> {
-                                             counters[0]++;
-                                             if (verbose) {
-                                                 System.out.println("  formatted: " + file);
-                                             }
-                                         });
     }
 
     private void printSummary(int formatted, int unchanged, int errors, List<Path> needsFormatting) {
@@ -157,4 +216,10 @@ public class FormatCommand implements Callable<Integer> {
             System.out.println("Formatted: " + formatted + ", Unchanged: " + unchanged + ", Errors: " + errors);
         }
     }
+
+    private enum Outcome {
+        UNCHANGED,
+        FORMATTED,
+        NEEDS_FORMATTING
+    }
 }
@@ -0,0 +1,54 @@
+package org.pragmatica.jbct.cli;
+
+import org.pragmatica.jbct.lint.RuleProfiler;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import picocli.CommandLine.Option;
+
+/**
+ * Rule profiling options shared by the commands which run lint rules.
+ */
+class ProfileOptions {
+    @Option(
+    names = {"--profile"},
+    description = "Report time spent in each lint rule")
+    boolean profile;
+
+    @Option(
+    names = {"--profile-output"},
+    description = "Write the rule profile as JSON to this file (implies --profile)")
+    Path profileOutput;
+
+    /**
+     * Check if rule timings should be recorded.
+     */
+    boolean enabled() {
+        return profile || profileOutput != null;
+    }
+
+    /**
+     * Print the rule profile table and write its JSON form, if profiling is enabled.
+     *
+     * @param profiler profiler rule timings were recorded into
+     * @param out      stream the table is printed to
+     */
+    void report(RuleProfiler profiler, PrintStream out) {
+        if (!enabled()) {
+            return;
+        }
+        var ruleProfile = profiler.profile();
+        out.println();
+        out.print(ruleProfile.toTable());
+        if (profileOutput != null) {
+            try{
+                Files.writeString(profileOutput, ruleProfile.toJson());
+            } catch (IOException e) {
+                System.err.println("Failed to write profile to " + profileOutput + ": " + e.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package org.pragmatica.jbct.cli;
+
+import org.pragmatica.jbct.lint.ProjectIndex;
+import org.pragmatica.jbct.lint.ProjectIndexer;
+import org.pragmatica.jbct.shared.SourceFile;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * State kept between runs in {@code ~/.jbct/cache}, one set of files per working directory.
+ *
+ * <p>Keeping the files per project stops one project's entries from piling up in another's file,
+ * and limits concurrent runs overwriting each other's state to runs over the same project.
+ */
+final class ProjectCache {
+    private static final Path CACHE_DIR = Path.of(System.getProperty("user.home"), ".jbct", "cache");
+
+    private ProjectCache() {}
+
+    /**
+     * Cache file with the given name for the working directory.
+     */
+    static Path file(String name) {
+        // Paths given on the command line are relative to the working directory
+        var workingDirectory = Path.of("")
+                                   .toAbsolutePath()
+                                   .toString();
+        return CACHE_DIR.resolve(name + "-" + SourceFile.fingerprint(workingDirectory)
+                                                        .substring(0, 16) + ".tsv");
+    }
+
+    /**
+     * Index the given files, reusing and then replacing the index persisted for the working directory.
+     *
+     * <p>Entries of files unchanged since the previous run are reused, so only added or modified files
+     * are parsed for the index before the analysis parses them again.
+     */
+    static ProjectIndex projectIndex(List<Path> files) {
+        var indexFile = file("project-index");
+        var index = ProjectIndexer.index(files, ProjectIndexer.read(indexFile));
+        // Failing to persist the index only costs the next run the reuse
+        ProjectIndexer.write(index, indexFile);
+        return index;
+    }
+}
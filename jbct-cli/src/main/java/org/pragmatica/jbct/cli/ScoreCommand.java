@@ -55,7 +55,7 @@ public class ScoreCommand implements Callable<Integer> {
         var config = ConfigLoader.load(Option.option(configPath), Option.none());
         var context = createContext(config);
         var linter = JbctLinter.jbctLinter(context);
-        var filesToProcess = collectJavaFiles();
+        var filesToProcess = collectJavaFiles(config);
 
         if (filesToProcess.isEmpty()) {
             System.err.println("No Java files found");
@@ -81,8 +81,8 @@ public class ScoreCommand implements Callable<Integer> {
                           .withBusinessPackages(jbctConfig.businessPackages());
     }
 
-    private List<Path> collectJavaFiles() {
-        return FileCollector.collectJavaFiles(paths, System.err::println);
+    private List<Path> collectJavaFiles(JbctConfig config) {
+        return FileCollector.collectJavaFiles(paths, config.excludes(), System.err::println);
     }
 
     private List<Diagnostic> lintFiles(List<Path> files, JbctLinter linter) {
@@ -0,0 +1,50 @@
+package org.pragmatica.jbct.analysis;
+
+import org.pragmatica.jbct.lint.Diagnostic;
+import org.pragmatica.jbct.shared.SourceFile;
+
+import java.util.List;
+
+/**
+ * Combined result of formatting and linting a single source file from one parse.
+ *
+ * @param source      the original source file
+ * @param formatted   the formatted content; the original content for {@link #unformatted} results
+ * @param changed     whether formatting changes the content
+ * @param diagnostics lint diagnostics (empty when linting was not requested)
+ */
+public record AnalysisResult(SourceFile source,
+                             String formatted,
+                             boolean changed,
+                             List<Diagnostic> diagnostics) {
+    public AnalysisResult {
+        diagnostics = List.copyOf(diagnostics);
+    }
+
+    /**
+     * Factory method for creating AnalysisResult.
+     */
+    public static AnalysisResult analysisResult(SourceFile source, String formatted, List<Diagnostic> diagnostics) {
+        return new AnalysisResult(source,
+                                  formatted,
+                                  !formatted.equals(source.content()),
+                                  diagnostics);
+    }
+
+    /**
+     * Result of a fail-fast check of a file which needs formatting. Fail-fast callers only need the
+     * verdict, so no formatted content is carried.
+     */
+    public static AnalysisResult unformatted(SourceFile source) {
+        return new AnalysisResult(source, source.content(), true, List.of());
+    }
+
+    /**
+     * Source file with formatted content.
+     */
+    public SourceFile formattedSource() {
+        return changed
+               ? source.withContent(formatted)
+               : source;
+    }
+}
@@ -0,0 +1,113 @@
+package org.pragmatica.jbct.analysis;
+
+import org.pragmatica.jbct.format.FormatterConfig;
+import org.pragmatica.jbct.format.FormattingError;
+import org.pragmatica.jbct.format.cst.CstFormatter;
+import org.pragmatica.jbct.lint.Diagnostic;
+import org.pragmatica.jbct.lint.LintContext;
+import org.pragmatica.jbct.lint.cst.CstLinter;
+import org.pragmatica.jbct.parser.Java25Parser.CstNode;
+import org.pragmatica.jbct.parser.MemberParallelParser;
+import org.pragmatica.jbct.shared.SourceFile;
+import org.pragmatica.lang.Result;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Shared format + lint pipeline which reads and parses each file exactly once.
+ *
+ * <p>The same CST is fed to the printer and to the lint rules, so commands which need both
+ * a format check and lint results (e.g. {@code jbct check}) no longer parse every file twice.
+ * Commands which only format or only lint parse each file once through {@link CstFormatter} or
+ * {@link CstLinter} directly.
+ *
+ * <p><b>Thread Safety:</b> Thread-safe. Parsers are kept per thread; formatter and linter
+ * are stateless between calls.
+ */
+public final class SourceAnalyzer {
+    private static final MemberParallelParser PARSER = MemberParallelParser.memberParallelParser();
+
+    private final CstFormatter formatter;
+    private final CstLinter linter;
+
+    private SourceAnalyzer(CstFormatter formatter, CstLinter linter) {
+        this.formatter = formatter;
+        this.linter = linter;
+    }
+
+    /**
+     * Create analyzer from formatter and linter instances.
+     */
+    public static SourceAnalyzer sourceAnalyzer(CstFormatter formatter, CstLinter linter) {
+        return new SourceAnalyzer(formatter, linter);
+    }
+
+    /**
+     * Create analyzer with default rules for the given configuration.
+     */
+    public static SourceAnalyzer sourceAnalyzer(FormatterConfig formatterConfig, LintContext lintContext) {
+        return new SourceAnalyzer(CstFormatter.cstFormatter(formatterConfig), CstLinter.cstLinter(lintContext));
+    }
+
+    /**
+     * Read, parse, format and lint a file.
+     */
+    public Result<AnalysisResult> check(Path file) {
+        return SourceFile.sourceFile(file)
+                         .flatMap(this::check);
+    }
+
+    /**
+     * Parse, format and lint a source file.
+     */
+    public Result<AnalysisResult> check(SourceFile source) {
+        return parse(source).map(cst -> AnalysisResult.analysisResult(source,
+                                                                      formatter.formatCst(cst,
+                                                                                          source.content()),
+                                                                      linter.analyze(cst, source)
+                                                                            .toList()));
+    }
+
+    /**
+     * Parse, format and lint a source file, stopping at the first violation.
+     *
+     * <p>The format check stops at the first differing character, so the formatted content of a file
+     * which needs formatting is not produced. Rules are not run at all when the file needs formatting.
+     * Otherwise the returned diagnostics contain at most the first failing diagnostic.
+     */
+    public Result<AnalysisResult> checkFailFast(SourceFile source) {
+        return parse(source).map(cst -> checkFailFast(cst, source));
+    }
+
+    private AnalysisResult checkFailFast(CstNode cst, SourceFile source) {
+        if (!formatter.isFormattedCst(cst, source.content())) {
+            return AnalysisResult.unformatted(source);
+        }
+        List<Diagnostic> violation = linter.firstViolation(cst, source)
+                                           .map(List::of)
+                                           .or(List.of());
+        return AnalysisResult.analysisResult(source, source.content(), violation);
+    }
+
+    private static Result<CstNode> parse(SourceFile source) {
+        var result = PARSER.parseWithDiagnostics(source.content());
+        if (result.isSuccess()) {
+            return result.node()
+                         .toResult(FormattingError.parseFailed(source.fileName(), 1, 1, "Parse error"));
+        }
+        return result.diagnostics()
+                     .stream()
+                     .findFirst()
+                     .map(d -> FormattingError.parseFailed(source.fileName(),
+                                                          d.span()
+                                                           .start()
+                                                           .line(),
+                                                          d.span()
+                                                           .start()
+                                                           .column(),
+                                                          d.message()))
+                     .orElse(FormattingError.parseFailed(source.fileName(), 1, 1, "Parse error"))
+                     .result();
+    }
+}
@@ -21,32 +21,48 @@ public record JbctConfig(FormatterConfig formatter,
                          LintConfig lint,
                          List<String> sourceDirectories,
                          List<String> businessPackages,
-                         List<String> slicePackages) {
+                         List<String> slicePackages,
+                         List<String> excludes) {
     public JbctConfig {
         sourceDirectories = List.copyOf(sourceDirectories);
         businessPackages = List.copyOf(businessPackages);
         slicePackages = List.copyOf(slicePackages);
+        excludes = List.copyOf(excludes);
     }
 
     /**
      * Default configuration.
      * Note: slicePackages is empty by default - must be configured for JBCT-SLICE-01 rule.
+     * Excludes are empty by default - .gitignore files and build output are always skipped.
      */
     public static final JbctConfig DEFAULT = jbctConfig(FormatterConfig.DEFAULT,
                                                         LintConfig.DEFAULT,
                                                         List.of("src/main/java"),
                                                         List.of("**.usecase.**", "**.domain.**"),
+                                                        List.of(),
                                                         List.of());
 
     /**
-     * Factory method for creating JbctConfig.
+     * Factory method for creating JbctConfig without excludes.
      */
     public static JbctConfig jbctConfig(FormatterConfig formatter,
                                         LintConfig lint,
                                         List<String> sourceDirectories,
                                         List<String> businessPackages,
                                         List<String> slicePackages) {
-        return new JbctConfig(formatter, lint, sourceDirectories, businessPackages, slicePackages);
+        return jbctConfig(formatter, lint, sourceDirectories, businessPackages, slicePackages, List.of());
+    }
+
+    /**
+     * Factory method for creating JbctConfig.
+     */
+    public static JbctConfig jbctConfig(FormatterConfig formatter,
+                                        LintConfig lint,
+                                        List<String> sourceDirectories,
+                                        List<String> businessPackages,
+                                        List<String> slicePackages,
+                                        List<String> excludes) {
+        return new JbctConfig(formatter, lint, sourceDirectories, businessPackages, slicePackages, excludes);
     }
 
     /**
@@ -104,7 +120,10 @@ public record JbctConfig(FormatterConfig formatter,
         // Slice packages - empty by default, must be explicitly configured
         var slicePackages = toml.getStringList("lint", "slicePackages")
                                 .or(List.of());
-        return jbctConfig(formatterConfig, lintConfig, sourceDirectories, businessPackages, slicePackages);
+        // Excludes in .gitignore syntax, relative to each source directory
+        var excludes = toml.getStringList("project", "excludes")
+                           .or(List.of());
+        return jbctConfig(formatterConfig, lintConfig, sourceDirectories, businessPackages, slicePackages, excludes);
     }
 
     /**
@@ -136,7 +155,16 @@ public record JbctConfig(FormatterConfig formatter,
         var mergedSlicePackages = other.slicePackages.isEmpty()
                                   ? this.slicePackages
                                   : other.slicePackages;
-        return jbctConfig(mergedFormatter, mergedLint, mergedSourceDirs, mergedBusinessPackages, mergedSlicePackages);
+        // Merge excludes (use other if not empty)
+        var mergedExcludes = other.excludes.isEmpty()
+                             ? this.excludes
+                             : other.excludes;
+        return jbctConfig(mergedFormatter,
+                          mergedLint,
+                          mergedSourceDirs,
+                          mergedBusinessPackages,
+                          mergedSlicePackages,
+                          mergedExcludes);
     }
 
     /**
@@ -214,6 +242,15 @@ public record JbctConfig(FormatterConfig formatter,
                                    .map(s -> "\"" + s + "\"")
                                    .collect(Collectors.joining(", ")));
         sb.append("]\n");
+        sb.append("# Directories and files to skip, in .gitignore syntax (.gitignore files are always honored)\n");
+        sb.append("# Example: excludes = [\"generated/\", \"**/*Generated.java\"]\n");
+        if (!excludes.isEmpty()) {
+            sb.append("excludes = [");
+            sb.append(excludes.stream()
+                              .map(s -> "\"" + s + "\"")
+                              .collect(Collectors.joining(", ")));
+            sb.append("]\n");
+        }
         return sb.toString();
     }
 }
@@ -0,0 +1,165 @@
+package org.pragmatica.jbct.format;
+
+import org.pragmatica.jbct.shared.SourceFile;
+import org.pragmatica.lang.Result;
+import org.pragmatica.lang.utils.Causes;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.pragmatica.lang.Result.lift;
+
+/**
+ * Persistent record of files already verified as formatted.
+ *
+ * <p>Each entry maps a file to the fingerprint of its verified content and a stamp of the
+ * {@link FormatterConfig} and formatter version it was verified with. A file whose current content
+ * and settings match its entry is known to be formatted, so it is neither parsed nor printed.
+ * Any change of content, configuration or formatter version makes the entry stale.
+ *
+ * <p>The index is a small tab-separated text file with one line per file. Entries of files not seen
+ * in a run are kept as long as the file exists, so a run over part of a project keeps the verdicts of
+ * the rest. Entries recorded with other settings can never match again and are dropped on write.
+ *
+ * <p><b>Thread Safety:</b> Thread-safe. Lookups and updates may run on pipeline workers.
+ */
+public final class FormatCache {
+    private static final String HEADER = "jbct-format-cache 1";
+    private static final String SEPARATOR = "\t";
+    // Bump whenever formatter output changes, so verdicts recorded by older builds are dropped
+    private static final String FORMATTER_REVISION = "1";
+    private static final String VERSION_RESOURCE = "formatter-version.properties";
+    private static final String FORMATTER_VERSION = formatterVersion() + "/" + FORMATTER_REVISION;
+
+    private final Path indexFile;
+    private final String stamp;
+    private final Map<String, Entry> previous;
+    private final Map<String, Entry> verified = new ConcurrentHashMap<>();
+
+    private FormatCache(Path indexFile, String stamp, Map<String, Entry> previous) {
+        this.indexFile = indexFile;
+        this.stamp = stamp;
+        this.previous = previous;
+    }
+
+    /**
+     * Load the cache for the given formatter configuration. A missing, outdated or malformed
+     * index yields an empty cache.
+     *
+     * @param indexFile file the index is read from and written to
+     * @param config    configuration files are formatted with
+     */
+    public static FormatCache formatCache(Path indexFile, FormatterConfig config) {
+        return new FormatCache(indexFile, stamp(config), read(indexFile));
+    }
+
+    /**
+     * Check if the file content was verified as formatted with the same configuration and formatter version.
+     */
+    public boolean isFormatted(SourceFile source) {
+        var key = key(source);
+        var fingerprint = SourceFile.fingerprint(source.content());
+        var entry = verified.containsKey(key)
+                    ? verified.get(key)
+                    : previous.get(key);
+        return entry != null && entry.matches(fingerprint, stamp);
+    }
+
+    /**
+     * Record that the file content is formatted.
+     */
+    public void markFormatted(SourceFile source) {
+        verified.put(key(source), new Entry(SourceFile.fingerprint(source.content()), stamp));
+    }
+
+    /**
+     * Persist the index, replacing the file only if its content changed.
+     */
+    public Result<Boolean> write() {
+        var entries = new TreeMap<String, Entry>();
+        previous.forEach((file, entry) -> {
+                             if (entry.stamp()
+                                      .equals(stamp) && Files.exists(Path.of(file))) {
+                                 entries.put(file, entry);
+                             }
+                         });
+        entries.putAll(verified);
+        var text = new StringBuilder(HEADER).append('\n');
+        entries.forEach((file, entry) -> text.append(file)
+                                             .append(SEPARATOR)
+                                             .append(entry.fingerprint())
+                                             .append(SEPARATOR)
+                                             .append(entry.stamp())
+                                             .append('\n'));
+        return lift(Causes::fromThrowable,
+                    () -> Files.createDirectories(indexFile.toAbsolutePath()
+                                                           .getParent()))
+        .flatMap(_ -> SourceFile.sourceFile(indexFile,
+                                            text.toString())
+                                .writeIfChanged());
+    }
+
+    private static String key(SourceFile source) {
+        return source.path()
+                     .toAbsolutePath()
+                     .normalize()
+                     .toString();
+    }
+
+    private static String stamp(FormatterConfig config) {
+        return SourceFile.fingerprint(config + SEPARATOR + FORMATTER_VERSION);
+    }
+
+    // Version of the build the formatter comes from, written into the resource by Maven filtering
+    private static String formatterVersion() {
+        return lift(Causes::fromThrowable, FormatCache::readVersion).or("dev");
+    }
+
+    private static String readVersion() throws IOException {
+        var properties = new Properties();
+        try (var stream = FormatCache.class.getResourceAsStream(VERSION_RESOURCE)) {
+            if (stream != null) {
+                properties.load(stream);
+            }
+        }
+        return properties.getProperty("version", "dev");
+    }
+
+    private static Map<String, Entry> read(Path indexFile) {
+        if (!Files.isRegularFile(indexFile)) {
+            return Map.of();
+        }
+        return lift(Causes::fromThrowable, () -> parseLines(Files.readAllLines(indexFile)))
+        .or(Map.of());
+    }
+
+    private static Map<String, Entry> parseLines(List<String> lines) {
+        if (lines.isEmpty() || !lines.getFirst()
+                                     .equals(HEADER)) {
+            return Map.of();
+        }
+        var entries = new HashMap<String, Entry>();
+        for (var line : lines.subList(1, lines.size())) {
+            var fields = line.split(SEPARATOR, - 1);
+            if (fields.length != 3) {
+                // Malformed file: start over rather than trust a partial index
+                return Map.of();
+            }
+            entries.put(fields[0], new Entry(fields[1], fields[2]));
+        }
+        return Map.copyOf(entries);
+    }
+
+    private record Entry(String fingerprint, String stamp) {
+        boolean matches(String fingerprint, String stamp) {
+            return this.fingerprint.equals(fingerprint) && this.stamp.equals(stamp);
+        }
+    }
+}
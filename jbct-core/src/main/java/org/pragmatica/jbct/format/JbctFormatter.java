@@ -4,6 +4,8 @@ import org.pragmatica.jbct.format.cst.CstFormatter;
 import org.pragmatica.jbct.shared.SourceFile;
 import org.pragmatica.lang.Result;
 
+import java.util.List;
+
 /**
  * JBCT code formatter implementation.
  *
@@ -40,6 +42,24 @@ public class JbctFormatter {
         return delegate.format(source);
     }
 
+    /**
+     * Format the smallest member or statement enclosing the range.
+     *
+     * @see CstFormatter#formatRange(SourceFile, int, int)
+     */
+    public Result<List<TextEdit>> formatRange(SourceFile source, int startOffset, int endOffset) {
+        return delegate.formatRange(source, startOffset, endOffset);
+    }
+
+    /**
+     * Organize import declarations only, without formatting the rest of the file.
+     *
+     * @see CstFormatter#organizeImports(SourceFile)
+     */
+    public Result<List<TextEdit>> organizeImports(SourceFile source) {
+        return delegate.organizeImports(source);
+    }
+
     public Result<Boolean> isFormatted(SourceFile source) {
         return delegate.isFormatted(source);
     }
@@ -0,0 +1,59 @@
+package org.pragmatica.jbct.format;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Replacement of the text between two offsets of a document.
+ *
+ * @param startOffset start of the replaced text (inclusive)
+ * @param endOffset   end of the replaced text (exclusive)
+ * @param replacement new text
+ */
+public record TextEdit(int startOffset, int endOffset, String replacement) {
+    /**
+     * Factory method for creating TextEdit.
+     */
+    public static TextEdit textEdit(int startOffset, int endOffset, String replacement) {
+        return new TextEdit(startOffset, endOffset, replacement);
+    }
+
+    /**
+     * Shrink the edit to the part which actually differs from the original text.
+     */
+    public TextEdit minimize(String content) {
+        var original = content.substring(startOffset, endOffset);
+        var limit = Math.min(original.length(), replacement.length());
+        var prefix = 0;
+        while (prefix < limit && original.charAt(prefix) == replacement.charAt(prefix)) {
+            prefix++;
+        }
+        var suffix = 0;
+        while (suffix < limit - prefix && original.charAt(original.length() - 1 - suffix) == replacement.charAt(replacement.length() - 1
+                                                                                                              - suffix)) {
+            suffix++;
+        }
+        return textEdit(startOffset + prefix,
+                        endOffset - suffix,
+                        replacement.substring(prefix, replacement.length() - suffix));
+    }
+
+    /**
+     * Check if the edit leaves the document unchanged.
+     */
+    public boolean isEmpty() {
+        return startOffset == endOffset && replacement.isEmpty();
+    }
+
+    /**
+     * Apply non-overlapping edits to the document.
+     */
+    public static String apply(String content, List<TextEdit> edits) {
+        var result = new StringBuilder(content);
+        edits.stream()
+             .sorted(Comparator.comparingInt(TextEdit::startOffset)
+                               .reversed())
+             .forEach(edit -> result.replace(edit.startOffset(), edit.endOffset(), edit.replacement()));
+        return result.toString();
+    }
+}
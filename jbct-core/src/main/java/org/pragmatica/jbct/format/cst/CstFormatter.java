@@ -2,17 +2,26 @@ package org.pragmatica.jbct.format.cst;
 
 import org.pragmatica.jbct.format.FormatterConfig;
 import org.pragmatica.jbct.format.FormattingError;
-import org.pragmatica.jbct.parser.Java25Parser;
+import org.pragmatica.jbct.format.TextEdit;
 import org.pragmatica.jbct.parser.Java25Parser.CstNode;
+import org.pragmatica.jbct.parser.Java25Parser.RuleId;
+import org.pragmatica.jbct.parser.Java25Parser.Trivia;
+import org.pragmatica.jbct.parser.MemberParallelParser;
 import org.pragmatica.jbct.shared.SourceFile;
+import org.pragmatica.lang.Option;
 import org.pragmatica.lang.Result;
 
 import java.util.List;
 
+import static org.pragmatica.jbct.parser.CstNodes.children;
+import static org.pragmatica.jbct.parser.CstNodes.findAll;
+import static org.pragmatica.jbct.parser.CstNodes.findFirst;
+
 /**
  * CST-based JBCT code formatter.
  *
- * <p>Uses the generated Java25Parser for parsing and preserves trivia (whitespace/comments).
+ * <p>Uses the generated Java25Parser (through {@link MemberParallelParser} for very large files)
+ * for parsing and preserves trivia (whitespace/comments).
  *
  * <p><b>Thread Safety:</b> Thread-safe for concurrent use. While the underlying parser
  * and printer create per-operation state, instances of this class can be safely shared
@@ -20,12 +29,38 @@ import java.util.List;
  * printer instances internally.
  */
 public class CstFormatter {
+    // Nodes through which members keep a layout depending on nesting level only
+    private static final List<Class<? extends RuleId>> RANGE_SCOPES = List.of(RuleId.CompilationUnit.class,
+                                                                              RuleId.OrdinaryUnit.class,
+                                                                              RuleId.TypeDecl.class,
+                                                                              RuleId.TypeKind.class,
+                                                                              RuleId.ClassDecl.class,
+                                                                              RuleId.InterfaceDecl.class,
+                                                                              RuleId.EnumDecl.class,
+                                                                              RuleId.RecordDecl.class,
+                                                                              RuleId.ClassBody.class,
+                                                                              RuleId.EnumBody.class,
+                                                                              RuleId.RecordBody.class,
+                                                                              RuleId.ClassMember.class,
+                                                                              RuleId.RecordMember.class,
+                                                                              RuleId.Member.class,
+                                                                              RuleId.MethodDecl.class,
+                                                                              RuleId.ConstructorDecl.class,
+                                                                              RuleId.CompactConstructor.class,
+                                                                              RuleId.InitializerBlock.class,
+                                                                              RuleId.Block.class,
+                                                                              RuleId.BlockStmt.class,
+                                                                              RuleId.Stmt.class,
+                                                                              RuleId.LocalTypeDecl.class);
+
+    private static final String MODULE_INFO = "module-info.java";
+
     private final FormatterConfig config;
-    private final Java25Parser parser;
+    private final MemberParallelParser parser;
 
     private CstFormatter(FormatterConfig config) {
         this.config = config;
-        this.parser = new Java25Parser();
+        this.parser = MemberParallelParser.memberParallelParser();
     }
 
     public static CstFormatter cstFormatter() {
@@ -42,11 +77,222 @@ public class CstFormatter {
                     .map(source::withContent);
     }
 
+    /**
+     * Check whether the source is already formatted. Stops printing at the first difference
+     * and never builds the formatted text.
+     */
     public Result<Boolean> isFormatted(SourceFile source) {
-        return format(source).map(formatted -> formatted.content()
-                                                        .equals(source.content()));
+        return parse(source).map(cst -> isFormattedCst(cst, source.content()));
+    }
+
+    /**
+     * Format only the smallest class member or block statement enclosing the given range.
+     *
+     * <p>The member is printed on its own, with the indentation inherited from its enclosing
+     * bodies, and returned as edits of the original content; text outside of it is never touched.
+     * Members whose layout depends on an enclosing lambda, call chain or argument list are not
+     * printed on their own: the nearest enclosing member which can be is used instead, or the
+     * whole file when there is none.
+     *
+     * @param startOffset start of the range (inclusive)
+     * @param endOffset   end of the range (exclusive)
+     * @return edits in ascending offset order, empty if the member is already formatted
+     */
+    public Result<List<TextEdit>> formatRange(SourceFile source, int startOffset, int endOffset) {
+        var content = source.content();
+        if (startOffset < 0 || endOffset > content.length() || startOffset > endOffset) {
+            return FormattingError.formatterError("Invalid range " + startOffset + ".." + endOffset + " in "
+                                                  + source.fileName())
+                                  .result();
+        }
+        return parse(source).map(cst -> enclosingMember(cst, startOffset, endOffset)
+                                        .map(member -> memberEdit(member, content))
+                                        .or(() -> TextEdit.textEdit(0,
+                                                                    content.length(),
+                                                                    formatCst(cst, content))))
+                    .map(edit -> edit.minimize(content))
+                    .map(edit -> edit.isEmpty()
+                                 ? List.<TextEdit>of()
+                                 : List.of(edit));
+    }
+
+    /**
+     * Group and order the import declarations as formatting does, without parsing or printing
+     * anything past them.
+     *
+     * <p>The end of the imports is found with a lexical scan and only the package and import
+     * declarations are parsed and printed. The edit replaces them and the whitespace up to the first
+     * type; the rest of the file is left as is. Files whose header the scan cannot delimit are parsed
+     * in full to find it.
+     *
+     * @return edits in ascending offset order, empty if the imports are already organized
+     */
+    public Result<List<TextEdit>> organizeImports(SourceFile source) {
+        if (source.fileName()
+                  .equals(MODULE_INFO)) {
+            // Module declarations keep their imports as written
+            return Result.success(List.of());
+        }
+        var content = source.content();
+        return ImportHeader.headerEnd(content)
+                           .map(Result::success)
+                           .or(() -> parse(source).map(CstFormatter::parsedHeaderEnd))
+                           .flatMap(headerEnd -> headerEdits(source, headerEnd));
+    }
+
+    private Result<List<TextEdit>> headerEdits(SourceFile source, int headerEnd) {
+        if (headerEnd == 0) {
+            return Result.success(List.of());
+        }
+        var header = source.withContent(source.content()
+                                              .substring(0, headerEnd));
+        return parse(header).map(cst -> findFirst(cst, RuleId.ImportDecl.class).isPresent()
+                                        ? headerEdit(source.content(),
+                                                     headerEnd,
+                                                     formatCst(cst,
+                                                               header.content()))
+                                        : List.<TextEdit>of());
+    }
+
+    private static List<TextEdit> headerEdit(String content, int headerEnd, String printedHeader) {
+        var end = headerEnd;
+        while (end < content.length() && Character.isWhitespace(content.charAt(end))) {
+            end++;
+        }
+        // Printed header ends with a newline; a blank line separates it from the first type
+        var replacement = end < content.length()
+                          ? printedHeader + "\n"
+                          : printedHeader;
+        var edit = TextEdit.textEdit(0, end, replacement)
+                           .minimize(content);
+        return edit.isEmpty()
+               ? List.of()
+               : List.of(edit);
+    }
+
+    private static int parsedHeaderEnd(CstNode root) {
+        return findAll(root, RuleId.ImportDecl.class).stream()
+                                                      .mapToInt(decl -> decl.span()
+                                                                            .end()
+                                                                            .offset())
+                                                      .max()
+                                                      .orElse(0);
+    }
+
+    /**
+     * Find the innermost member or statement containing the range whose layout depends only on
+     * its nesting level.
+     */
+    private static Option<RangeMember> enclosingMember(CstNode root, int startOffset, int endOffset) {
+        Option<RangeMember> found = Option.none();
+        CstNode parent = null;
+        var node = root;
+        var indentLevel = 0;
+        while (isRangeScope(node)) {
+            if (isRangeUnit(node, parent)) {
+                found = Option.some(new RangeMember(node, indentLevel));
+            }
+            if (isIndentedBody(node)) {
+                indentLevel++;
+            }
+            var next = childContaining(node, startOffset, endOffset);
+            if (next.isEmpty()) {
+                break;
+            }
+            parent = node;
+            node = next.unwrap();
+        }
+        return found;
+    }
+
+    private static Option<CstNode> childContaining(CstNode node, int startOffset, int endOffset) {
+        for (var child : children(node)) {
+            var span = child.span();
+            if (span.start()
+                    .offset() <= startOffset && endOffset <= span.end()
+                                                                .offset()) {
+                return Option.some(child);
+            }
+        }
+        return Option.none();
+    }
+
+    private static boolean isRangeScope(CstNode node) {
+        return RANGE_SCOPES.stream()
+                           .anyMatch(scope -> scope.isInstance(node.rule()));
+    }
+
+    private static boolean isRangeUnit(CstNode node, CstNode parent) {
+        if (parent == null) {
+            return false;
+        }
+        return switch (node.rule()) {
+            case RuleId.ClassMember _ -> parent.rule() instanceof RuleId.ClassBody || parent.rule() instanceof RuleId.EnumBody;
+            case RuleId.RecordMember _ -> parent.rule() instanceof RuleId.RecordBody;
+            case RuleId.BlockStmt _ -> parent.rule() instanceof RuleId.Block;
+            default -> false;
+        };
+    }
+
+    private static boolean isIndentedBody(CstNode node) {
+        return node.rule() instanceof RuleId.ClassBody || node.rule() instanceof RuleId.EnumBody || node.rule() instanceof RuleId.RecordBody || node.rule() instanceof RuleId.Block;
+    }
+
+    /**
+     * Replace the member, its leading comments and the indentation of its first line.
+     */
+    private TextEdit memberEdit(RangeMember member, String content) {
+        var node = member.node();
+        var start = node.leadingTrivia()
+                        .stream()
+                        .filter(trivia -> !(trivia instanceof Trivia.Whitespace))
+                        .findFirst()
+                        .map(trivia -> trivia.span()
+                                             .start()
+                                             .offset())
+                        .orElse(trimmedStart(node, content));
+        var end = trimmedEnd(node, content);
+        while (start > 0 && (content.charAt(start - 1) == ' ' || content.charAt(start - 1) == '\t')) {
+            start--;
+        }
+        var printed = CstPrinter.printMember(config, content, node, member.indentLevel());
+        // Member shares its first line with preceding code: move it to a line of its own
+        var ownLine = start == 0 || content.charAt(start - 1) == '\n';
+        return TextEdit.textEdit(start,
+                                 end,
+                                 ownLine
+                                 ? printed
+                                 : "\n" + printed);
     }
 
+    private static int trimmedStart(CstNode node, String content) {
+        var start = node.span()
+                        .start()
+                        .offset();
+        var end = node.span()
+                      .end()
+                      .offset();
+        while (start < end && Character.isWhitespace(content.charAt(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    private static int trimmedEnd(CstNode node, String content) {
+        var start = node.span()
+                        .start()
+                        .offset();
+        var end = node.span()
+                      .end()
+                      .offset();
+        while (end > start && Character.isWhitespace(content.charAt(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+
+    private record RangeMember(CstNode node, int indentLevel) {}
+
     private Result<CstNode> parse(SourceFile source) {
         var result = parser.parseWithDiagnostics(source.content());
         if (result.isSuccess()) {
@@ -68,8 +314,26 @@ public class CstFormatter {
                      .result();
     }
 
-    private String formatCst(CstNode root, String source) {
-        var printer = new CstPrinter(config, source);
-        return printer.print(root);
+    /**
+     * Print an already parsed compilation unit. Allows callers which also run other
+     * analyses over the same CST to avoid parsing the file again.
+     */
+    public String formatCst(CstNode root, String source) {
+        return CstPrinter.print(config, source, root);
+    }
+
+    /**
+     * Check if an already parsed compilation unit is formatted. Printing stops at the first
+     * character which differs from the source, and the formatted text is never built.
+     */
+    public boolean isFormattedCst(CstNode root, String source) {
+        return CstPrinter.reproducesSource(config, source, root);
+    }
+
+    /**
+     * Configuration used by this formatter.
+     */
+    public FormatterConfig config() {
+        return config;
     }
 }
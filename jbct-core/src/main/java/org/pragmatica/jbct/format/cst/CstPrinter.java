@@ -6,7 +6,9 @@ import org.pragmatica.jbct.parser.Java25Parser.RuleId;
 import org.pragmatica.jbct.parser.Java25Parser.Trivia;
 
 import java.util.ArrayList;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.regex.Pattern;
 
@@ -23,14 +25,13 @@ import static org.pragmatica.jbct.parser.CstNodes.*;
  *   <li>120 char max line length, 4 space indent</li>
  * </ul>
  *
- * <p><b>Thread Safety:</b> Not thread-safe. Each instance maintains mutable state
- * (output buffer, column tracking, alignment context) during printing. Create a new
- * instance per formatting operation or synchronize externally.
+ * <p><b>Thread Safety:</b> Thread-safe. Each call creates its own printer instance, which
+ * maintains mutable state (output, column tracking, alignment context) during printing.
  */
 public class CstPrinter {
     private final FormatterConfig config;
     private final String source;
-    private final StringBuilder output;
+    private final PrinterOutput output;
     private int currentColumn;
     private int indentLevel;
     private char lastChar = 0;
@@ -46,6 +47,18 @@ public class CstPrinter {
     private boolean measuringMode = false;
     private int measureBuffer = 0;
 
+    // Measured flat widths, keyed by node identity; a node's flat width depends only on the
+    // spacing state it starts from, so each subtree is measured once instead of once per enclosing fit check
+    private final Map<CstNode, Measure> nodeMeasures = new IdentityHashMap<>();
+    private final Map<CstNode, Measure> contentMeasures = new IdentityHashMap<>();
+    private boolean reuseMeasures = true;
+
+    // Newline counts and comment kinds of trivia lists, computed once per list rather than on every layout attempt
+    private final TriviaFlags triviaFlags = new TriviaFlags();
+
+    // Incremented by the rare measurements which depend on the current column; those are not reused
+    private int columnDependentMeasures = 0;
+
     // Alignment tracking
     private final AlignmentContext alignment = new AlignmentContext();
 
@@ -65,10 +78,10 @@ public class CstPrinter {
     // Pattern for detecting method calls in chains
     private static final Pattern METHOD_CALL_PATTERN = Pattern.compile("\\.[a-zA-Z_][a-zA-Z0-9_]*\\s*\\(");
 
-    public CstPrinter(FormatterConfig config, String source) {
+    private CstPrinter(FormatterConfig config, String source, PrinterOutput output) {
         this.config = config;
         this.source = source;
-        this.output = new StringBuilder();
+        this.output = output;
         this.currentColumn = 0;
         this.indentLevel = 0;
     }
@@ -96,6 +109,55 @@ public class CstPrinter {
         return width;
     }
 
+    /**
+     * Measure a subtree in measuring mode, reusing the width recorded for the same node and starting
+     * state. Reuse also restores the spacing state the subtree leaves behind, so enclosing measurements
+     * continue exactly as if it had been printed again.
+     */
+    private void measureOnce(Map<CstNode, Measure> measures, CstNode node, Runnable print) {
+        var known = reuseMeasures
+                    ? measures.get(node)
+                    : null;
+        if (known != null && known.startsFrom(lastChar, prevChar, lastWord)) {
+            measureBuffer += known.width();
+            lastChar = known.lastChar();
+            prevChar = known.prevChar();
+            lastWord = known.lastWord();
+            return;
+        }
+        var startLastChar = lastChar;
+        var startPrevChar = prevChar;
+        var startLastWord = lastWord;
+        var startBuffer = measureBuffer;
+        var startColumnDependent = columnDependentMeasures;
+        print.run();
+        if (columnDependentMeasures == startColumnDependent) {
+            measures.put(node,
+                         new Measure(startLastChar,
+                                     startPrevChar,
+                                     startLastWord,
+                                     measureBuffer - startBuffer,
+                                     lastChar,
+                                     prevChar,
+                                     lastWord));
+        }
+    }
+
+    /**
+     * Flat width of a subtree printed from the given spacing state, and the state it leaves behind.
+     */
+    private record Measure(char startLastChar,
+                           char startPrevChar,
+                           String startLastWord,
+                           int width,
+                           char lastChar,
+                           char prevChar,
+                           String lastWord) {
+        boolean startsFrom(char lastChar, char prevChar, String lastWord) {
+            return startLastChar == lastChar && startPrevChar == prevChar && startLastWord.equals(lastWord);
+        }
+    }
+
     /**
      * Check if a node would fit on current line.
      */
@@ -111,10 +173,57 @@ public class CstPrinter {
         return currentColumn + text.length() <= config.maxLineLength();
     }
 
-    public String print(CstNode root) {
-        printNode(root);
-        return output.toString()
-                     .stripTrailing() + "\n";
+    /**
+     * Print the tree parsed from the source. Trailing whitespace is replaced by a single newline.
+     */
+    public static String print(FormatterConfig config, String source, CstNode root) {
+        var buffer = PrinterOutput.buffer(source.length());
+        new CstPrinter(config, source, buffer).printNode(root);
+        return buffer.toStrippedText();
+    }
+
+    /**
+     * Print as {@link #print(FormatterConfig, String, CstNode)} does, but measure every subtree afresh
+     * instead of reusing recorded widths. The output must be the same; tests compare the two.
+     */
+    static String printWithoutMeasureReuse(FormatterConfig config, String source, CstNode root) {
+        var buffer = PrinterOutput.buffer(source.length());
+        var printer = new CstPrinter(config, source, buffer);
+        printer.reuseMeasures = false;
+        printer.printNode(root);
+        return buffer.toStrippedText();
+    }
+
+    /**
+     * Check whether printing the tree reproduces the source exactly. The printed text is compared
+     * with the source while it is produced, without being stored, and printing stops at the first
+     * difference.
+     */
+    static boolean reproducesSource(FormatterConfig config, String source, CstNode root) {
+        var output = PrinterOutput.comparing(source);
+        try{
+            new CstPrinter(config, source, output).printNode(root);
+        } catch (PrinterOutput.Mismatch _) {
+            return false;
+        }
+        return output.matchesExpected();
+    }
+
+    /**
+     * Print a single class member or block statement as its enclosing body would, starting with
+     * the indentation of the given nesting level. The result has no trailing newline.
+     */
+    public static String printMember(FormatterConfig config, String source, CstNode member, int indentLevel) {
+        var buffer = PrinterOutput.buffer(source.length());
+        new CstPrinter(config, source, buffer).printMemberAt(member, indentLevel);
+        return buffer.toString();
+    }
+
+    private void printMemberAt(CstNode member, int indentLevel) {
+        this.indentLevel = indentLevel;
+        lastChar = '\n';
+        printIndent();
+        printNodeSkipTrivia(member);
     }
 
     /**
@@ -142,6 +251,14 @@ public class CstPrinter {
     }
 
     private void printNode(CstNode node, TriviaMode mode) {
+        if (measuringMode && mode == TriviaMode.FULL && node instanceof CstNode.NonTerminal) {
+            measureOnce(nodeMeasures, node, () -> printNodeWithTrivia(node, TriviaMode.FULL));
+        } else {
+            printNodeWithTrivia(node, mode);
+        }
+    }
+
+    private void printNodeWithTrivia(CstNode node, TriviaMode mode) {
         // Handle leading trivia
         // TypeArgs/TypeParams/TypeArg: skip leading whitespace to prevent errant space inside generics
         // OrdinaryUnit: skip leading whitespace since we control file layout
@@ -173,6 +290,9 @@ public class CstPrinter {
     }
 
     private void printCommentsOnly(List<Trivia> triviaList) {
+        if (!TriviaFlags.hasComments(triviaFlags.flags(triviaList))) {
+            return;
+        }
         for (var trivia : triviaList) {
             switch (trivia) {
                 case Trivia.LineComment lc -> {
@@ -350,8 +470,7 @@ public class CstPrinter {
         childByRule(enumBody, RuleId.EnumConsts.class)
         .onPresent(consts -> {
                        var leadingTrivia = consts.leadingTrivia();
-                       boolean hasComments = leadingTrivia.stream()
-                                                          .anyMatch(t -> t instanceof Trivia.LineComment || t instanceof Trivia.BlockComment);
+                       boolean hasComments = TriviaFlags.hasComments(triviaFlags.flags(leadingTrivia));
                        printIndent();
                        if (hasComments) {
                            printCommentsOnly(leadingTrivia);
@@ -388,7 +507,8 @@ public class CstPrinter {
             // Non-empty - use common braced body printer
             printBracedBody(allChildren,
                             RuleId.RecordMember.class,
-                            (child, prev) -> needsBlankLineBefore(child, prev) || hasBlankLineInLeadingTrivia(child));
+                            (child, prev) -> needsBlankLineBefore(child, prev)
+                                             || triviaFlags.hasBlankLineBefore(child));
         }
     }
 
@@ -423,13 +543,13 @@ public class CstPrinter {
     private void printAnnotationBody(CstNode.NonTerminal annotBody) {
         printBracedBody(children(annotBody),
                         RuleId.AnnotationMember.class,
-                        (child, prev) -> hasBlankLineInLeadingTrivia(child));
+                        (child, prev) -> triviaFlags.hasBlankLineBefore(child));
     }
 
     private void printClassBody(CstNode.NonTerminal classBody) {
         printBracedBody(children(classBody),
                         RuleId.ClassMember.class,
-                        (child, prev) -> needsBlankLineBefore(child, prev) || hasBlankLineInLeadingTrivia(child));
+                        (child, prev) -> needsBlankLineBefore(child, prev) || triviaFlags.hasBlankLineBefore(child));
     }
 
     /**
@@ -492,62 +612,6 @@ public class CstPrinter {
         }
     }
 
-    private boolean hasBlankLineInLeadingTrivia(CstNode node) {
-        // Count total newlines across all leading whitespace trivia
-        int totalNewlines = 0;
-        for (var trivia : node.leadingTrivia()) {
-            if (trivia instanceof Trivia.Whitespace ws) {
-                totalNewlines += ws.text()
-                                   .chars()
-                                   .filter(c -> c == '\n')
-                                   .count();
-                if (totalNewlines >= 2) {
-                    return true;
-                }
-            }
-        }
-        return false;
-    }
-
-    /**
-     * Check if any child of this node has newlines in its trivia.
-     * Used to detect pre-broken parameter lists that should remain broken.
-     */
-    private boolean hasNewlinesInTrivia(CstNode node) {
-        return switch (node) {
-            case CstNode.Terminal _, CstNode.Token _, CstNode.Error _ -> false;
-            case CstNode.NonTerminal nt -> {
-                for (var child : children(nt)) {
-                    // Check leading trivia
-                    for (var trivia : child.leadingTrivia()) {
-                        if (trivia instanceof Trivia.Whitespace ws && ws.text()
-                                                                        .contains("\n")) {
-                            yield true;
-                        }
-                    }
-                    // Recursively check children
-                    if (hasNewlinesInTrivia(child)) {
-                        yield true;
-                    }
-                }
-                yield false;
-            }
-        };
-    }
-
-    /**
-     * Check if a node has newlines in its immediate leading trivia.
-     */
-    private boolean hasNewlineInLeadingTrivia(CstNode node) {
-        for (var trivia : node.leadingTrivia()) {
-            if (trivia instanceof Trivia.Whitespace ws && ws.text()
-                                                            .contains("\n")) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     private void printBlock(CstNode.NonTerminal block) {
         var children = children(block);
         // Check if we're inside broken arguments with lambda alignment
@@ -916,6 +980,14 @@ public class CstPrinter {
      * Uses printWithSpacing for proper inter-token spacing.
      */
     private void printNodeContent(CstNode node) {
+        if (measuringMode && node instanceof CstNode.NonTerminal) {
+            measureOnce(contentMeasures, node, () -> printNodeContentUnmeasured(node));
+        } else {
+            printNodeContentUnmeasured(node);
+        }
+    }
+
+    private void printNodeContentUnmeasured(CstNode node) {
         switch (node) {
             case CstNode.Terminal t -> printWithSpacing(t.text());
             case CstNode.Token tok -> printWithSpacing(tok.text());
@@ -1076,7 +1148,7 @@ public class CstPrinter {
         }
         // Check if source already has newlines (user intentionally broke the params)
         // Check this FIRST to skip measurement if we're going to break anyway
-        boolean hasExistingBreaks = hasNewlinesInTrivia(params);
+        boolean hasExistingBreaks = triviaFlags.hasNewlineInSubtree(params);
         if (hasExistingBreaks) {
             printBrokenParams(params);
             return;
@@ -1164,7 +1236,7 @@ public class CstPrinter {
         }
         // Check if source already has newlines (user intentionally broke the components)
         // Check this FIRST to skip measurement if we're going to break anyway
-        boolean hasExistingBreaks = hasNewlinesInTrivia(components);
+        boolean hasExistingBreaks = triviaFlags.hasNewlineInSubtree(components);
         if (hasExistingBreaks) {
             printBrokenRecordComponents(components);
             return;
@@ -1282,6 +1354,9 @@ public class CstPrinter {
                                           .replaceAll("\\s+", " ")
                                           .trim()
                                           .length();
+        if (measuringMode) {
+            columnDependentMeasures++;
+        }
         if (currentColumn + 1 + signatureWidth <= config.maxLineLength()) {
             // Fits on same line - add single space
             print(" ");
@@ -1360,7 +1435,7 @@ public class CstPrinter {
         // ResourceSpec <- '(' Resource (';' Resource)* ';'? ')'
         // Align multiple resources to opening paren like params
         var children = children(resourceSpec);
-        boolean hasBreaks = hasNewlinesInTrivia(resourceSpec);
+        boolean hasBreaks = triviaFlags.hasNewlineInSubtree(resourceSpec);
         if (!hasBreaks) {
             // Fits on one line
             printChildren(resourceSpec);
@@ -1609,16 +1684,18 @@ public class CstPrinter {
     }
 
     private void printTrivia(List<Trivia> triviaList) {
+        var flags = triviaFlags.flags(triviaList);
         for (var trivia : triviaList) {
             switch (trivia) {
                 case Trivia.Whitespace ws -> {
                     // Normalize whitespace - preserve newlines and add proper indentation
                     var text = ws.text();
-                    long newlines = text.chars()
-                                        .filter(c -> c == '\n')
-                                        .count();
+                    // At most one blank line is kept; a lone whitespace has the count of its list
+                    var newlines = triviaList.size() == 1 || TriviaFlags.newlines(flags) == 0
+                                   ? TriviaFlags.newlines(flags)
+                                   : TriviaFlags.countNewlines(text, 2);
                     if (newlines > 0) {
-                        for (int i = 0; i < Math.min(newlines, 2); i++) {
+                        for (int i = 0; i < newlines; i++) {
                             println();
                         }
                         // After newlines, add proper indentation
@@ -1647,15 +1724,25 @@ public class CstPrinter {
             return;
         }
         output.append(text);
-        int lastNewline = text.lastIndexOf('\n');
-        if (lastNewline >= 0) {
-            currentColumn = text.length() - lastNewline - 1;
-        } else {
-            currentColumn += text.length();
-        }
+        currentColumn = output.column();
         updateLastChars(text);
     }
 
+    /**
+     * Print spaces without building a string for them.
+     */
+    private void printSpaces(int count) {
+        if (count <= 0) {
+            return;
+        }
+        output.appendSpaces(count);
+        currentColumn = output.column();
+        prevChar = count >= 2
+                   ? ' '
+                   : lastChar;
+        lastChar = ' ';
+    }
+
     private void updateLastChars(String text) {
         if (!text.isEmpty()) {
             if (text.length() >= 2) {
@@ -1675,7 +1762,7 @@ public class CstPrinter {
         if (measuringMode) {
             return;
         }
-        output.append("\n");
+        output.append('\n');
         currentColumn = 0;
         lastChar = '\n';
     }
@@ -1684,8 +1771,7 @@ public class CstPrinter {
         if (measuringMode) {
             return;
         }
-        String indent = " ".repeat(indentLevel * config.indentSize());
-        print(indent);
+        printSpaces(indentLevel * config.indentSize());
     }
 
     private void printAlignedTo(int column) {
@@ -1693,7 +1779,7 @@ public class CstPrinter {
             return;
         }
         if (currentColumn < column) {
-            print(" ".repeat(column - currentColumn));
+            printSpaces(column - currentColumn);
         }
     }
 
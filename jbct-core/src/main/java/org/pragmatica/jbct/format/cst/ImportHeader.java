@@ -0,0 +1,84 @@
+package org.pragmatica.jbct.format.cst;
+
+import org.pragmatica.lang.Option;
+
+/**
+ * Lexical scan for the end of the package and import declarations of a compilation unit.
+ *
+ * <p>Only comments, whitespace and the declarations themselves are recognized; the scan stops at the
+ * first other token, so nothing past the header is looked at. Sources the scan cannot classify, like
+ * annotated package declarations or unterminated declarations, yield no result and are left to the
+ * parser.
+ */
+final class ImportHeader {
+    private ImportHeader() {}
+
+    /**
+     * Find the offset right after the semicolon of the last package or import declaration.
+     *
+     * @return end of the header, {@code 0} when there is no header, or empty when the scan cannot tell
+     */
+    static Option<Integer> headerEnd(String content) {
+        var headerEnd = 0;
+        var position = skipTrivia(content, 0);
+        while (startsWithWord(content, position, "package") || startsWithWord(content, position, "import")) {
+            var semicolon = declarationEnd(content, position);
+            if (semicolon < 0) {
+                return Option.none();
+            }
+            headerEnd = semicolon + 1;
+            position = skipTrivia(content, headerEnd);
+        }
+        // Annotations before 'package' belong to the header, after imports to the first type
+        if (headerEnd == 0 && position < content.length() && content.charAt(position) == '@') {
+            return Option.none();
+        }
+        return Option.some(headerEnd);
+    }
+
+    private static int declarationEnd(String content, int position) {
+        var index = position;
+        while (index < content.length()) {
+            var c = content.charAt(index);
+            if (c == ';') {
+                return index;
+            }
+            if (c == '{' || c == '}' || c == '"' || c == '\'' || c == '@') {
+                return - 1;
+            }
+            var next = skipTrivia(content, index);
+            index = next > index
+                    ? next
+                    : index + 1;
+        }
+        return - 1;
+    }
+
+    private static int skipTrivia(String content, int position) {
+        var index = position;
+        while (index < content.length()) {
+            if (Character.isWhitespace(content.charAt(index))) {
+                index++;
+            } else if (content.startsWith("//", index)) {
+                var lineEnd = content.indexOf('\n', index);
+                index = lineEnd < 0
+                        ? content.length()
+                        : lineEnd + 1;
+            } else if (content.startsWith("/*", index)) {
+                var commentEnd = content.indexOf("*/", index + 2);
+                index = commentEnd < 0
+                        ? content.length()
+                        : commentEnd + 2;
+            } else {
+                break;
+            }
+        }
+        return index;
+    }
+
+    private static boolean startsWithWord(String content, int position, String word) {
+        var end = position + word.length();
+        return content.startsWith(word, position)
+               && (end == content.length() || !Character.isJavaIdentifierPart(content.charAt(end)));
+    }
+}
@@ -0,0 +1,199 @@
+package org.pragmatica.jbct.format.cst;
+
+import java.util.Arrays;
+
+/**
+ * Destination of the text produced by {@link CstPrinter}.
+ *
+ * <p><b>Thread Safety:</b> Not thread-safe. Used by a single printer instance.
+ */
+sealed interface PrinterOutput {
+    void append(String text);
+
+    void append(char c);
+
+    void appendSpaces(int count);
+
+    /**
+     * Number of characters appended so far.
+     */
+    int length();
+
+    /**
+     * Number of characters appended since the last newline.
+     */
+    int column();
+
+    /**
+     * Output collecting the printed text.
+     *
+     * @param expectedLength expected length of the printed text, used as initial capacity
+     */
+    static Buffer buffer(int expectedLength) {
+        return new Buffer(expectedLength);
+    }
+
+    /**
+     * Output comparing the printed text with the expected text as it is appended, without storing it.
+     * Throws {@link Mismatch} at the first character which makes the texts differ.
+     */
+    static Comparing comparing(String expected) {
+        return new Comparing(expected);
+    }
+
+    /**
+     * Growable character buffer. Column tracking happens while copying, and no intermediate
+     * strings are created before the final text.
+     */
+    final class Buffer implements PrinterOutput {
+        private static final int MIN_CAPACITY = 1024;
+
+        private char[] chars;
+        private int length;
+        private int lineStart;
+
+        private Buffer(int expectedLength) {
+            // Formatting rarely changes the size much; leave room for added indentation
+            chars = new char[Math.max(MIN_CAPACITY, expectedLength + (expectedLength >> 3))];
+        }
+
+        @Override
+        public void append(String text) {
+            var count = text.length();
+            ensureCapacity(count);
+            for (int i = 0; i < count; i++) {
+                var c = text.charAt(i);
+                chars[length++] = c;
+                if (c == '\n') {
+                    lineStart = length;
+                }
+            }
+        }
+
+        @Override
+        public void append(char c) {
+            ensureCapacity(1);
+            chars[length++] = c;
+            if (c == '\n') {
+                lineStart = length;
+            }
+        }
+
+        @Override
+        public void appendSpaces(int count) {
+            ensureCapacity(count);
+            Arrays.fill(chars, length, length + count, ' ');
+            length += count;
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public int column() {
+            return length - lineStart;
+        }
+
+        /**
+         * Printed text with trailing whitespace replaced by a single newline.
+         */
+        public String toStrippedText() {
+            var end = length;
+            while (end > 0 && Character.isWhitespace(chars[end - 1])) {
+                end--;
+            }
+            ensureCapacity(end + 1 - length);
+            chars[end] = '\n';
+            return new String(chars, 0, end + 1);
+        }
+
+        @Override
+        public String toString() {
+            return new String(chars, 0, length);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (length + extra > chars.length) {
+                chars = Arrays.copyOf(chars, Math.max(chars.length * 2, length + extra));
+            }
+        }
+    }
+
+    /**
+     * Whitespace is compared too, but a difference only counts once non-whitespace follows it,
+     * since trailing whitespace of the printed text is replaced by a single newline.
+     */
+    final class Comparing implements PrinterOutput {
+        private final String expected;
+        private int length;
+        private int lineStart;
+        private int matchedLength;
+        private boolean whitespaceDiffers;
+
+        private Comparing(String expected) {
+            this.expected = expected;
+        }
+
+        @Override
+        public void append(String text) {
+            for (int i = 0; i < text.length(); i++) {
+                append(text.charAt(i));
+            }
+        }
+
+        @Override
+        public void append(char c) {
+            var same = length < expected.length() && expected.charAt(length) == c;
+            length++;
+            if (c == '\n') {
+                lineStart = length;
+            }
+            if (Character.isWhitespace(c)) {
+                whitespaceDiffers |= !same;
+                return;
+            }
+            if (!same || whitespaceDiffers) {
+                throw Mismatch.INSTANCE;
+            }
+            matchedLength = length;
+        }
+
+        @Override
+        public void appendSpaces(int count) {
+            for (int i = 0; i < count; i++) {
+                append(' ');
+            }
+        }
+
+        @Override
+        public int length() {
+            return length;
+        }
+
+        @Override
+        public int column() {
+            return length - lineStart;
+        }
+
+        /**
+         * Check if the printed text, with trailing whitespace replaced by a single newline,
+         * equals the expected text.
+         */
+        boolean matchesExpected() {
+            return matchedLength + 1 == expected.length() && expected.charAt(matchedLength) == '\n';
+        }
+    }
+
+    /**
+     * Signals the first difference found by a {@link Comparing} output. Carries no stack trace.
+     */
+    final class Mismatch extends RuntimeException {
+        private static final Mismatch INSTANCE = new Mismatch();
+
+        private Mismatch() {
+            super("Printed text differs from source", null, false, false);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package org.pragmatica.jbct.format.cst;
+
+import org.pragmatica.jbct.parser.Java25Parser.CstNode;
+import org.pragmatica.jbct.parser.Java25Parser.Trivia;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.pragmatica.jbct.parser.CstNodes.children;
+
+/**
+ * Trivia of a tree classified once and packed into an int per trivia list.
+ *
+ * <p>The flags hold the number of newlines in the whitespace of the list, saturated at two since
+ * the printer keeps at most one blank line, and the kinds of comments present. Lists are keyed by
+ * identity: trivia lists are immutable and shared by the nodes of one tree, while the printer asks
+ * about the same list many times over, once per layout attempt of every enclosing node.
+ *
+ * <p><b>Thread Safety:</b> Not thread-safe. Owned by a single printer.
+ */
+final class TriviaFlags {
+    static final int NEWLINES = 0b11;
+    static final int LINE_COMMENT = 1 << 2;
+    static final int BLOCK_COMMENT = 1 << 3;
+    static final int COMMENTS = LINE_COMMENT | BLOCK_COMMENT;
+
+    private static final int BLANK_LINE = 2;
+
+    private final Map<List<Trivia>, Integer> lists = new IdentityHashMap<>();
+    private final Map<CstNode, Boolean> subtreeNewlines = new IdentityHashMap<>();
+
+    /**
+     * Packed classification of the trivia list.
+     */
+    int flags(List<Trivia> trivia) {
+        if (trivia.isEmpty()) {
+            return 0;
+        }
+        var known = lists.get(trivia);
+        if (known != null) {
+            return known;
+        }
+        var flags = classify(trivia);
+        lists.put(trivia, flags);
+        return flags;
+    }
+
+    /**
+     * Number of newlines in the whitespace of the list, at most two.
+     */
+    static int newlines(int flags) {
+        return flags & NEWLINES;
+    }
+
+    static boolean hasComments(int flags) {
+        return (flags & COMMENTS) != 0;
+    }
+
+    /**
+     * Check if the whitespace before the node adds up to at least one blank line.
+     */
+    boolean hasBlankLineBefore(CstNode node) {
+        return newlines(flags(node.leadingTrivia())) >= BLANK_LINE;
+    }
+
+    /**
+     * Check if the whitespace before the node contains a newline.
+     */
+    boolean hasNewlineBefore(CstNode node) {
+        return newlines(flags(node.leadingTrivia())) > 0;
+    }
+
+    /**
+     * Check if any node below the given one starts on a new line.
+     */
+    boolean hasNewlineInSubtree(CstNode node) {
+        if (!(node instanceof CstNode.NonTerminal nonTerminal)) {
+            return false;
+        }
+        var known = subtreeNewlines.get(nonTerminal);
+        if (known != null) {
+            return known;
+        }
+        var found = false;
+        for (var child : children(nonTerminal)) {
+            if (hasNewlineBefore(child) || hasNewlineInSubtree(child)) {
+                found = true;
+                break;
+            }
+        }
+        subtreeNewlines.put(nonTerminal, found);
+        return found;
+    }
+
+    private static int classify(List<Trivia> trivia) {
+        var newlines = 0;
+        var flags = 0;
+        for (var item : trivia) {
+            switch (item) {
+                case Trivia.Whitespace ws -> newlines += countNewlines(ws.text(), BLANK_LINE - newlines);
+                case Trivia.LineComment _ -> flags |= LINE_COMMENT;
+                case Trivia.BlockComment _ -> flags |= BLOCK_COMMENT;
+            }
+        }
+        return flags | newlines;
+    }
+
+    /**
+     * Count newlines in the text, stopping once the limit is reached.
+     */
+    static int countNewlines(String text, int limit) {
+        var newlines = 0;
+        for (int i = 0; i < text.length() && newlines < limit; i++) {
+            if (text.charAt(i) == '\n') {
+                newlines++;
+            }
+        }
+        return newlines;
+    }
+}
@@ -2,6 +2,7 @@ package org.pragmatica.jbct.lint;
 
 import org.pragmatica.jbct.lint.cst.CstLinter;
 import org.pragmatica.jbct.shared.SourceFile;
+import org.pragmatica.lang.Option;
 import org.pragmatica.lang.Result;
 
 import java.util.List;
@@ -16,22 +17,29 @@ import java.util.List;
 public class JbctLinter {
     private final CstLinter delegate;
 
-    private JbctLinter(LintContext context) {
-        this.delegate = CstLinter.cstLinter(context);
+    private JbctLinter(CstLinter delegate) {
+        this.delegate = delegate;
     }
 
     /**
      * Factory method with default context and all rules.
      */
     public static JbctLinter jbctLinter() {
-        return new JbctLinter(LintContext.defaultContext());
+        return new JbctLinter(CstLinter.cstLinter());
     }
 
     /**
      * Factory method with custom context.
      */
     public static JbctLinter jbctLinter(LintContext context) {
-        return new JbctLinter(context);
+        return new JbctLinter(CstLinter.cstLinter(context));
+    }
+
+    /**
+     * Factory method with custom context and per-rule profiling.
+     */
+    public static JbctLinter jbctLinter(LintContext context, RuleProfiler profiler) {
+        return new JbctLinter(CstLinter.cstLinter(context, profiler));
     }
 
     public Result<List<Diagnostic>> lint(SourceFile source) {
@@ -41,4 +49,8 @@ public class JbctLinter {
     public Result<Boolean> check(SourceFile source) {
         return delegate.check(source);
     }
+
+    public Result<Option<Diagnostic>> firstViolation(SourceFile source) {
+        return delegate.firstViolation(source);
+    }
 }
@@ -4,40 +4,54 @@ import java.util.List;
 import java.util.regex.Pattern;
 
 /**
- * Context for lint analysis providing configuration.
+ * Context for lint analysis providing configuration and the project-wide symbol index.
+ *
+ * <p>Package classifiers are carried unchanged by {@link #withFileName}, {@link #withConfig} and
+ * {@link #withProjectIndex}, so all per-file contexts of a run share one classification cache.
  */
-public record LintContext(List<Pattern> businessPackagePatterns,
-                          List<Pattern> slicePackagePatterns,
+public record LintContext(PackageClassifier businessPackages,
+                          PackageClassifier slicePackages,
                           LintConfig config,
-                          String fileName) {
-    public LintContext {
-        businessPackagePatterns = List.copyOf(businessPackagePatterns);
-        slicePackagePatterns = List.copyOf(slicePackagePatterns);
-    }
+                          String fileName,
+                          ProjectIndex projectIndex) {
+    private static final PackageClassifier DEFAULT_BUSINESS_PACKAGES = PackageClassifier.packageClassifier(List.of(
+        Pattern.compile(".*\\.usecase\\..*"),
+        Pattern.compile(".*\\.domain\\..*")));
+    private static final PackageClassifier NO_PACKAGES = PackageClassifier.packageClassifier(List.of());
 
     /**
      * Check if a package name matches any business package pattern.
      */
     public boolean isBusinessPackage(String packageName) {
-        return businessPackagePatterns.stream()
-                                      .anyMatch(pattern -> pattern.matcher(packageName)
-                                                                  .matches());
+        return businessPackages.matches(packageName);
     }
 
     /**
      * Check if a package name matches any slice package pattern.
      */
     public boolean isSlicePackage(String packageName) {
-        return slicePackagePatterns.stream()
-                                   .anyMatch(pattern -> pattern.matcher(packageName)
-                                                               .matches());
+        return slicePackages.matches(packageName);
     }
 
     /**
      * Check if slice packages are configured.
      */
     public boolean hasSlicePackages() {
-        return ! slicePackagePatterns.isEmpty();
+        return ! slicePackages.isEmpty();
+    }
+
+    /**
+     * Configured business package patterns.
+     */
+    public List<Pattern> businessPackagePatterns() {
+        return businessPackages.patterns();
+    }
+
+    /**
+     * Configured slice package patterns.
+     */
+    public List<Pattern> slicePackagePatterns() {
+        return slicePackages.patterns();
     }
 
     /**
@@ -60,22 +74,30 @@ public record LintContext(List<Pattern> businessPackagePatterns,
      * Factory method with default configuration.
      */
     public static LintContext defaultContext() {
-        return new LintContext(List.of(Pattern.compile(".*\\.usecase\\..*"), Pattern.compile(".*\\.domain\\..*")),
-                               List.of(),
-                               // No slice packages by default
-        LintConfig.defaultConfig(),
-                               "Unknown.java");
+        // No slice packages by default
+        return new LintContext(DEFAULT_BUSINESS_PACKAGES,
+                               NO_PACKAGES,
+                               LintConfig.defaultConfig(),
+                               "Unknown.java",
+                               ProjectIndex.empty());
     }
 
     /**
      * Factory method with custom business package patterns.
      */
     public static LintContext lintContext(List<String> businessPackagePatterns) {
-        var patterns = businessPackagePatterns.stream()
-                                              .map(LintContext::globToRegex)
-                                              .map(Pattern::compile)
-                                              .toList();
-        return new LintContext(patterns, List.of(), LintConfig.defaultConfig(), "Unknown.java");
+        return new LintContext(classifier(businessPackagePatterns),
+                               NO_PACKAGES,
+                               LintConfig.defaultConfig(),
+                               "Unknown.java",
+                               ProjectIndex.empty());
+    }
+
+    private static PackageClassifier classifier(List<String> globs) {
+        return PackageClassifier.packageClassifier(globs.stream()
+                                                        .map(LintContext::globToRegex)
+                                                        .map(Pattern::compile)
+                                                        .toList());
     }
 
     private static String globToRegex(String glob) {
@@ -89,36 +111,35 @@ public record LintContext(List<Pattern> businessPackagePatterns,
      * Builder-style method to set config.
      */
     public LintContext withConfig(LintConfig config) {
-        return new LintContext(businessPackagePatterns, slicePackagePatterns, config, fileName);
+        return new LintContext(businessPackages, slicePackages, config, fileName, projectIndex);
     }
 
     /**
      * Builder-style method to set file name.
      */
     public LintContext withFileName(String fileName) {
-        return new LintContext(businessPackagePatterns, slicePackagePatterns, config, fileName);
+        return new LintContext(businessPackages, slicePackages, config, fileName, projectIndex);
+    }
+
+    /**
+     * Builder-style method to set the project-wide symbol index.
+     */
+    public LintContext withProjectIndex(ProjectIndex projectIndex) {
+        return new LintContext(businessPackages, slicePackages, config, fileName, projectIndex);
     }
 
     /**
      * Builder-style method to set business package patterns from glob strings.
      */
     public LintContext withBusinessPackages(List<String> patterns) {
-        var compiledPatterns = patterns.stream()
-                                       .map(LintContext::globToRegex)
-                                       .map(Pattern::compile)
-                                       .toList();
-        return new LintContext(compiledPatterns, slicePackagePatterns, config, fileName);
+        return new LintContext(classifier(patterns), slicePackages, config, fileName, projectIndex);
     }
 
     /**
      * Builder-style method to set slice package patterns from glob strings.
      */
     public LintContext withSlicePackages(List<String> patterns) {
-        var compiledPatterns = patterns.stream()
-                                       .map(LintContext::globToRegex)
-                                       .map(Pattern::compile)
-                                       .toList();
-        return new LintContext(businessPackagePatterns, compiledPatterns, config, fileName);
+        return new LintContext(businessPackages, classifier(patterns), config, fileName, projectIndex);
     }
 
     /**
@@ -0,0 +1,69 @@
+package org.pragmatica.jbct.lint;
+
+import org.pragmatica.lang.Option;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Classifies package names against a set of configured package patterns.
+ *
+ * <p>The patterns are compiled into a single alternation, so a package is checked with one match
+ * instead of one per pattern. Results are memoized per package name: the classifier is carried
+ * unchanged by every per-file {@link LintContext} of a run, so each package is matched once no
+ * matter how many files and rules ask for it.
+ *
+ * <p><b>Thread Safety:</b> Thread-safe. The memo is a concurrent map.
+ */
+public final class PackageClassifier {
+    private static final PackageClassifier NONE = new PackageClassifier(List.of(), Option.none());
+
+    private final List<Pattern> patterns;
+    private final Option<Pattern> combined;
+    private final Map<String, Boolean> memo = new ConcurrentHashMap<>();
+
+    private PackageClassifier(List<Pattern> patterns, Option<Pattern> combined) {
+        this.patterns = patterns;
+        this.combined = combined;
+    }
+
+    /**
+     * Create classifier for the given patterns. A package matches if any pattern matches it entirely.
+     */
+    public static PackageClassifier packageClassifier(List<Pattern> patterns) {
+        if (patterns.isEmpty()) {
+            return NONE;
+        }
+        var alternation = patterns.stream()
+                                  .map(pattern -> "(?:" + pattern.pattern() + ")")
+                                  .collect(Collectors.joining("|"));
+        return new PackageClassifier(List.copyOf(patterns), Option.some(Pattern.compile(alternation)));
+    }
+
+    /**
+     * Check if the package name matches any pattern.
+     */
+    public boolean matches(String packageName) {
+        return combined.map(pattern -> memo.computeIfAbsent(packageName,
+                                                            name -> pattern.matcher(name)
+                                                                           .matches()))
+                       .or(false);
+    }
+
+    /**
+     * Patterns the classifier was created from.
+     */
+    public List<Pattern> patterns() {
+        return patterns;
+    }
+
+    /**
+     * Check if no patterns are configured.
+     */
+    public boolean isEmpty() {
+        return patterns.isEmpty();
+    }
+}
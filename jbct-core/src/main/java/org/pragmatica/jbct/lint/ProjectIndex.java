@@ -0,0 +1,234 @@
+package org.pragmatica.jbct.lint;
+
+import org.pragmatica.lang.Option;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Project-wide symbol index shared by lint rules.
+ *
+ * <p>Rules see one file at a time. The index answers questions which need the rest of the project:
+ * where a type is declared, whether it belongs to a {@code Cause} hierarchy, and whether a record has a
+ * {@code Result}-returning factory. Everything is precomputed
+ * when the index is built, so lookups are hash lookups.
+ *
+ * <p>The index is built once per run by {@link ProjectIndexer} and can be persisted, so that
+ * incremental runs only re-index changed files.
+ *
+ * <p><b>Thread Safety:</b> Instances are immutable and safe to share across threads.
+ */
+public final class ProjectIndex {
+    private static final String CAUSE = "Cause";
+    private static final ProjectIndex EMPTY = new ProjectIndex(Map.of());
+
+    private final Map<String, FileTypes> files;
+    private final Map<String, TypeInfo> byQualifiedName = new HashMap<>();
+    private final Map<String, List<TypeInfo>> bySimpleName = new HashMap<>();
+    private final Set<String> errorTypes = new HashSet<>();
+
+    private ProjectIndex(Map<String, FileTypes> files) {
+        this.files = files;
+        for (var file : files.values()) {
+            for (var type : file.types()) {
+                byQualifiedName.put(type.qualifiedName(), type);
+                bySimpleName.computeIfAbsent(type.simpleName(), _ -> new ArrayList<>())
+                            .add(type);
+            }
+        }
+        for (var file : files.values()) {
+            for (var type : file.types()) {
+                if (reachesCause(type, file.imports(), new HashSet<>())) {
+                    errorTypes.add(type.qualifiedName());
+                }
+            }
+        }
+    }
+
+    /**
+     * Index without any types. Rules fall back to single-file analysis.
+     */
+    public static ProjectIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Build an index from per-file type information.
+     *
+     * @param files indexed files
+     */
+    public static ProjectIndex projectIndex(Collection<FileTypes> files) {
+        if (files.isEmpty()) {
+            return EMPTY;
+        }
+        var byFile = new HashMap<String, FileTypes>();
+        files.forEach(file -> byFile.put(file.file(), file));
+        return new ProjectIndex(Map.copyOf(byFile));
+    }
+
+    /**
+     * Indexed files.
+     */
+    public Collection<FileTypes> files() {
+        return files.values();
+    }
+
+    /**
+     * Get index entry of a file.
+     */
+    public Option<FileTypes> file(String file) {
+        return Option.option(files.get(file));
+    }
+
+    /**
+     * Check if the index contains no types.
+     */
+    public boolean isEmpty() {
+        return byQualifiedName.isEmpty();
+    }
+
+    /**
+     * Get a type by its qualified name (nested types use {@code Outer.Inner}).
+     */
+    public Option<TypeInfo> type(String qualifiedName) {
+        return Option.option(byQualifiedName.get(qualifiedName));
+    }
+
+    /**
+     * Resolve a simple type name as seen from a file: single-type imports first, then the file's
+     * own package, then a type with this name which is unique in the project.
+     *
+     * @param simpleName  simple type name
+     * @param packageName package of the referencing file
+     * @param imports     single-type imports of the referencing file
+     */
+    public Option<TypeInfo> resolve(String simpleName, String packageName, Collection<String> imports) {
+        var candidates = bySimpleName.getOrDefault(simpleName, List.of());
+        if (candidates.isEmpty()) {
+            return Option.none();
+        }
+        for (var imported : imports) {
+            if (imported.endsWith("." + simpleName) && byQualifiedName.containsKey(imported)) {
+                return Option.some(byQualifiedName.get(imported));
+            }
+        }
+        for (var candidate : candidates) {
+            if (candidate.packageName()
+                         .equals(packageName)) {
+                return Option.some(candidate);
+            }
+        }
+        return candidates.size() == 1
+               ? Option.some(candidates.getFirst())
+               : Option.none();
+    }
+
+    /**
+     * Check if a type extends {@code Cause}, directly or through other project types.
+     */
+    public boolean isErrorType(TypeInfo type) {
+        return errorTypes.contains(type.qualifiedName());
+    }
+
+    /**
+     * Check if a record or class declares a static factory returning {@code Result} of itself.
+     */
+    public boolean isValueObject(TypeInfo type) {
+        return type.resultFactory();
+    }
+
+    private boolean reachesCause(TypeInfo type, List<String> imports, Set<String> visited) {
+        if (!visited.add(type.qualifiedName())) {
+            return false;
+        }
+        for (var supertype : type.supertypes()) {
+            if (supertype.equals(CAUSE)) {
+                return true;
+            }
+            var resolved = resolve(supertype, type.packageName(), imports);
+            if (resolved.isPresent() && reachesCause(resolved.unwrap(), importsOf(resolved.unwrap()), visited)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private List<String> importsOf(TypeInfo type) {
+        var file = files.get(type.file());
+        return file != null
+               ? file.imports()
+               : List.of();
+    }
+
+    /**
+     * Kind of a type declaration.
+     */
+    public enum DeclarationKind {
+        CLASS,
+        INTERFACE,
+        ENUM,
+        RECORD,
+        ANNOTATION
+    }
+
+    /**
+     * Type declared in the project.
+     *
+     * @param qualifiedName package-qualified name ({@code com.example.Outer.Inner} for nested types)
+     * @param packageName   package of the declaring file
+     * @param simpleName    declared name
+     * @param kind          declaration kind
+     * @param sealed        whether the type is declared {@code sealed}
+     * @param supertypes    simple names of extended and implemented types
+     * @param resultFactory whether the type declares a static method returning {@code Result} of itself
+     * @param file          file the type is declared in
+     */
+    public record TypeInfo(String qualifiedName,
+                           String packageName,
+                           String simpleName,
+                           DeclarationKind kind,
+                           boolean sealed,
+                           List<String> supertypes,
+                           boolean resultFactory,
+                           String file) {
+        public TypeInfo {
+            supertypes = List.copyOf(supertypes);
+        }
+    }
+
+    /**
+     * Index entry of a single file.
+     *
+     * @param file        file path
+     * @param fingerprint fingerprint of the content the entry was built from
+     * @param packageName package of the file
+     * @param imports     single-type imports of the file
+     * @param types       types declared in the file
+     */
+    public record FileTypes(String file,
+                            String fingerprint,
+                            String packageName,
+                            List<String> imports,
+                            List<TypeInfo> types) {
+        public FileTypes {
+            imports = List.copyOf(imports);
+            types = List.copyOf(types);
+        }
+
+        /**
+         * Factory method for creating FileTypes.
+         */
+        public static FileTypes fileTypes(String file,
+                                          String fingerprint,
+                                          String packageName,
+                                          List<String> imports,
+                                          List<TypeInfo> types) {
+            return new FileTypes(file, fingerprint, packageName, imports, types);
+        }
+    }
+}
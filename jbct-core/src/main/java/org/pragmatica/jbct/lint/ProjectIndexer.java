@@ -0,0 +1,311 @@
+package org.pragmatica.jbct.lint;
+
+import org.pragmatica.jbct.lint.ProjectIndex.DeclarationKind;
+import org.pragmatica.jbct.lint.ProjectIndex.FileTypes;
+import org.pragmatica.jbct.lint.ProjectIndex.TypeInfo;
+import org.pragmatica.jbct.parser.Java25Parser.CstNode;
+import org.pragmatica.jbct.parser.Java25Parser.RuleId;
+import org.pragmatica.jbct.parser.MemberParallelParser;
+import org.pragmatica.jbct.shared.SourceFile;
+import org.pragmatica.lang.Option;
+import org.pragmatica.lang.Result;
+import org.pragmatica.lang.utils.Causes;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.pragmatica.jbct.parser.CstNodes.*;
+import static org.pragmatica.lang.Result.lift;
+
+/**
+ * Builds and persists the {@link ProjectIndex}.
+ *
+ * <p>Files are parsed in parallel. When a previous index is supplied, entries of files whose
+ * content fingerprint did not change are reused without parsing.
+ *
+ * <p><b>Thread Safety:</b> Thread-safe. Parsers are kept per thread.
+ */
+public final class ProjectIndexer {
+    private static final MemberParallelParser PARSER = MemberParallelParser.memberParallelParser();
+    private static final String HEADER = "jbct-project-index 1";
+    private static final String SEPARATOR = "\t";
+    private static final String LIST_SEPARATOR = ",";
+
+    private ProjectIndexer() {}
+
+    /**
+     * Index the given files.
+     */
+    public static ProjectIndex index(List<Path> files) {
+        return index(files, ProjectIndex.empty());
+    }
+
+    /**
+     * Index the given files, reusing entries of unchanged files from a previous index.
+     * Files which cannot be read or parsed are left out of the index.
+     */
+    public static ProjectIndex index(List<Path> files, ProjectIndex previous) {
+        var entries = files.parallelStream()
+                           .flatMap(file -> SourceFile.sourceFile(file)
+                                                      .map(source -> fileTypes(source, previous))
+                                                      .or(Option.none())
+                                                      .stream())
+                           .toList();
+        return ProjectIndex.projectIndex(entries);
+    }
+
+    private static Option<FileTypes> fileTypes(SourceFile source, ProjectIndex previous) {
+        var file = source.path()
+                         .toString();
+        var fingerprint = fingerprint(source.content());
+        var unchanged = previous.file(file)
+                                .filter(entry -> entry.fingerprint()
+                                                      .equals(fingerprint));
+        if (unchanged.isPresent()) {
+            return unchanged;
+        }
+        return PARSER.parse(source.content())
+                     .map(cst -> Option.some(fileTypes(cst, source.content(), file, fingerprint)))
+                     .or(Option.none());
+    }
+
+    /**
+     * Extract the index entry of an already parsed file.
+     */
+    public static FileTypes fileTypes(CstNode cst, String source, String file, String fingerprint) {
+        var packageName = packageName(cst, source);
+        var imports = findAll(cst, RuleId.ImportDecl.class).stream()
+                             .filter(imp -> !hasLiteral(imp, "static") && !hasLiteral(imp, "*"))
+                             .flatMap(imp -> childByRule(imp, RuleId.QualifiedName.class).stream())
+                             .map(name -> text(name, source).trim())
+                             .toList();
+        var types = new ArrayList<TypeInfo>();
+        collectTypes(cst, packageName, packageName, List.of(), source, file, types);
+        return FileTypes.fileTypes(file, fingerprint, packageName, imports, types);
+    }
+
+    /**
+     * Content fingerprint used to detect changed files.
+     */
+    public static String fingerprint(String content) {
+        return SourceFile.fingerprint(content);
+    }
+
+    // TypeDecl <- Annotation* Modifier* TypeKind; nested types: ClassMember <- Annotation* Modifier* Member
+    private static void collectTypes(CstNode node,
+                                     String packageName,
+                                     String outer,
+                                     List<CstNode> modifiers,
+                                     String source,
+                                     String file,
+                                     List<TypeInfo> types) {
+        if (isRule(node, RuleId.TypeDecl.class) || isRule(node, RuleId.ClassMember.class)) {
+            modifiers = childrenByRule(node, RuleId.Modifier.class);
+        }
+        if (isRule(node, RuleId.TypeKind.class)) {
+            var declaration = child(node, 0);
+            var name = declaration.flatMap(decl -> childByRule(decl, RuleId.Identifier.class))
+                                  .map(id -> text(id, source).trim());
+            if (declaration.isPresent() && name.isPresent()) {
+                var decl = declaration.unwrap();
+                var simpleName = name.unwrap();
+                var qualifiedName = outer.isEmpty()
+                                    ? simpleName
+                                    : outer + "." + simpleName;
+                types.add(new TypeInfo(qualifiedName,
+                                       packageName,
+                                       simpleName,
+                                       kindOf(decl),
+                                       modifiers.stream()
+                                                .anyMatch(mod -> textEquals(mod, source, "sealed")),
+                                       supertypes(decl, source),
+                                       hasResultFactory(decl, simpleName, source),
+                                       file));
+                for (var child : children(decl)) {
+                    collectTypes(child, packageName, qualifiedName, List.of(), source, file, types);
+                }
+                return;
+            }
+        }
+        for (var child : children(node)) {
+            collectTypes(child, packageName, outer, modifiers, source, file, types);
+        }
+    }
+
+    private static DeclarationKind kindOf(CstNode declaration) {
+        if (isRule(declaration, RuleId.InterfaceDecl.class)) {
+            return DeclarationKind.INTERFACE;
+        }
+        if (isRule(declaration, RuleId.RecordDecl.class)) {
+            return DeclarationKind.RECORD;
+        }
+        if (isRule(declaration, RuleId.EnumDecl.class)) {
+            return DeclarationKind.ENUM;
+        }
+        if (isRule(declaration, RuleId.AnnotationDecl.class)) {
+            return DeclarationKind.ANNOTATION;
+        }
+        return DeclarationKind.CLASS;
+    }
+
+    // ClassDecl: 'extends' Type, ImplementsClause; InterfaceDecl: 'extends' TypeList; records and enums: ImplementsClause
+    private static List<String> supertypes(CstNode declaration, String source) {
+        var supertypes = new ArrayList<CstNode>();
+        childByRule(declaration, RuleId.Type.class).onPresent(supertypes::add);
+        childByRule(declaration, RuleId.TypeList.class).onPresent(list -> supertypes.addAll(childrenByRule(list,
+                                                                                                            RuleId.Type.class)));
+        childByRule(declaration, RuleId.ImplementsClause.class).flatMap(clause -> childByRule(clause,
+                                                                                             RuleId.TypeList.class))
+                   .onPresent(list -> supertypes.addAll(childrenByRule(list, RuleId.Type.class)));
+        return supertypes.stream()
+                         .flatMap(type -> simpleTypeName(type, source).stream())
+                         .toList();
+    }
+
+    // Last segment of a reference type, without type arguments: a.b.Outer.Inner<T> -> Inner
+    private static Option<String> simpleTypeName(CstNode type, String source) {
+        return childByRule(type, RuleId.RefType.class).map(ref -> childrenByRule(ref, RuleId.AnnotatedTypeName.class))
+                          .filter(names -> !names.isEmpty())
+                          .flatMap(names -> childByRule(names.getLast(), RuleId.Identifier.class))
+                          .map(id -> text(id, source).trim());
+    }
+
+    private static boolean hasResultFactory(CstNode declaration, String typeName, String source) {
+        return members(declaration).stream()
+                                   .filter(member -> childrenByRule(member, RuleId.Modifier.class).stream()
+                                                                                                 .anyMatch(mod -> textEquals(mod,
+                                                                                                                             source,
+                                                                                                                             "static")))
+                                   .flatMap(member -> childByRule(member, RuleId.Member.class).stream())
+                                   .flatMap(member -> childByRule(member, RuleId.MethodDecl.class).stream())
+                                   .flatMap(method -> childByRule(method, RuleId.Type.class).stream())
+                                   .anyMatch(type -> returnsResultOf(type, typeName, source));
+    }
+
+    // ClassBody/EnumBody contain ClassMember directly; RecordBody wraps them in RecordMember
+    private static List<CstNode> members(CstNode declaration) {
+        var members = new ArrayList<CstNode>();
+        for (var body : children(declaration)) {
+            if (isRule(body, RuleId.ClassBody.class) || isRule(body, RuleId.EnumBody.class)) {
+                members.addAll(childrenByRule(body, RuleId.ClassMember.class));
+            }
+            if (isRule(body, RuleId.RecordBody.class)) {
+                childrenByRule(body, RuleId.RecordMember.class)
+                .forEach(member -> childByRule(member, RuleId.ClassMember.class).onPresent(members::add));
+            }
+        }
+        return members;
+    }
+
+    // Result<TypeName>
+    private static boolean returnsResultOf(CstNode type, String typeName, String source) {
+        return childByRule(type, RuleId.RefType.class).map(ref -> childrenByRule(ref, RuleId.AnnotatedTypeName.class))
+                          .filter(names -> names.size() == 1)
+                          .map(List::getFirst)
+                          .filter(name -> childByRule(name, RuleId.Identifier.class).filter(id -> textEquals(id,
+                                                                                                             source,
+                                                                                                             "Result"))
+                                                                                    .isPresent())
+                          .flatMap(name -> childByRule(name, RuleId.TypeArgs.class))
+                          .flatMap(args -> childByRule(args, RuleId.TypeArg.class))
+                          .flatMap(arg -> childByRule(arg, RuleId.Type.class))
+                          .flatMap(argType -> simpleTypeName(argType, source))
+                          .filter(typeName::equals)
+                          .isPresent();
+    }
+
+    /**
+     * Persist the index. Each file is written as an {@code F} line followed by one {@code T} line per type.
+     */
+    public static Result<Path> write(ProjectIndex index, Path target) {
+        var lines = new ArrayList<String>();
+        lines.add(HEADER);
+        for (var file : index.files()) {
+            lines.add(String.join(SEPARATOR,
+                                  "F",
+                                  file.file(),
+                                  file.fingerprint(),
+                                  file.packageName(),
+                                  String.join(LIST_SEPARATOR,
+                                              file.imports())));
+            for (var type : file.types()) {
+                lines.add(String.join(SEPARATOR,
+                                      "T",
+                                      type.qualifiedName(),
+                                      type.simpleName(),
+                                      type.kind()
+                                          .name(),
+                                      Boolean.toString(type.sealed()),
+                                      Boolean.toString(type.resultFactory()),
+                                      String.join(LIST_SEPARATOR,
+                                                  type.supertypes())));
+            }
+        }
+        return lift(Causes::fromThrowable,
+                    () -> {
+                        Files.createDirectories(target.toAbsolutePath()
+                                                      .getParent());
+                        return Files.write(target, lines);
+                    });
+    }
+
+    /**
+     * Load a persisted index. A missing, outdated or malformed file yields an empty index.
+     */
+    public static ProjectIndex read(Path source) {
+        if (!Files.isRegularFile(source)) {
+            return ProjectIndex.empty();
+        }
+        return lift(Causes::fromThrowable, () -> parseLines(Files.readAllLines(source)))
+        .map(ProjectIndex::projectIndex)
+        .or(ProjectIndex.empty());
+    }
+
+    private static List<FileTypes> parseLines(List<String> lines) {
+        if (lines.isEmpty() || !lines.getFirst()
+                                     .equals(HEADER)) {
+            return List.of();
+        }
+        var entries = new ArrayList<FileTypes>();
+        FileTypes current = null;
+        var types = new ArrayList<TypeInfo>();
+        for (var line : lines.subList(1, lines.size())) {
+            var fields = line.split(SEPARATOR, - 1);
+            if (fields[0].equals("F") && fields.length == 5) {
+                if (current != null) {
+                    entries.add(withTypes(current, types));
+                }
+                current = FileTypes.fileTypes(fields[1], fields[2], fields[3], splitList(fields[4]), List.of());
+                types.clear();
+            } else if (fields[0].equals("T") && fields.length == 7 && current != null) {
+                types.add(new TypeInfo(fields[1],
+                                       current.packageName(),
+                                       fields[2],
+                                       DeclarationKind.valueOf(fields[3]),
+                                       Boolean.parseBoolean(fields[4]),
+                                       splitList(fields[6]),
+                                       Boolean.parseBoolean(fields[5]),
+                                       current.file()));
+            } else {
+                // Malformed file: ignore it rather than lint against a partial index
+                return List.of();
+            }
+        }
+        if (current != null) {
+            entries.add(withTypes(current, types));
+        }
+        return entries;
+    }
+
+    private static FileTypes withTypes(FileTypes file, List<TypeInfo> types) {
+        return FileTypes.fileTypes(file.file(), file.fingerprint(), file.packageName(), file.imports(), types);
+    }
+
+    private static List<String> splitList(String field) {
+        return field.isEmpty()
+               ? List.of()
+               : List.of(field.split(LIST_SEPARATOR));
+    }
+}
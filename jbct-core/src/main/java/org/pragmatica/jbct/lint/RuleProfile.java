@@ -0,0 +1,146 @@
+package org.pragmatica.jbct.lint;
+
+import org.pragmatica.jbct.shared.JsonWriter;
+
+import java.io.StringWriter;
+import java.util.List;
+
+/**
+ * Immutable per-rule timing report of a lint run.
+ *
+ * @param rules         timings per rule, slowest first
+ * @param slowestFiles  files with the highest total rule time, slowest first
+ * @param filesProfiled number of files analyzed while profiling
+ */
+public record RuleProfile(List<RuleTiming> rules,
+                          List<FileTiming> slowestFiles,
+                          int filesProfiled) {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    public RuleProfile {
+        rules = List.copyOf(rules);
+        slowestFiles = List.copyOf(slowestFiles);
+    }
+
+    /**
+     * Factory method for creating RuleProfile.
+     */
+    public static RuleProfile ruleProfile(List<RuleTiming> rules, List<FileTiming> slowestFiles, int filesProfiled) {
+        return new RuleProfile(rules, slowestFiles, filesProfiled);
+    }
+
+    /**
+     * Timing of a single rule across all profiled files.
+     *
+     * @param ruleId      the rule ID
+     * @param totalNanos  total time spent in the rule
+     * @param files       number of files the rule was run on
+     * @param p50Nanos    median time per file
+     * @param p99Nanos    99th percentile time per file
+     * @param maxNanos    slowest single file
+     * @param diagnostics number of diagnostics produced (before suppression)
+     */
+    public record RuleTiming(String ruleId,
+                             long totalNanos,
+                             int files,
+                             long p50Nanos,
+                             long p99Nanos,
+                             long maxNanos,
+                             long diagnostics) {}
+
+    /**
+     * Total rule time spent on a single file.
+     */
+    public record FileTiming(String file, long totalNanos) {}
+
+    /**
+     * Total time spent in all rules.
+     */
+    public long totalNanos() {
+        return rules.stream()
+                    .mapToLong(RuleTiming::totalNanos)
+                    .sum();
+    }
+
+    /**
+     * Format as a terminal table.
+     */
+    public String toTable() {
+        var sb = new StringBuilder();
+        sb.append("Rule profile (%d file(s), %.1f ms total)%n".formatted(filesProfiled, millis(totalNanos())));
+        sb.append("%-16s %10s %7s %9s %9s %9s %11s%n".formatted("Rule",
+                                                               "Total ms",
+                                                               "Share",
+                                                               "p50 ms",
+                                                               "p99 ms",
+                                                               "Max ms",
+                                                               "Diagnostics"));
+        var total = Math.max(1, totalNanos());
+        for (var rule : rules) {
+            sb.append("%-16s %10.1f %6.1f%% %9.3f %9.3f %9.3f %11d%n".formatted(rule.ruleId(),
+                                                                               millis(rule.totalNanos()),
+                                                                               100.0 * rule.totalNanos() / total,
+                                                                               millis(rule.p50Nanos()),
+                                                                               millis(rule.p99Nanos()),
+                                                                               millis(rule.maxNanos()),
+                                                                               rule.diagnostics()));
+        }
+        if (!slowestFiles.isEmpty()) {
+            sb.append("%nSlowest files:%n".formatted());
+            for (var file : slowestFiles) {
+                sb.append("%10.1f ms  %s%n".formatted(millis(file.totalNanos()), file.file()));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Format as JSON.
+     */
+    public String toJson() {
+        var text = new StringWriter();
+        var json = JsonWriter.jsonWriter(text);
+        json.raw("{\n  ")
+            .member("filesProfiled", filesProfiled)
+            .raw(",\n  ")
+            .member("totalNanos", totalNanos())
+            .raw(",\n  \"rules\": [\n");
+        for (int i = 0; i < rules.size(); i++) {
+            var rule = rules.get(i);
+            json.raw("    {")
+                .member("ruleId", rule.ruleId())
+                .raw(", ")
+                .member("totalNanos", rule.totalNanos())
+                .raw(", ")
+                .member("files", rule.files())
+                .raw(", ")
+                .member("p50Nanos", rule.p50Nanos())
+                .raw(", ")
+                .member("p99Nanos", rule.p99Nanos())
+                .raw(", ")
+                .member("maxNanos", rule.maxNanos())
+                .raw(", ")
+                .member("diagnostics", rule.diagnostics())
+                .raw(i < rules.size() - 1
+                     ? "},\n"
+                     : "}\n");
+        }
+        json.raw("  ],\n  \"slowestFiles\": [\n");
+        for (int i = 0; i < slowestFiles.size(); i++) {
+            var file = slowestFiles.get(i);
+            json.raw("    {")
+                .member("file", file.file())
+                .raw(", ")
+                .member("totalNanos", file.totalNanos())
+                .raw(i < slowestFiles.size() - 1
+                     ? "},\n"
+                     : "}\n");
+        }
+        json.raw("  ]\n}\n");
+        return text.toString();
+    }
+
+    private static double millis(long nanos) {
+        return nanos / NANOS_PER_MILLI;
+    }
+}
@@ -0,0 +1,126 @@
+package org.pragmatica.jbct.lint;
+
+import org.pragmatica.jbct.lint.RuleProfile.FileTiming;
+import org.pragmatica.jbct.lint.RuleProfile.RuleTiming;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects per-rule timing samples during a lint run.
+ *
+ * <p>One sample is recorded for every {@code (rule, file)} pair analyzed. Samples are
+ * aggregated into a {@link RuleProfile} once the run is complete.
+ *
+ * <p><b>Thread Safety:</b> Thread-safe. A single profiler may be shared by linters
+ * running on multiple threads.
+ */
+public final class RuleProfiler {
+    private static final int DEFAULT_SLOWEST_FILES = 10;
+
+    private final Map<String, RuleSamples> rules = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> files = new ConcurrentHashMap<>();
+
+    private RuleProfiler() {}
+
+    /**
+     * Factory method for an empty profiler.
+     */
+    public static RuleProfiler ruleProfiler() {
+        return new RuleProfiler();
+    }
+
+    /**
+     * Record a single rule invocation.
+     *
+     * @param ruleId      the rule ID
+     * @param file        the analyzed file
+     * @param nanos       time spent in the rule, including stream consumption
+     * @param diagnostics number of diagnostics produced by the rule
+     */
+    public void record(String ruleId, String file, long nanos, int diagnostics) {
+        rules.computeIfAbsent(ruleId, _ -> new RuleSamples())
+             .add(nanos, diagnostics);
+        files.computeIfAbsent(file, _ -> new LongAdder())
+             .add(nanos);
+    }
+
+    /**
+     * Build the profile report with the default number of slowest files.
+     */
+    public RuleProfile profile() {
+        return profile(DEFAULT_SLOWEST_FILES);
+    }
+
+    /**
+     * Build the profile report.
+     *
+     * @param slowestFiles number of slowest files to include
+     */
+    public RuleProfile profile(int slowestFiles) {
+        var ruleTimings = rules.entrySet()
+                               .stream()
+                               .map(entry -> entry.getValue()
+                                                  .timing(entry.getKey()))
+                               .sorted(Comparator.comparingLong(RuleTiming::totalNanos)
+                                                 .reversed())
+                               .toList();
+        var fileTimings = files.entrySet()
+                               .stream()
+                               .map(entry -> new FileTiming(entry.getKey(),
+                                                            entry.getValue()
+                                                                 .sum()))
+                               .sorted(Comparator.comparingLong(FileTiming::totalNanos)
+                                                 .reversed())
+                               .limit(slowestFiles)
+                               .toList();
+        return RuleProfile.ruleProfile(ruleTimings, fileTimings, files.size());
+    }
+
+    /**
+     * Per-file samples for a single rule.
+     */
+    private static final class RuleSamples {
+        private long[] nanos = new long[64];
+        private int count;
+        private long diagnostics;
+
+        synchronized void add(long sample, int produced) {
+            if (count == nanos.length) {
+                nanos = Arrays.copyOf(nanos, count * 2);
+            }
+            nanos[count++] = sample;
+            diagnostics += produced;
+        }
+
+        synchronized RuleTiming timing(String ruleId) {
+            var sorted = Arrays.copyOf(nanos, count);
+            Arrays.sort(sorted);
+            var total = 0L;
+            for (var sample : sorted) {
+                total += sample;
+            }
+            return new RuleTiming(ruleId,
+                                  total,
+                                  count,
+                                  percentile(sorted, 50),
+                                  percentile(sorted, 99),
+                                  count == 0
+                                  ? 0
+                                  : sorted[count - 1],
+                                  diagnostics);
+        }
+
+        private static long percentile(long[] sorted, int percent) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            // Nearest-rank method
+            var rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+            return sorted[Math.max(0, rank - 1)];
+        }
+    }
+}
@@ -1,76 +1,143 @@
 package org.pragmatica.jbct.lint.cst;
 
 import org.pragmatica.jbct.lint.Diagnostic;
-import org.pragmatica.jbct.lint.DiagnosticSeverity;
 import org.pragmatica.jbct.lint.LintContext;
+import org.pragmatica.jbct.lint.RuleProfiler;
 import org.pragmatica.jbct.lint.cst.rules.*;
-import org.pragmatica.jbct.parser.Java25Parser;
 import org.pragmatica.jbct.parser.Java25Parser.CstNode;
+import org.pragmatica.jbct.parser.MemberParallelParser;
 import org.pragmatica.jbct.shared.SourceFile;
+import org.pragmatica.lang.Option;
 import org.pragmatica.lang.Result;
 import org.pragmatica.lang.utils.Causes;
 
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * CST-based JBCT linter.
  *
- * <p>Uses the generated Java25Parser and CST lint rules.
+ * <p>Uses the generated Java25Parser (through {@link MemberParallelParser} for very large files)
+ * and CST lint rules.
  *
  * <p><b>Thread Safety:</b> Thread-safe for concurrent use. Each {@link #lint(SourceFile)}
  * call creates per-operation state for parsing. The lint rules are stateless and safe
  * for concurrent access. Instances can be safely shared across threads.
+ *
+ * <p>Rules only read the CST, so for sources at or above the parallel rule threshold
+ * {@link #lint(SourceFile)} and {@link #analyze(CstNode, SourceFile)} run the rules concurrently
+ * on the common fork-join pool. Diagnostics are merged in rule order, so the output is identical
+ * to a sequential run. {@link #firstViolation(SourceFile)} always runs sequentially to keep its
+ * short-circuit. The common pool is shared by the whole JVM, so callers which bound the number of
+ * files linted at a time do not bound these rule tasks; they add at most one pool's worth of threads.
  */
 public class CstLinter {
+    /**
+     * Default source length (in characters) from which rules run concurrently, roughly 5000 lines.
+     */
+    public static final int PARALLEL_RULES_THRESHOLD = 200_000;
+
     private final LintContext context;
     private final List<CstLintRule> rules;
-    private final Java25Parser parser;
+    private final MemberParallelParser parser;
+    private final Option<RuleProfiler> profiler;
+    private final int parallelRulesThreshold;
 
-    private CstLinter(LintContext context, List<CstLintRule> rules) {
+    private CstLinter(LintContext context,
+                      List<CstLintRule> rules,
+                      Option<RuleProfiler> profiler,
+                      int parallelRulesThreshold) {
         this.context = context;
         this.rules = rules;
-        this.parser = new Java25Parser();
+        this.parser = MemberParallelParser.memberParallelParser();
+        this.profiler = profiler;
+        this.parallelRulesThreshold = parallelRulesThreshold;
     }
 
     /**
      * Create linter with default rules.
      */
     public static CstLinter cstLinter() {
-        return new CstLinter(LintContext.defaultContext(), defaultRules());
+        return new CstLinter(LintContext.defaultContext(), defaultRules(), Option.none(), PARALLEL_RULES_THRESHOLD);
     }
 
     /**
      * Create linter with custom context.
      */
     public static CstLinter cstLinter(LintContext context) {
-        return new CstLinter(context, defaultRules());
+        return new CstLinter(context, defaultRules(), Option.none(), PARALLEL_RULES_THRESHOLD);
+    }
+
+    /**
+     * Create linter with custom context which records per-rule timings into the given profiler.
+     */
+    public static CstLinter cstLinter(LintContext context, RuleProfiler profiler) {
+        return new CstLinter(context, defaultRules(), Option.some(profiler), PARALLEL_RULES_THRESHOLD);
+    }
+
+    /**
+     * Create a copy of this linter which runs rules concurrently for sources of at least
+     * {@code sourceLength} characters. {@code Integer.MAX_VALUE} disables concurrent rule execution.
+     */
+    public CstLinter withParallelRulesThreshold(int sourceLength) {
+        return new CstLinter(context, rules, profiler, sourceLength);
     }
 
     /**
      * Lint a source file.
      */
     public Result<List<Diagnostic>> lint(SourceFile source) {
-        return parse(source).map(cst -> analyzeWithRules(cst, source));
+        return parse(source).map(cst -> analyzeWithRules(cst, source).collect(Collectors.toList()));
     }
 
     /**
      * Check if source passes lint rules.
+     *
+     * <p>Rule evaluation stops at the first failing diagnostic.
      */
     public Result<Boolean> check(SourceFile source) {
-        return lint(source).map(this::passesLintRules);
+        return firstViolation(source).map(Option::isEmpty);
     }
 
-    private boolean passesLintRules(List<Diagnostic> diagnostics) {
-        var hasErrors = diagnostics.stream()
-                                   .anyMatch(d -> d.severity() == DiagnosticSeverity.ERROR);
-        if (hasErrors) {
-            return false;
-        }
-        var hasWarnings = diagnostics.stream()
-                                     .anyMatch(d -> d.severity() == DiagnosticSeverity.WARNING);
-        return ! ( context.config()
-                          .failOnWarning() && hasWarnings);
+    /**
+     * Find the first diagnostic that fails the check: an ERROR, or a WARNING when
+     * {@code failOnWarning} is enabled.
+     *
+     * <p>Diagnostics are produced lazily, so remaining rules are not evaluated once
+     * a violation is found.
+     */
+    public Result<Option<Diagnostic>> firstViolation(SourceFile source) {
+        return parse(source).map(cst -> firstViolation(cst, source));
+    }
+
+    /**
+     * Analyze an already parsed compilation unit. Diagnostics are produced lazily, unless the
+     * source is large enough for rules to run concurrently.
+     */
+    public Stream<Diagnostic> analyze(CstNode cst, SourceFile source) {
+        return analyzeWithRules(cst, source);
+    }
+
+    /**
+     * Find the first failing diagnostic of an already parsed compilation unit.
+     *
+     * @see #firstViolation(SourceFile)
+     */
+    public Option<Diagnostic> firstViolation(CstNode cst, SourceFile source) {
+        return analyzeSequentially(cst, source).filter(this::failsCheck)
+                                               .map(Option::some)
+                                               .findFirst()
+                                               .orElse(Option.none());
+    }
+
+    private boolean failsCheck(Diagnostic diagnostic) {
+        return switch (diagnostic.severity()) {
+            case ERROR -> true;
+            case WARNING -> context.config()
+                                   .failOnWarning();
+            case INFO -> false;
+        };
     }
 
     private Result<CstNode> parse(SourceFile source) {
@@ -95,19 +162,62 @@ public class CstLinter {
                      .result();
     }
 
-    private List<Diagnostic> analyzeWithRules(CstNode cst, SourceFile source) {
+    private Stream<Diagnostic> analyzeWithRules(CstNode cst, SourceFile source) {
+        return source.content()
+                     .length() >= parallelRulesThreshold
+               ? analyzeInParallel(cst, source)
+               : analyzeSequentially(cst, source);
+    }
+
+    private Stream<Diagnostic> analyzeSequentially(CstNode cst, SourceFile source) {
         var contextWithFile = context.withFileName(source.fileName());
         // Extract @SuppressWarnings suppressions
-        var suppressions = SuppressionExtractor.extractSuppressions(cst, source.content());
+        var suppressions = SuppressionExtractor.extractIndex(cst, source.content());
         return rules.stream()
                     .filter(rule -> contextWithFile.isRuleEnabled(rule.ruleId()))
-                    .flatMap(rule -> rule.analyze(cst,
-                                                  source.content(),
-                                                  contextWithFile))
-                    .filter(diagnostic -> !SuppressionExtractor.isSuppressed(suppressions,
-                                                                             diagnostic.ruleId(),
-                                                                             diagnostic.line()))
-                    .collect(Collectors.toList());
+                    .flatMap(rule -> runRule(rule, cst, source, contextWithFile))
+                    .filter(diagnostic -> !suppressions.isSuppressed(diagnostic.ruleId(),
+                                                                     diagnostic.line()));
+    }
+
+    private Stream<Diagnostic> analyzeInParallel(CstNode cst, SourceFile source) {
+        var contextWithFile = context.withFileName(source.fileName());
+        var suppressions = SuppressionExtractor.extractIndex(cst, source.content());
+        // Each rule drains its own stream on a pool thread; the ordered list keeps rule order
+        var perRule = rules.parallelStream()
+                           .filter(rule -> contextWithFile.isRuleEnabled(rule.ruleId()))
+                           .map(rule -> runRule(rule, cst, source, contextWithFile).toList())
+                           .toList();
+        return perRule.stream()
+                      .flatMap(List::stream)
+                      .filter(diagnostic -> !suppressions.isSuppressed(diagnostic.ruleId(),
+                                                                       diagnostic.line()));
+    }
+
+    private Stream<Diagnostic> runRule(CstLintRule rule, CstNode cst, SourceFile source, LintContext ctx) {
+        return profiler.map(recorder -> profileRule(recorder, rule, cst, source, ctx))
+                       .or(() -> rule.analyze(cst,
+                                              source.content(),
+                                              ctx));
+    }
+
+    private static Stream<Diagnostic> profileRule(RuleProfiler recorder,
+                                                  CstLintRule rule,
+                                                  CstNode cst,
+                                                  SourceFile source,
+                                                  LintContext ctx) {
+        // Rules return lazy streams, so the stream must be drained inside the timed region
+        var start = System.nanoTime();
+        var diagnostics = rule.analyze(cst,
+                                       source.content(),
+                                       ctx)
+                              .toList();
+        recorder.record(rule.ruleId(),
+                        source.path()
+                              .toString(),
+                        System.nanoTime() - start,
+                        diagnostics.size());
+        return diagnostics.stream();
     }
 
     private static List<CstLintRule> defaultRules() {
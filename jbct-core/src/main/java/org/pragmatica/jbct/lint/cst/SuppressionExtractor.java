@@ -49,34 +49,23 @@ public final class SuppressionExtractor {
 
     /**
      * Extract all suppressions from a CST.
+     *
+     * <p>Declaration scopes are resolved in a single depth-first traversal which tracks
+     * the innermost enclosing declaration, instead of searching the path to each annotation.
      */
     public static List<Suppression> extractSuppressions(CstNode root, String source) {
         var suppressions = new ArrayList<Suppression>();
-        // Find all annotations
-        var annotations = findAll(root, RuleId.Annotation.class);
-        for (var annotation : annotations) {
-            // Check if this is @SuppressWarnings
-            var name = findFirst(annotation, RuleId.QualifiedName.class).map(qn -> text(qn, source).trim())
-                                .or("");
-            if (!"SuppressWarnings".equals(name) && !"java.lang.SuppressWarnings".equals(name)) {
-                continue;
-            }
-            // Extract suppressed rule IDs from annotation value
-            var ruleIds = extractRuleIds(annotation, source);
-            if (ruleIds.isEmpty()) {
-                continue;
-            }
-            // Find the scope (declaration that this annotation applies to)
-            findAnnotatedDeclaration(root, annotation)
-                .onPresent(scopeNode -> {
-                               var startLine = startLine(scopeNode);
-                               var endLine = endLine(scopeNode);
-                               suppressions.add(Suppression.suppression(ruleIds, startLine, endLine));
-                           });
-        }
+        collectSuppressions(root, Option.none(), source, suppressions);
         return suppressions;
     }
 
+    /**
+     * Extract all suppressions from a CST and compile them into an index for fast lookup.
+     */
+    public static SuppressionIndex extractIndex(CstNode root, String source) {
+        return SuppressionIndex.suppressionIndex(extractSuppressions(root, source));
+    }
+
     /**
      * Check if a rule is suppressed at a specific line.
      */
@@ -89,6 +78,38 @@ public final class SuppressionExtractor {
         return false;
     }
 
+    private static void collectSuppressions(CstNode node,
+                                            Option<CstNode> scope,
+                                            String source,
+                                            List<Suppression> suppressions) {
+        if (isRule(node, RuleId.Annotation.class)) {
+            // The scope is the declaration that this annotation applies to
+            scope.flatMap(scopeNode -> suppressionFor(node, scopeNode, source))
+                 .onPresent(suppressions::add);
+        }
+        var childScope = isDeclaration(node)
+                         ? Option.some(node)
+                         : scope;
+        for (var child : children(node)) {
+            collectSuppressions(child, childScope, source, suppressions);
+        }
+    }
+
+    private static Option<Suppression> suppressionFor(CstNode annotation, CstNode scopeNode, String source) {
+        // Check if this is @SuppressWarnings
+        var name = findFirst(annotation, RuleId.QualifiedName.class).map(qn -> text(qn, source).trim())
+                            .or("");
+        if (!"SuppressWarnings".equals(name) && !"java.lang.SuppressWarnings".equals(name)) {
+            return Option.none();
+        }
+        // Extract suppressed rule IDs from annotation value
+        var ruleIds = extractRuleIds(annotation, source);
+        if (ruleIds.isEmpty()) {
+            return Option.none();
+        }
+        return Option.some(Suppression.suppression(ruleIds, startLine(scopeNode), endLine(scopeNode)));
+    }
+
     private static Set<String> extractRuleIds(CstNode annotation, String source) {
         var ruleIds = new HashSet<String>();
         // Get annotation value (could be single string or array)
@@ -106,39 +127,22 @@ public final class SuppressionExtractor {
         return ruleIds;
     }
 
-    private static Option<CstNode> findAnnotatedDeclaration(CstNode root, CstNode annotation) {
-        // Walk up the tree from the annotation to find what it annotates
-        // Annotations can appear on: TypeDecl, ClassMember, Param, LocalVar, etc.
-        return findAncestorPath(root, annotation).flatMap(SuppressionExtractor::findDeclarationInPath);
-    }
-
-    private static Option<CstNode> findDeclarationInPath(List<CstNode> path) {
-        // Walk up the path looking for a declaration
-        for (int i = path.size() - 1; i >= 0; i--) {
-            var node = path.get(i);
-            var rule = node.rule();
-            // Type declarations
-            if (rule instanceof RuleId.TypeDecl ||
-            rule instanceof RuleId.ClassDecl ||
-            rule instanceof RuleId.InterfaceDecl ||
-            rule instanceof RuleId.EnumDecl ||
-            rule instanceof RuleId.RecordDecl) {
-                return Option.some(node);
-            }
-            // Class members
-            if (rule instanceof RuleId.ClassMember ||
-            rule instanceof RuleId.MethodDecl ||
-            rule instanceof RuleId.FieldDecl ||
-            rule instanceof RuleId.ConstructorDecl) {
-                return Option.some(node);
-            }
-            // Local declarations
-            if (rule instanceof RuleId.LocalVar ||
-            rule instanceof RuleId.Param) {
-                return Option.some(node);
-            }
-        }
-        return Option.none();
+    private static boolean isDeclaration(CstNode node) {
+        var rule = node.rule();
+        // Type declarations
+        return rule instanceof RuleId.TypeDecl ||
+        rule instanceof RuleId.ClassDecl ||
+        rule instanceof RuleId.InterfaceDecl ||
+        rule instanceof RuleId.EnumDecl ||
+        rule instanceof RuleId.RecordDecl ||
+        // Class members
+        rule instanceof RuleId.ClassMember ||
+        rule instanceof RuleId.MethodDecl ||
+        rule instanceof RuleId.FieldDecl ||
+        rule instanceof RuleId.ConstructorDecl ||
+        // Local declarations
+        rule instanceof RuleId.LocalVar ||
+        rule instanceof RuleId.Param;
     }
 
     private static int endLine(CstNode node) {
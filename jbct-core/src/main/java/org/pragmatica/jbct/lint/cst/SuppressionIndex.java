@@ -0,0 +1,131 @@
+package org.pragmatica.jbct.lint.cst;
+
+import org.pragmatica.jbct.lint.cst.SuppressionExtractor.Suppression;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiled, immutable lookup structure for {@link Suppression}s of a single file.
+ *
+ * <p>Suppressed line ranges are grouped per rule ID (plus a separate bucket for {@code "all"}),
+ * merged into disjoint sorted intervals and queried with binary search, so each
+ * {@link #isSuppressed(String, int)} call is O(log n) regardless of the number of annotations.
+ *
+ * <p><b>Thread Safety:</b> Instances are immutable and safe to share across threads.
+ */
+public final class SuppressionIndex {
+    private static final String ALL = "all";
+    private static final LineRanges NO_RANGES = new LineRanges(new int[0], new int[0]);
+    private static final SuppressionIndex EMPTY = new SuppressionIndex(NO_RANGES, Map.of());
+
+    private final LineRanges all;
+    private final Map<String, LineRanges> byRule;
+
+    private SuppressionIndex(LineRanges all, Map<String, LineRanges> byRule) {
+        this.all = all;
+        this.byRule = byRule;
+    }
+
+    /**
+     * Build an index from extracted suppressions.
+     */
+    public static SuppressionIndex suppressionIndex(List<Suppression> suppressions) {
+        if (suppressions.isEmpty()) {
+            return EMPTY;
+        }
+        var allRanges = new ArrayList<Suppression>();
+        var ruleRanges = new HashMap<String, List<Suppression>>();
+        for (var suppression : suppressions) {
+            if (suppression.suppressesAll()) {
+                allRanges.add(suppression);
+                continue;
+            }
+            for (var ruleId : suppression.ruleIds()) {
+                ruleRanges.computeIfAbsent(ruleId, _ -> new ArrayList<>())
+                          .add(suppression);
+            }
+        }
+        var compiled = new HashMap<String, LineRanges>();
+        ruleRanges.forEach((ruleId, ranges) -> compiled.put(ruleId, LineRanges.lineRanges(ranges)));
+        return new SuppressionIndex(LineRanges.lineRanges(allRanges), Map.copyOf(compiled));
+    }
+
+    /**
+     * Index without any suppressions.
+     */
+    public static SuppressionIndex empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Check if a rule is suppressed at a specific line.
+     */
+    public boolean isSuppressed(String ruleId, int line) {
+        if (all.covers(line)) {
+            return true;
+        }
+        var ranges = byRule.get(ruleId);
+        return ranges != null && ranges.covers(line);
+    }
+
+    /**
+     * Check if the index contains no suppressions at all.
+     */
+    public boolean isEmpty() {
+        return all.isEmpty() && byRule.isEmpty();
+    }
+
+    /**
+     * Disjoint, sorted, inclusive line intervals.
+     */
+    private record LineRanges(int[] starts, int[] ends) {
+        static LineRanges lineRanges(List<Suppression> suppressions) {
+            if (suppressions.isEmpty()) {
+                return NO_RANGES;
+            }
+            var sorted = suppressions.stream()
+                                     .sorted(Comparator.comparingInt(Suppression::startLine))
+                                     .toList();
+            var starts = new int[sorted.size()];
+            var ends = new int[sorted.size()];
+            var count = 0;
+            for (var suppression : sorted) {
+                // Merge overlapping or adjacent ranges into the previous one
+                if (count > 0 && suppression.startLine() <= ends[count - 1] + 1) {
+                    ends[count - 1] = Math.max(ends[count - 1], suppression.endLine());
+                    continue;
+                }
+                starts[count] = suppression.startLine();
+                ends[count] = suppression.endLine();
+                count++;
+            }
+            return new LineRanges(Arrays.copyOf(starts, count), Arrays.copyOf(ends, count));
+        }
+
+        boolean isEmpty() {
+            return starts.length == 0;
+        }
+
+        boolean covers(int line) {
+            // Find the last range starting at or before the line
+            int low = 0;
+            int high = starts.length - 1;
+            int candidate = - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (starts[mid] <= line) {
+                    candidate = mid;
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return candidate >= 0 && ends[candidate] >= line;
+        }
+    }
+}
@@ -5,7 +5,11 @@ import org.pragmatica.jbct.lint.LintContext;
 import org.pragmatica.jbct.lint.cst.CstLintRule;
 import org.pragmatica.jbct.parser.Java25Parser.CstNode;
 import org.pragmatica.jbct.parser.Java25Parser.RuleId;
+import org.pragmatica.jbct.parser.MethodCall;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.pragmatica.jbct.parser.CstNodes.*;
@@ -31,30 +35,35 @@ public class CstChainLengthRule implements CstLintRule {
         if (!ctx.isBusinessPackage(packageName)) {
             return Stream.empty();
         }
-        // Find statements with long method chains
-        return findAll(root, RuleId.Stmt.class).stream()
-                      .filter(stmt -> countChainedCalls(stmt, source) > MAX_CHAIN_LENGTH)
-                      .map(stmt -> createDiagnostic(stmt, source, ctx));
+        // Measure every call chain once, attributing it to the innermost enclosing statement
+        var statements = new ArrayList<CstNode>();
+        var longest = new ArrayList<Integer>();
+        measureChains(root, - 1, statements, longest);
+        return IntStream.range(0, statements.size())
+                        .filter(index -> longest.get(index) > MAX_CHAIN_LENGTH)
+                        .mapToObj(index -> createDiagnostic(statements.get(index), longest.get(index), ctx));
     }
 
-    private int countChainedCalls(CstNode stmt, String source) {
-        var stmtText = text(stmt, source);
-        // Count occurrences of .methodName( pattern
-        int count = 0;
-        int idx = 0;
-        while ((idx = stmtText.indexOf(".", idx)) != - 1) {
-            // Check if followed by method call pattern
-            int nextParen = stmtText.indexOf("(", idx);
-            if (nextParen > idx && nextParen - idx < 50) {
-                count++;
+    private void measureChains(CstNode node, int statement, List<CstNode> statements, List<Integer> longest) {
+        var current = statement;
+        if (isRule(node, RuleId.Stmt.class)) {
+            statements.add(node);
+            longest.add(0);
+            current = statements.size() - 1;
+        } else if (current >= 0 && isRule(node, RuleId.Postfix.class)) {
+            // A Postfix node is the root of exactly one chain: primary followed by post-ops
+            var length = MethodCall.methodCalls(node)
+                                   .size();
+            if (length > longest.get(current)) {
+                longest.set(current, length);
             }
-            idx++;
         }
-        return count;
+        for (var child : children(node)) {
+            measureChains(child, current, statements, longest);
+        }
     }
 
-    private Diagnostic createDiagnostic(CstNode stmt, String source, LintContext ctx) {
-        var chainLength = countChainedCalls(stmt, source);
+    private Diagnostic createDiagnostic(CstNode stmt, int chainLength, LintContext ctx) {
         return Diagnostic.diagnostic(RULE_ID,
                                      ctx.severityFor(RULE_ID),
                                      ctx.fileName(),
@@ -5,7 +5,10 @@ import org.pragmatica.jbct.lint.LintContext;
 import org.pragmatica.jbct.lint.cst.CstLintRule;
 import org.pragmatica.jbct.parser.Java25Parser.CstNode;
 import org.pragmatica.jbct.parser.Java25Parser.RuleId;
+import org.pragmatica.jbct.parser.LiteralScanner;
+import org.pragmatica.jbct.parser.LiteralScanner.Hits;
 
+import java.util.List;
 import java.util.stream.Stream;
 
 import static org.pragmatica.jbct.parser.CstNodes.*;
@@ -16,6 +19,13 @@ import static org.pragmatica.jbct.parser.CstNodes.*;
 public class CstConditionalLoggingRule implements CstLintRule {
     private static final String RULE_ID = "JBCT-LOG-01";
 
+    // Log level checks followed by logging calls at the same levels
+    private static final List<String> LEVEL_CHECKS = List.of("isDebugEnabled", "isTraceEnabled", "isInfoEnabled");
+    private static final List<String> LOG_CALLS = List.of(".debug(", ".trace(", ".info(");
+    private static final LiteralScanner SCANNER = LiteralScanner.literalScanner(Stream.concat(LEVEL_CHECKS.stream(),
+                                                                                              LOG_CALLS.stream())
+                                                                                      .toList());
+
     @Override
     public String ruleId() {
         return RULE_ID;
@@ -30,24 +40,26 @@ public class CstConditionalLoggingRule implements CstLintRule {
         if (!ctx.isBusinessPackage(packageName)) {
             return Stream.empty();
         }
+        var hits = SCANNER.scan(source);
+        if (hits.isEmpty()) {
+            return Stream.empty();
+        }
         // Find if statements wrapping log calls
         return findAll(root, RuleId.Stmt.class).stream()
-                      .filter(stmt -> isConditionalLogging(stmt, source))
+                      .filter(stmt -> isConditionalLogging(stmt, hits))
                       .map(stmt -> createDiagnostic(stmt, ctx));
     }
 
-    private boolean isConditionalLogging(CstNode stmt, String source) {
-        var stmtText = text(stmt, source);
-        if (!stmtText.startsWith("if ") && !stmtText.startsWith("if(")) {
+    private boolean isConditionalLogging(CstNode stmt, Hits hits) {
+        if (!child(stmt, 0).filter(first -> isRule(first, RuleId.IfKW.class))
+                           .isPresent()) {
             return false;
         }
         // Check for log level checks and logging calls
-        return ( stmtText.contains("isDebugEnabled") ||
-        stmtText.contains("isTraceEnabled") ||
-        stmtText.contains("isInfoEnabled")) &&
-        (stmtText.contains(".debug(") ||
-        stmtText.contains(".trace(") ||
-        stmtText.contains(".info("));
+        var inside = hits.within(stmt);
+        return inside.stream()
+                     .anyMatch(hit -> hit.literal() < LEVEL_CHECKS.size()) && inside.stream()
+                                                                                     .anyMatch(hit -> hit.literal() >= LEVEL_CHECKS.size());
     }
 
     private Diagnostic createDiagnostic(CstNode stmt, LintContext ctx) {
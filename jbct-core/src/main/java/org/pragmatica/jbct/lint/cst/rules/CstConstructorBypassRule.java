@@ -7,7 +7,9 @@ import org.pragmatica.jbct.parser.Java25Parser.CstNode;
 import org.pragmatica.jbct.parser.Java25Parser.RuleId;
 
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
@@ -34,11 +36,17 @@ public class CstConstructorBypassRule implements CstLintRule {
         if (!ctx.isBusinessPackage(packageName)) {
             return Stream.empty();
         }
-        // Collect value object types (records with Result factories)
-        var valueObjectTypes = collectValueObjectTypes(root, source);
-        if (valueObjectTypes.isEmpty()) {
+        // Collect value object types (records with Result factories), declared here or elsewhere in the project
+        var localTypes = collectValueObjectTypes(root, source);
+        var index = ctx.projectIndex();
+        if (localTypes.isEmpty() && index.isEmpty()) {
             return Stream.empty();
         }
+        var imports = singleTypeImports(root, source);
+        Predicate<String> valueObjectTypes = typeName -> localTypes.contains(typeName)
+                                                         || index.resolve(typeName, packageName, imports)
+                                                                 .filter(index::isValueObject)
+                                                                 .isPresent();
         // Find direct constructor calls outside factory methods
         return findAll(root, RuleId.Primary.class).stream()
                       .filter(node -> isDirectConstruction(node, source, valueObjectTypes))
@@ -60,12 +68,20 @@ public class CstConstructorBypassRule implements CstLintRule {
         return types;
     }
 
-    private boolean isDirectConstruction(CstNode node, String source, Set<String> valueObjectTypes) {
+    private List<String> singleTypeImports(CstNode root, String source) {
+        return findAll(root, RuleId.ImportDecl.class).stream()
+                      .filter(imp -> !hasLiteral(imp, "static") && !hasLiteral(imp, "*"))
+                      .flatMap(imp -> childByRule(imp, RuleId.QualifiedName.class).stream())
+                      .map(name -> text(name, source).trim())
+                      .toList();
+    }
+
+    private boolean isDirectConstruction(CstNode node, String source, Predicate<String> valueObjectTypes) {
         var nodeText = text(node, source);
         var matcher = NEW_PATTERN.matcher(nodeText);
         if (matcher.find()) {
             var typeName = matcher.group(1);
-            return valueObjectTypes.contains(typeName);
+            return valueObjectTypes.test(typeName);
         }
         return false;
     }
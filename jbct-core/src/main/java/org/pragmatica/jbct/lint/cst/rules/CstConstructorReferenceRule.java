@@ -3,13 +3,17 @@ package org.pragmatica.jbct.lint.cst.rules;
 import org.pragmatica.jbct.lint.Diagnostic;
 import org.pragmatica.jbct.lint.LintContext;
 import org.pragmatica.jbct.lint.cst.CstLintRule;
+import org.pragmatica.jbct.parser.CstPattern;
 import org.pragmatica.jbct.parser.Java25Parser.CstNode;
 import org.pragmatica.jbct.parser.Java25Parser.RuleId;
 
-import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 import static org.pragmatica.jbct.parser.CstNodes.*;
+import static org.pragmatica.jbct.parser.CstPattern.literal;
+import static org.pragmatica.jbct.parser.CstPattern.rule;
+import static org.pragmatica.jbct.parser.CstPattern.sameTextAs;
+import static org.pragmatica.jbct.parser.CstPattern.simpleName;
 
 /**
  * JBCT-STY-02: Prefer constructor references (X::new).
@@ -17,8 +21,19 @@ import static org.pragmatica.jbct.parser.CstNodes.*;
 public class CstConstructorReferenceRule implements CstLintRule {
     private static final String RULE_ID = "JBCT-STY-02";
 
-    // Pattern to detect: v -> new Something(v) or (a,b) -> new Something(a,b)
-    private static final Pattern CONSTRUCTOR_LAMBDA = Pattern.compile("\\w+\\s*->\\s*new\\s+\\w+\\s*\\(\\s*\\w+\\s*\\)");
+    private static final String PARAM = "param";
+
+    // v -> new Something(v)
+    private static final CstPattern CONSTRUCTOR_LAMBDA = rule(RuleId.Lambda.class,
+                                                              rule(RuleId.LambdaParams.class,
+                                                                   rule(RuleId.Identifier.class).as(PARAM)),
+                                                              literal("->"),
+                                                              rule(RuleId.Primary.class,
+                                                                   literal("new"),
+                                                                   rule(RuleId.ArrayType.class).and(simpleName()),
+                                                                   literal("("),
+                                                                   rule(RuleId.Args.class).and(sameTextAs(PARAM)),
+                                                                   literal(")")).unwrapped());
 
     @Override
     public String ruleId() {
@@ -40,9 +55,7 @@ public class CstConstructorReferenceRule implements CstLintRule {
     }
 
     private boolean isConstructorLambda(CstNode lambda, String source) {
-        var lambdaText = text(lambda, source);
-        return CONSTRUCTOR_LAMBDA.matcher(lambdaText)
-                                 .find();
+        return CONSTRUCTOR_LAMBDA.matches(lambda, source);
     }
 
     private Diagnostic createDiagnostic(CstNode lambda, LintContext ctx) {
@@ -5,6 +5,7 @@ import org.pragmatica.jbct.lint.LintContext;
 import org.pragmatica.jbct.lint.cst.CstLintRule;
 import org.pragmatica.jbct.parser.Java25Parser.CstNode;
 import org.pragmatica.jbct.parser.Java25Parser.RuleId;
+import org.pragmatica.jbct.parser.LiteralScanner;
 
 import java.util.Set;
 import java.util.stream.Stream;
@@ -36,6 +37,13 @@ public class CstDomainIoRule implements CstLintRule {
                                                          "Connection",
                                                          "Statement");
 
+    // Package prefixes and ".Class;" import endings, matched in a single pass over the imports
+    private static final LiteralScanner SCANNER = LiteralScanner.literalScanner(Stream.concat(IO_PACKAGES.stream(),
+                                                                                              IO_CLASSES.stream()
+                                                                                                        .map(cls -> "." + cls
+                                                                                                                    + ";"))
+                                                                                      .toList());
+
     @Override
     public String ruleId() {
         return RULE_ID;
@@ -48,9 +56,23 @@ public class CstDomainIoRule implements CstLintRule {
         if (!isDomainPackage(packageName)) {
             return Stream.empty();
         }
-        // Check imports for I/O packages
-        return findAll(root, RuleId.ImportDecl.class).stream()
-                      .filter(imp -> isIoImport(imp, source))
+        var imports = findAll(root, RuleId.ImportDecl.class);
+        if (imports.isEmpty()) {
+            return Stream.empty();
+        }
+        // Check imports for I/O packages, scanning only the import section
+        var hits = SCANNER.scan(source,
+                                imports.getFirst()
+                                       .span()
+                                       .start()
+                                       .offset(),
+                                imports.getLast()
+                                       .span()
+                                       .end()
+                                       .offset());
+        return imports.stream()
+                      .filter(imp -> !hits.within(imp)
+                                          .isEmpty())
                       .map(imp -> createDiagnostic(imp, source, ctx));
     }
 
@@ -58,22 +80,6 @@ public class CstDomainIoRule implements CstLintRule {
         return packageName.contains(".domain.") || packageName.endsWith(".domain");
     }
 
-    private boolean isIoImport(CstNode imp, String source) {
-        var importText = text(imp, source);
-        for (var ioPkg : IO_PACKAGES) {
-            if (importText.contains(ioPkg)) {
-                return true;
-            }
-        }
-        for (var ioCls : IO_CLASSES) {
-            if (importText.contains("." + ioCls + ";") ||
-            importText.endsWith("." + ioCls)) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     private Diagnostic createDiagnostic(CstNode imp, String source, LintContext ctx) {
         var importText = text(imp, source).trim();
         return Diagnostic.diagnostic(RULE_ID,
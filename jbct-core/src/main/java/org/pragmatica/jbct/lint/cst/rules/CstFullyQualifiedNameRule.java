@@ -5,8 +5,10 @@ import org.pragmatica.jbct.lint.LintContext;
 import org.pragmatica.jbct.lint.cst.CstLintRule;
 import org.pragmatica.jbct.parser.Java25Parser.CstNode;
 import org.pragmatica.jbct.parser.Java25Parser.RuleId;
+import org.pragmatica.lang.Option;
 
-import java.util.regex.Pattern;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.stream.Stream;
 
 import static org.pragmatica.jbct.parser.CstNodes.*;
@@ -19,9 +21,6 @@ import static org.pragmatica.jbct.parser.CstNodes.*;
 public class CstFullyQualifiedNameRule implements CstLintRule {
     private static final String RULE_ID = "JBCT-STY-03";
 
-    // Pattern to detect FQCN like java.util.List or com.example.Foo
-    private static final Pattern FQCN_PATTERN = Pattern.compile("\\b([a-z][a-z0-9]*\\.)+[A-Z][a-zA-Z0-9]*\\b");
-
     @Override
     public String ruleId() {
         return RULE_ID;
@@ -42,14 +41,84 @@ public class CstFullyQualifiedNameRule implements CstLintRule {
     }
 
     private Stream<Diagnostic> findFqcnInMethod(CstNode method, String source, LintContext ctx) {
-        var methodText = text(method, source);
-        var matcher = FQCN_PATTERN.matcher(methodText);
-        return Stream.iterate(matcher.find(),
-                              found -> found,
-                              found -> matcher.find())
-                     .map(_ -> matcher.group())
-                     .map(fqcn -> createDiagnostic(method, fqcn, source, ctx))
-                     .limit(1);
+        // Names in expressions and annotations are QualifiedName, names in types are RefType.
+        // Methods of local and anonymous classes are checked on their own.
+        return findAllWithin(method,
+                             RuleId.MethodDecl.class,
+                             node -> isRule(node, RuleId.QualifiedName.class) || isRule(node, RuleId.RefType.class))
+        .stream()
+        .map(name -> qualifiedClassName(segments(name), source))
+        .flatMap(Option::stream)
+        .map(fqcn -> createDiagnostic(method, fqcn, source, ctx))
+        .limit(1);
+    }
+
+    private static List<CstNode> segments(CstNode name) {
+        if (isRule(name, RuleId.QualifiedName.class)) {
+            return childrenByRule(name, RuleId.Identifier.class);
+        }
+        var identifiers = new ArrayList<CstNode>();
+        for (var segment : childrenByRule(name, RuleId.AnnotatedTypeName.class)) {
+            childByRule(segment, RuleId.Identifier.class).onPresent(identifiers::add);
+        }
+        return identifiers;
+    }
+
+    /**
+     * Find a run of lowercase package segments followed by a capitalized class name
+     * (e.g. {@code java.util.List} in {@code java.util.List.of}).
+     */
+    private static Option<String> qualifiedClassName(List<CstNode> segments, String source) {
+        var packageStart = - 1;
+        for (int i = 0; i < segments.size(); i++) {
+            var segment = segments.get(i);
+            if (packageStart >= 0 && isClassSegment(segment, source)) {
+                var start = segments.get(packageStart)
+                                    .span()
+                                    .start()
+                                    .offset();
+                var end = segment.span()
+                                 .end()
+                                 .offset();
+                return Option.some(source.substring(start, end));
+            }
+            if (!isPackageSegment(segment, source)) {
+                packageStart = - 1;
+            } else if (packageStart < 0) {
+                packageStart = i;
+            }
+        }
+        return Option.none();
+    }
+
+    // [a-z][a-z0-9]*
+    private static boolean isPackageSegment(CstNode segment, String source) {
+        return matchesSegment(segment, source, 'a', 'z', false);
+    }
+
+    // [A-Z][a-zA-Z0-9]*
+    private static boolean isClassSegment(CstNode segment, String source) {
+        return matchesSegment(segment, source, 'A', 'Z', true);
+    }
+
+    private static boolean matchesSegment(CstNode segment, String source, char first, char last, boolean mixedCase) {
+        var start = segment.span()
+                           .start()
+                           .offset();
+        var end = segment.span()
+                         .end()
+                         .offset();
+        if (start >= end || source.charAt(start) < first || source.charAt(start) > last) {
+            return false;
+        }
+        for (int i = start + 1; i < end; i++) {
+            var c = source.charAt(i);
+            var allowed = (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || (mixedCase && c >= 'A' && c <= 'Z');
+            if (!allowed) {
+                return false;
+            }
+        }
+        return true;
     }
 
     private Diagnostic createDiagnostic(CstNode method, String fqcn, String source, LintContext ctx) {
@@ -3,14 +3,20 @@ package org.pragmatica.jbct.lint.cst.rules;
 import org.pragmatica.jbct.lint.Diagnostic;
 import org.pragmatica.jbct.lint.LintContext;
 import org.pragmatica.jbct.lint.cst.CstLintRule;
+import org.pragmatica.jbct.parser.CstPattern;
+import org.pragmatica.jbct.parser.CstPattern.Captures;
 import org.pragmatica.jbct.parser.Java25Parser.CstNode;
 import org.pragmatica.jbct.parser.Java25Parser.RuleId;
+import org.pragmatica.jbct.parser.MethodCall;
 import org.pragmatica.lang.Option;
 
-import java.util.regex.Pattern;
+import java.util.List;
 import java.util.stream.Stream;
 
 import static org.pragmatica.jbct.parser.CstNodes.*;
+import static org.pragmatica.jbct.parser.CstPattern.literal;
+import static org.pragmatica.jbct.parser.CstPattern.rule;
+import static org.pragmatica.jbct.parser.CstPattern.simpleName;
 
 /**
  * JBCT-STY-05: Prefer method references over equivalent lambdas.
@@ -24,17 +30,30 @@ import static org.pragmatica.jbct.parser.CstNodes.*;
 public class CstMethodReferencePreferenceRule implements CstLintRule {
     private static final String RULE_ID = "JBCT-STY-05";
 
-    // Pattern: x -> new Type(x) or (x) -> new Type(x)
-    private static final Pattern CONSTRUCTOR_LAMBDA = Pattern.compile("\\(?\\s*(\\w+)\\s*\\)?\\s*->\\s*new\\s+(\\w+)\\s*\\(\\s*\\1\\s*\\)");
+    private static final String PARAMS = "params";
+    private static final String BODY = "body";
+    private static final String TYPE = "type";
+    private static final String ARGS = "args";
+    private static final String CALL = "call";
 
-    // Pattern: x -> x.method() or (x) -> x.method()
-    private static final Pattern INSTANCE_METHOD_LAMBDA = Pattern.compile("\\(?\\s*(\\w+)\\s*\\)?\\s*->\\s*\\1\\s*\\.\\s*(\\w+)\\s*\\(\\s*\\)");
+    // x -> <expression>, (x) -> <expression>, (a, b) -> <expression>
+    private static final CstPattern EXPRESSION_LAMBDA = rule(RuleId.Lambda.class,
+                                                             rule(RuleId.LambdaParams.class).as(PARAMS),
+                                                             literal("->"),
+                                                             rule(RuleId.Expr.class).as(BODY));
 
-    // Pattern: x -> Type.method(x) or (x) -> Type.method(x)
-    private static final Pattern STATIC_METHOD_LAMBDA = Pattern.compile("\\(?\\s*(\\w+)\\s*\\)?\\s*->\\s*([A-Z]\\w*)\\s*\\.\\s*(\\w+)\\s*\\(\\s*\\1\\s*\\)");
+    // new Type(args)
+    private static final CstPattern CONSTRUCTOR_CALL = rule(RuleId.Primary.class,
+                                                            literal("new"),
+                                                            rule(RuleId.ArrayType.class).and(simpleName())
+                                                                                        .as(TYPE),
+                                                            literal("("),
+                                                            rule(RuleId.Args.class).as(ARGS),
+                                                            literal(")")).unwrapped();
 
-    // Pattern: (a, b) -> new Type(a, b)
-    private static final Pattern MULTI_ARG_CONSTRUCTOR = Pattern.compile("\\(\\s*(\\w+)\\s*,\\s*(\\w+)\\s*\\)\\s*->\\s*new\\s+(\\w+)\\s*\\(\\s*\\1\\s*,\\s*\\2\\s*\\)");
+    // receiver.method(args), Type.method(args)
+    private static final CstPattern CALL_EXPRESSION = rule(RuleId.Postfix.class).as(CALL)
+                                                                              .unwrapped();
 
     @Override
     public String ruleId() {
@@ -56,36 +75,93 @@ public class CstMethodReferencePreferenceRule implements CstLintRule {
     }
 
     private Option<Diagnostic> checkLambda(CstNode lambda, String source, LintContext ctx) {
-        var lambdaText = text(lambda, source).trim();
-        // Check for constructor lambda: x -> new Type(x)
-        var constructorMatch = CONSTRUCTOR_LAMBDA.matcher(lambdaText);
-        if (constructorMatch.matches()) {
-            var typeName = constructorMatch.group(2);
-            return Option.some(createDiagnostic(lambda, lambdaText, typeName + "::new", ctx));
+        return EXPRESSION_LAMBDA.match(lambda, source)
+                                .flatMap(captures -> suggestion(implicitLambdaParameters(captures.node(PARAMS)
+                                                                                                 .unwrap()),
+                                                                captures.node(BODY)
+                                                                        .unwrap(),
+                                                                source))
+                                .map(suggestion -> createDiagnostic(lambda,
+                                                                    text(lambda, source).trim(),
+                                                                    suggestion,
+                                                                    ctx));
+    }
+
+    private Option<String> suggestion(List<CstNode> params, CstNode body, String source) {
+        if (params.isEmpty()) {
+            return Option.none();
+        }
+        var constructor = CONSTRUCTOR_CALL.match(body, source);
+        if (constructor.isPresent()) {
+            return constructor.flatMap(captures -> constructorSuggestion(params, captures));
+        }
+        return CALL_EXPRESSION.match(body, source)
+                              .flatMap(captures -> captures.node(CALL))
+                              .flatMap(CstMethodReferencePreferenceRule::singleCall)
+                              .flatMap(call -> methodSuggestion(params, call, source));
+    }
+
+    // x -> new Type(x) or (a, b) -> new Type(a, b)
+    private Option<String> constructorSuggestion(List<CstNode> params, Captures captures) {
+        var args = captures.node(ARGS)
+                           .map(node -> childrenByRule(node, RuleId.Expr.class))
+                           .or(List.of());
+        if (params.size() > 2 || !sameNodes(params, args, captures.source())) {
+            return Option.none();
         }
-        // Check for multi-arg constructor: (a, b) -> new Type(a, b)
-        var multiArgMatch = MULTI_ARG_CONSTRUCTOR.matcher(lambdaText);
-        if (multiArgMatch.matches()) {
-            var typeName = multiArgMatch.group(3);
-            return Option.some(createDiagnostic(lambda, lambdaText, typeName + "::new", ctx));
+        return Option.some(captures.text(TYPE) + "::new");
+    }
+
+    // x -> x.method() or x -> Type.method(x)
+    private Option<String> methodSuggestion(List<CstNode> params, MethodCall call, String source) {
+        if (params.size() != 1 || call.receiver()
+                                      .isPresent() || call.qualifier()
+                                                          .size() != 1) {
+            return Option.none();
         }
-        // Check for instance method: x -> x.method()
-        var instanceMatch = INSTANCE_METHOD_LAMBDA.matcher(lambdaText);
-        if (instanceMatch.matches()) {
-            var methodName = instanceMatch.group(2);
+        var param = params.getFirst();
+        var qualifier = call.qualifier()
+                            .getFirst();
+        var methodName = text(call.name(), source).trim();
+        var arguments = call.arguments();
+        if (arguments.isEmpty() && sameText(qualifier, param, source)) {
             // For instance methods, we need the type, but we can suggest the pattern
-            return Option.some(createDiagnostic(lambda, lambdaText, "Type::" + methodName, ctx));
+            return Option.some("Type::" + methodName);
         }
-        // Check for static method: x -> Type.method(x)
-        var staticMatch = STATIC_METHOD_LAMBDA.matcher(lambdaText);
-        if (staticMatch.matches()) {
-            var typeName = staticMatch.group(2);
-            var methodName = staticMatch.group(3);
-            return Option.some(createDiagnostic(lambda, lambdaText, typeName + "::" + methodName, ctx));
+        if (arguments.size() == 1 && sameText(arguments.getFirst(), param, source) && isTypeName(qualifier,
+                                                                                                 source)) {
+            return Option.some(text(qualifier, source).trim() + "::" + methodName);
         }
         return Option.none();
     }
 
+    // Exactly one call and nothing else: Type.method(x) or x.method()
+    private static Option<MethodCall> singleCall(CstNode postfix) {
+        var calls = MethodCall.methodCalls(postfix);
+        return children(postfix).size() == 2 && calls.size() == 1
+               ? Option.some(calls.getFirst())
+               : Option.none();
+    }
+
+    private static boolean sameNodes(List<CstNode> first, List<CstNode> second, String source) {
+        if (first.size() != second.size()) {
+            return false;
+        }
+        for (int i = 0; i < first.size(); i++) {
+            if (!sameText(first.get(i), second.get(i), source)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isTypeName(CstNode identifier, String source) {
+        var start = identifier.span()
+                              .start()
+                              .offset();
+        return Character.isUpperCase(source.charAt(start));
+    }
+
     private Diagnostic createDiagnostic(CstNode lambda, String lambdaText, String suggestion, LintContext ctx) {
         return Diagnostic.diagnostic(RULE_ID,
                                      ctx.severityFor(RULE_ID),
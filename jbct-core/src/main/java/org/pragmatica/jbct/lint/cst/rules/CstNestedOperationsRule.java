@@ -5,9 +5,11 @@ import org.pragmatica.jbct.lint.LintContext;
 import org.pragmatica.jbct.lint.cst.CstLintRule;
 import org.pragmatica.jbct.parser.Java25Parser.CstNode;
 import org.pragmatica.jbct.parser.Java25Parser.RuleId;
+import org.pragmatica.jbct.parser.MethodCall;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
-import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 import static org.pragmatica.jbct.parser.CstNodes.*;
@@ -31,11 +33,11 @@ public class CstNestedOperationsRule implements CstLintRule {
                                                           "onSuccess",
                                                           "onFailure");
 
-    // Pattern to find lambda with nested operations
-    private static final Pattern LAMBDA_PATTERN = Pattern.compile("->\\s*\\{?[^}]*\\.(map|flatMap|fold|recover|filter|mapFailure)\\s*\\(");
+    // Operations which indicate nesting when chained directly on another call result
+    private static final Set<String> CHAINED_OPS = Set.of("map", "flatMap", "fold", "recover", "filter");
 
-    // Pattern to find nested chain inside lambda
-    private static final Pattern NESTED_CHAIN_PATTERN = Pattern.compile("\\)\\s*\\.(map|flatMap|fold|recover|filter)\\s*\\(");
+    // Saturated operation count: anything at or above this is nested
+    private static final int NESTED = 2;
 
     @Override
     public String ruleId() {
@@ -51,42 +53,46 @@ public class CstNestedOperationsRule implements CstLintRule {
         if (!ctx.isBusinessPackage(packageName)) {
             return Stream.empty();
         }
-        // Find lambdas with nested operations
-        return findAll(root, RuleId.Lambda.class).stream()
-                      .filter(lambda -> hasNestedOperations(lambda, source))
-                      .map(lambda -> createDiagnostic(lambda, source, ctx));
+        // Single post-order pass: each lambda reuses the operation count of its body
+        var nested = new ArrayList<CstNode>();
+        countOperations(root, source, nested);
+        return nested.stream()
+                     .map(lambda -> createDiagnostic(lambda, source, ctx));
     }
 
-    private boolean hasNestedOperations(CstNode lambda, String source) {
-        var lambdaText = text(lambda, source);
-        // Skip simple lambdas (single expression without chains)
-        if (!lambdaText.contains("->")) {
-            return false;
+    /**
+     * Count monadic operations in the subtree (saturated at {@link #NESTED}) and collect lambdas whose
+     * body is nested, in source order.
+     */
+    private int countOperations(CstNode node, String source, List<CstNode> nested) {
+        var isLambda = isRule(node, RuleId.Lambda.class);
+        var slot = nested.size();
+        if (isLambda) {
+            // Reserve the position before visiting inner lambdas to keep source order
+            nested.add(node);
         }
-        // Get the body part after ->
-        var arrowIndex = lambdaText.indexOf("->");
-        if (arrowIndex < 0) {
-            return false;
+        var count = ownOperations(node, source);
+        for (var child : children(node)) {
+            count = Math.min(NESTED, count + countOperations(child, source, nested));
         }
-        var body = lambdaText.substring(arrowIndex + 2);
-        // Check for nested monadic operations in the body
-        var matcher = NESTED_CHAIN_PATTERN.matcher(body);
-        if (matcher.find()) {
-            return true;
+        if (isLambda && count < NESTED) {
+            // Inner lambdas only append after the slot, so outer slots are unaffected
+            nested.remove(slot);
         }
-        // Count monadic operations - more than 1 indicates nesting
-        var opCount = 0;
-        for (var op : MONADIC_OPS) {
-            var opPattern = Pattern.compile("\\." + op + "\\s*\\(");
-            var opMatcher = opPattern.matcher(body);
-            while (opMatcher.find()) {
-                opCount++;
-                if (opCount > 1) {
-                    return true;
-                }
+        return count;
+    }
+
+    private int ownOperations(CstNode node, String source) {
+        var count = 0;
+        for (var call : MethodCall.methodCalls(node)) {
+            if (call.chained() && textIn(call.name(), source, CHAINED_OPS)) {
+                return NESTED;
+            }
+            if (call.qualified() && textIn(call.name(), source, MONADIC_OPS)) {
+                count++;
             }
         }
-        return false;
+        return Math.min(NESTED, count);
     }
 
     private Diagnostic createDiagnostic(CstNode lambda, String source, LintContext ctx) {
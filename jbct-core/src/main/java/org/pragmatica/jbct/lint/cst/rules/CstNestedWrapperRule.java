@@ -3,15 +3,18 @@ package org.pragmatica.jbct.lint.cst.rules;
 import org.pragmatica.jbct.lint.Diagnostic;
 import org.pragmatica.jbct.lint.LintContext;
 import org.pragmatica.jbct.lint.cst.CstLintRule;
+import org.pragmatica.jbct.parser.CstPattern;
 import org.pragmatica.jbct.parser.Java25Parser.CstNode;
 import org.pragmatica.jbct.parser.Java25Parser.RuleId;
 import org.pragmatica.lang.Option;
 
 import java.util.Set;
-import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 import static org.pragmatica.jbct.parser.CstNodes.*;
+import static org.pragmatica.jbct.parser.CstPattern.child;
+import static org.pragmatica.jbct.parser.CstPattern.rule;
+import static org.pragmatica.jbct.parser.CstPattern.textIn;
 
 /**
  * JBCT-RET-02: No nested wrappers.
@@ -24,8 +27,14 @@ public class CstNestedWrapperRule implements CstLintRule {
 
     private static final Set<String> WRAPPER_TYPES = Set.of("Option", "Result", "Promise");
 
-    // Pattern to detect nested wrappers like Promise<Result<...>>
-    private static final Pattern NESTED_PATTERN = Pattern.compile("(Promise|Result|Option)<\\s*(Promise|Result|Option)<");
+    private static final String OUTER = "outer";
+    private static final String INNER = "inner";
+
+    // Outer<Inner<...>> - wrapper type whose type argument is itself a wrapper type
+    private static final CstPattern NESTED_WRAPPER = wrapper(OUTER).and(child(rule(RuleId.TypeArgs.class).and(child(rule(RuleId.TypeArg.class,
+                                                                                                                       rule(RuleId.Type.class,
+                                                                                                                            rule(RuleId.RefType.class,
+                                                                                                                                 wrapper(INNER))))))));
 
     @Override
     public String ruleId() {
@@ -51,8 +60,7 @@ public class CstNestedWrapperRule implements CstLintRule {
     }
 
     private Option<Diagnostic> checkTypeForNesting(CstNode method, CstNode type, String source, LintContext ctx) {
-        var typeText = text(type, source).trim();
-        return detectNestedWrapper(typeText)
+        return detectNestedWrapper(type, source)
         .map(nestedPattern -> {
                  var methodName = childByRule(method, RuleId.Identifier.class).map(id -> text(id, source))
                                              .or("(unknown)");
@@ -60,13 +68,19 @@ public class CstNestedWrapperRule implements CstLintRule {
              });
     }
 
-    private Option<String> detectNestedWrapper(String typeText) {
-        var matcher = NESTED_PATTERN.matcher(typeText);
-        if (!matcher.find()) {
-            return Option.none();
+    private Option<String> detectNestedWrapper(CstNode type, String source) {
+        for (var typeName : findAll(type, RuleId.AnnotatedTypeName.class)) {
+            var nested = NESTED_WRAPPER.match(typeName, source)
+                                       .flatMap(captures -> forbiddenNesting(captures.text(OUTER),
+                                                                             captures.text(INNER)));
+            if (nested.isPresent()) {
+                return nested;
+            }
         }
-        var outer = matcher.group(1);
-        var inner = matcher.group(2);
+        return Option.none();
+    }
+
+    private static Option<String> forbiddenNesting(String outer, String inner) {
         // Forbidden patterns
         if ("Promise".equals(outer) && "Result".equals(inner)) {
             return Option.some("Promise<Result<T>>");
@@ -85,6 +99,13 @@ public class CstNestedWrapperRule implements CstLintRule {
         return Option.none();
     }
 
+    // Wrapper<...> - type name segment with type arguments, name captured under the given key
+    private static CstPattern wrapper(String name) {
+        return rule(RuleId.AnnotatedTypeName.class).and(child(rule(RuleId.Identifier.class).and(textIn(WRAPPER_TYPES))
+                                                                                         .as(name)))
+                                                   .and(child(rule(RuleId.TypeArgs.class)));
+    }
+
     private Diagnostic createDiagnostic(CstNode method, String methodName, String pattern, LintContext ctx) {
         var suggestion = getSuggestion(pattern);
         return Diagnostic.diagnostic(RULE_ID,
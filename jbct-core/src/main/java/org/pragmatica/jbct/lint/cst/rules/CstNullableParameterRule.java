@@ -3,15 +3,18 @@ package org.pragmatica.jbct.lint.cst.rules;
 import org.pragmatica.jbct.lint.Diagnostic;
 import org.pragmatica.jbct.lint.LintContext;
 import org.pragmatica.jbct.lint.cst.CstLintRule;
+import org.pragmatica.jbct.parser.CstPattern;
 import org.pragmatica.jbct.parser.Java25Parser.CstNode;
 import org.pragmatica.jbct.parser.Java25Parser.RuleId;
+import org.pragmatica.lang.Option;
 
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Set;
-import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 import static org.pragmatica.jbct.parser.CstNodes.*;
+import static org.pragmatica.jbct.parser.CstPattern.rule;
 
 /**
  * JBCT-RET-06: No nullable parameters - use Option instead.
@@ -30,8 +33,11 @@ import static org.pragmatica.jbct.parser.CstNodes.*;
 public class CstNullableParameterRule implements CstLintRule {
     private static final String RULE_ID = "JBCT-RET-06";
 
-    // Pattern to find null checks: "paramName == null" or "null == paramName" or "paramName != null"
-    private static final Pattern NULL_CHECK_PATTERN = Pattern.compile("\\b(\\w+)\\s*[!=]=\\s*null\\b|\\bnull\\s*[!=]=\\s*(\\w+)\\b");
+    // Operand forms of a null check: "null" and a plain variable name
+    private static final CstPattern NULL = rule(RuleId.Literal.class).and(CstPattern.text("null"))
+                                                                               .unwrapped();
+    private static final CstPattern NAME = rule(RuleId.QualifiedName.class,
+                                                rule(RuleId.Identifier.class)).unwrapped();
 
     @Override
     public String ruleId() {
@@ -62,9 +68,8 @@ public class CstNullableParameterRule implements CstLintRule {
         if (bodyOpt.isEmpty()) {
             return Stream.empty();
         }
-        var bodyText = text(bodyOpt.unwrap(), source);
         // Find parameters checked for null
-        var nullCheckedParams = findNullCheckedParams(bodyText, paramNames);
+        var nullCheckedParams = findNullCheckedParams(bodyOpt.unwrap(), source, paramNames);
         if (nullCheckedParams.isEmpty()) {
             return Stream.empty();
         }
@@ -78,28 +83,37 @@ public class CstNullableParameterRule implements CstLintRule {
         var names = new HashSet<String>();
         var params = findAll(method, RuleId.Param.class);
         for (var param : params) {
-            // Get the identifier (parameter name) from the param
-            findFirst(param, RuleId.Identifier.class).map(id -> text(id, source).trim())
-                     .onPresent(names::add);
+            // The parameter name is a direct child; identifiers inside the type belong to the type
+            childByRule(param, RuleId.Identifier.class).map(id -> text(id, source).trim())
+                       .onPresent(names::add);
         }
         return names;
     }
 
-    private Set<String> findNullCheckedParams(String bodyText, Set<String> paramNames) {
-        var nullChecked = new HashSet<String>();
-        var matcher = NULL_CHECK_PATTERN.matcher(bodyText);
-        while (matcher.find()) {
-            // Group 1 is "param == null", Group 2 is "null == param"
-            var name = matcher.group(1) != null
-                       ? matcher.group(1)
-                       : matcher.group(2);
-            if (name != null && paramNames.contains(name)) {
-                nullChecked.add(name);
+    private Set<String> findNullCheckedParams(CstNode body, String source, Set<String> paramNames) {
+        var nullChecked = new LinkedHashSet<String>();
+        // Equality <- Relational (('==' / '!=') Relational)*
+        for (var equality : findAllWithin(body, RuleId.MethodDecl.class, node -> isRule(node, RuleId.Equality.class))) {
+            var operands = children(equality);
+            for (int i = 1; i + 1 < operands.size(); i += 2) {
+                nullCheckedName(operands.get(i - 1), operands.get(i + 1), source)
+                .filter(paramNames::contains)
+                .onPresent(nullChecked::add);
             }
         }
         return nullChecked;
     }
 
+    private Option<String> nullCheckedName(CstNode left, CstNode right, String source) {
+        if (NULL.matches(right, source) && NAME.matches(left, source)) {
+            return Option.some(text(left, source).trim());
+        }
+        if (NULL.matches(left, source) && NAME.matches(right, source)) {
+            return Option.some(text(right, source).trim());
+        }
+        return Option.none();
+    }
+
     private Diagnostic createDiagnostic(CstNode method, String paramName, String source, LintContext ctx) {
         var methodName = childByRule(method, RuleId.Identifier.class).map(id -> text(id, source))
                                     .or("(unknown)");
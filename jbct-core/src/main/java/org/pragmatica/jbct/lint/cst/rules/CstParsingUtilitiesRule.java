@@ -5,12 +5,16 @@ import org.pragmatica.jbct.lint.LintContext;
 import org.pragmatica.jbct.lint.cst.CstLintRule;
 import org.pragmatica.jbct.parser.Java25Parser.CstNode;
 import org.pragmatica.jbct.parser.Java25Parser.RuleId;
-import org.pragmatica.lang.Option;
+import org.pragmatica.jbct.parser.LiteralScanner;
+import org.pragmatica.jbct.parser.LiteralScanner.Hit;
+import org.pragmatica.jbct.parser.LiteralScanner.Hits;
 
-import java.util.HashMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
 import java.util.List;
-import java.util.Map;
-import java.util.regex.Pattern;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.pragmatica.jbct.parser.CstNodes.*;
@@ -27,62 +31,51 @@ public class CstParsingUtilitiesRule implements CstLintRule {
 
     // Map of JDK parsing patterns to Pragmatica alternatives
     private static final List<ParsingPattern> PATTERNS = List.of(// Number parsing
-    new ParsingPattern("Integer\\.parseInt", "Number.parseInt", "org.pragmatica.lang.utils.Number"),
-    new ParsingPattern("Integer\\.parseUnsignedInt", "Number.parseInt", "org.pragmatica.lang.utils.Number"),
-    new ParsingPattern("Long\\.parseLong", "Number.parseLong", "org.pragmatica.lang.utils.Number"),
-    new ParsingPattern("Long\\.parseUnsignedLong", "Number.parseLong", "org.pragmatica.lang.utils.Number"),
-    new ParsingPattern("Short\\.parseShort", "Number.parseShort", "org.pragmatica.lang.utils.Number"),
-    new ParsingPattern("Byte\\.parseByte", "Number.parseByte", "org.pragmatica.lang.utils.Number"),
-    new ParsingPattern("Float\\.parseFloat", "Number.parseFloat", "org.pragmatica.lang.utils.Number"),
-    new ParsingPattern("Double\\.parseDouble", "Number.parseDouble", "org.pragmatica.lang.utils.Number"),
-    new ParsingPattern("new BigInteger\\s*\\(", "Number.parseBigInteger", "org.pragmatica.lang.utils.Number"),
-    new ParsingPattern("new BigDecimal\\s*\\(", "Number.parseBigDecimal", "org.pragmatica.lang.utils.Number"),
+    new ParsingPattern("Integer.parseInt", "Number.parseInt", "org.pragmatica.lang.utils.Number"),
+    new ParsingPattern("Integer.parseUnsignedInt", "Number.parseInt", "org.pragmatica.lang.utils.Number"),
+    new ParsingPattern("Long.parseLong", "Number.parseLong", "org.pragmatica.lang.utils.Number"),
+    new ParsingPattern("Long.parseUnsignedLong", "Number.parseLong", "org.pragmatica.lang.utils.Number"),
+    new ParsingPattern("Short.parseShort", "Number.parseShort", "org.pragmatica.lang.utils.Number"),
+    new ParsingPattern("Byte.parseByte", "Number.parseByte", "org.pragmatica.lang.utils.Number"),
+    new ParsingPattern("Float.parseFloat", "Number.parseFloat", "org.pragmatica.lang.utils.Number"),
+    new ParsingPattern("Double.parseDouble", "Number.parseDouble", "org.pragmatica.lang.utils.Number"),
+    new ParsingPattern("new BigInteger(", "Number.parseBigInteger", "org.pragmatica.lang.utils.Number"),
+    new ParsingPattern("new BigDecimal(", "Number.parseBigDecimal", "org.pragmatica.lang.utils.Number"),
     // Text/Pattern parsing
-    new ParsingPattern("Enum\\.valueOf", "Text.parseEnum", "org.pragmatica.lang.utils.Text"),
-    new ParsingPattern("Pattern\\.compile", "Text.compilePattern", "org.pragmatica.lang.utils.Text"),
-    new ParsingPattern("Base64\\.getDecoder\\(\\)\\.decode", "Text.decodeBase64", "org.pragmatica.lang.utils.Text"),
-    new ParsingPattern("Base64\\.getUrlDecoder\\(\\)\\.decode", "Text.decodeBase64URL", "org.pragmatica.lang.utils.Text"),
-    new ParsingPattern("Base64\\.getMimeDecoder\\(\\)\\.decode",
+    new ParsingPattern("Enum.valueOf", "Text.parseEnum", "org.pragmatica.lang.utils.Text"),
+    new ParsingPattern("Pattern.compile", "Text.compilePattern", "org.pragmatica.lang.utils.Text"),
+    new ParsingPattern("Base64.getDecoder().decode", "Text.decodeBase64", "org.pragmatica.lang.utils.Text"),
+    new ParsingPattern("Base64.getUrlDecoder().decode", "Text.decodeBase64URL", "org.pragmatica.lang.utils.Text"),
+    new ParsingPattern("Base64.getMimeDecoder().decode",
                        "Text.decodeBase64MIME",
                        "org.pragmatica.lang.utils.Text"),
     // DateTime parsing
-    new ParsingPattern("LocalDate\\.parse", "DateTime.parseLocalDate", "org.pragmatica.lang.utils.DateTime"),
-    new ParsingPattern("LocalTime\\.parse", "DateTime.parseLocalTime", "org.pragmatica.lang.utils.DateTime"),
-    new ParsingPattern("LocalDateTime\\.parse", "DateTime.parseLocalDateTime", "org.pragmatica.lang.utils.DateTime"),
-    new ParsingPattern("ZonedDateTime\\.parse", "DateTime.parseZonedDateTime", "org.pragmatica.lang.utils.DateTime"),
-    new ParsingPattern("OffsetDateTime\\.parse", "DateTime.parseOffsetDateTime", "org.pragmatica.lang.utils.DateTime"),
-    new ParsingPattern("OffsetTime\\.parse", "DateTime.parseOffsetTime", "org.pragmatica.lang.utils.DateTime"),
-    new ParsingPattern("Instant\\.parse", "DateTime.parseInstant", "org.pragmatica.lang.utils.DateTime"),
-    new ParsingPattern("Duration\\.parse", "DateTime.parseDuration", "org.pragmatica.lang.utils.DateTime"),
-    new ParsingPattern("Period\\.parse", "DateTime.parsePeriod", "org.pragmatica.lang.utils.DateTime"),
+    new ParsingPattern("LocalDate.parse", "DateTime.parseLocalDate", "org.pragmatica.lang.utils.DateTime"),
+    new ParsingPattern("LocalTime.parse", "DateTime.parseLocalTime", "org.pragmatica.lang.utils.DateTime"),
+    new ParsingPattern("LocalDateTime.parse", "DateTime.parseLocalDateTime", "org.pragmatica.lang.utils.DateTime"),
+    new ParsingPattern("ZonedDateTime.parse", "DateTime.parseZonedDateTime", "org.pragmatica.lang.utils.DateTime"),
+    new ParsingPattern("OffsetDateTime.parse", "DateTime.parseOffsetDateTime", "org.pragmatica.lang.utils.DateTime"),
+    new ParsingPattern("OffsetTime.parse", "DateTime.parseOffsetTime", "org.pragmatica.lang.utils.DateTime"),
+    new ParsingPattern("Instant.parse", "DateTime.parseInstant", "org.pragmatica.lang.utils.DateTime"),
+    new ParsingPattern("Duration.parse", "DateTime.parseDuration", "org.pragmatica.lang.utils.DateTime"),
+    new ParsingPattern("Period.parse", "DateTime.parsePeriod", "org.pragmatica.lang.utils.DateTime"),
     // Network/Identifier parsing
-    new ParsingPattern("new URL\\s*\\(", "Network.parseURL", "org.pragmatica.lang.utils.Network"),
-    new ParsingPattern("URI\\.create", "Network.parseURI", "org.pragmatica.lang.utils.Network"),
-    new ParsingPattern("new URI\\s*\\(", "Network.parseURI", "org.pragmatica.lang.utils.Network"),
-    new ParsingPattern("UUID\\.fromString", "Network.parseUUID", "org.pragmatica.lang.utils.Network"),
-    new ParsingPattern("InetAddress\\.getByName", "Network.parseInetAddress", "org.pragmatica.lang.utils.Network"),
+    new ParsingPattern("new URL(", "Network.parseURL", "org.pragmatica.lang.utils.Network"),
+    new ParsingPattern("URI.create", "Network.parseURI", "org.pragmatica.lang.utils.Network"),
+    new ParsingPattern("new URI(", "Network.parseURI", "org.pragmatica.lang.utils.Network"),
+    new ParsingPattern("UUID.fromString", "Network.parseUUID", "org.pragmatica.lang.utils.Network"),
+    new ParsingPattern("InetAddress.getByName", "Network.parseInetAddress", "org.pragmatica.lang.utils.Network"),
     // I18n parsing
-    new ParsingPattern("Currency\\.getInstance", "I18n.parseCurrency", "org.pragmatica.lang.utils.I18n"),
-    new ParsingPattern("Locale\\.forLanguageTag", "I18n.parseLocale", "org.pragmatica.lang.utils.I18n"),
-    new ParsingPattern("Charset\\.forName", "I18n.parseCharset", "org.pragmatica.lang.utils.I18n"),
-    new ParsingPattern("ZoneId\\.of\\s*\\(", "I18n.parseZoneId", "org.pragmatica.lang.utils.I18n"),
-    new ParsingPattern("ZoneOffset\\.of\\s*\\(", "I18n.parseZoneOffset", "org.pragmatica.lang.utils.I18n"));
-
-    // Combined regex for all patterns
-    private static final Pattern COMBINED_PATTERN;
-    private static final Map<String, ParsingPattern> PATTERN_MAP;
-
-    static {
-        var patternStrings = PATTERNS.stream()
-                                     .map(p -> "(" + p.jdkPattern() + ")")
-                                     .toList();
-        COMBINED_PATTERN = Pattern.compile(String.join("|", patternStrings));
-        var mapBuilder = new HashMap<String, ParsingPattern>();
-        for (var p : PATTERNS) {
-            mapBuilder.put(p.jdkPattern(), p);
-        }
-        PATTERN_MAP = Map.copyOf(mapBuilder);
-    }
+    new ParsingPattern("Currency.getInstance", "I18n.parseCurrency", "org.pragmatica.lang.utils.I18n"),
+    new ParsingPattern("Locale.forLanguageTag", "I18n.parseLocale", "org.pragmatica.lang.utils.I18n"),
+    new ParsingPattern("Charset.forName", "I18n.parseCharset", "org.pragmatica.lang.utils.I18n"),
+    new ParsingPattern("ZoneId.of(", "I18n.parseZoneId", "org.pragmatica.lang.utils.I18n"),
+    new ParsingPattern("ZoneOffset.of(", "I18n.parseZoneOffset", "org.pragmatica.lang.utils.I18n"));
+
+    // Single-pass scanner over all JDK call literals
+    private static final LiteralScanner SCANNER = LiteralScanner.literalScanner(PATTERNS.stream()
+                                                                                        .map(ParsingPattern::literal)
+                                                                                        .toList());
 
     @Override
     public String ruleId() {
@@ -98,44 +91,89 @@ public class CstParsingUtilitiesRule implements CstLintRule {
         if (!ctx.isBusinessPackage(packageName)) {
             return Stream.empty();
         }
-        return findAll(root, RuleId.MethodDecl.class).stream()
-                      .flatMap(method -> findJdkParsing(method, source, ctx));
+        var hits = SCANNER.scan(source);
+        if (hits.isEmpty()) {
+            return Stream.empty();
+        }
+        var methods = findAll(root, RuleId.MethodDecl.class);
+        var found = new ArrayList<List<ParsingPattern>>(methods.size());
+        methods.forEach(_ -> found.add(new ArrayList<>()));
+        // Attribute each hit to the innermost method containing it: hits ordered by start offset are swept
+        // together with methods in pre-order, i.e. also ordered by start offset, keeping the chain of
+        // methods open at the current hit on a stack
+        var open = new ArrayDeque<Integer>();
+        var nextMethod = 0;
+        for (var hit : byStart(hits)) {
+            while (nextMethod < methods.size() && startOffset(methods.get(nextMethod)) <= hit.start()) {
+                closeEnded(open, methods, startOffset(methods.get(nextMethod)));
+                open.push(nextMethod++);
+            }
+            closeEnded(open, methods, hit.start());
+            var pattern = PATTERNS.get(hit.literal());
+            var method = innermostMethod(open, methods, hit);
+            if (method >= 0 && isJdkCall(hit, pattern, source)) {
+                found.get(method)
+                     .add(pattern);
+            }
+        }
+        return IntStream.range(0, methods.size())
+                        .boxed()
+                        .flatMap(index -> found.get(index)
+                                               .stream()
+                                               .limit(3)
+                                               .map(pattern -> createDiagnostic(methods.get(index), pattern, ctx)));
     }
 
-    private Stream<Diagnostic> findJdkParsing(CstNode method, String source, LintContext ctx) {
-        var methodText = text(method, source);
-        var matcher = COMBINED_PATTERN.matcher(methodText);
-        return Stream.iterate(matcher.find(),
-                              found -> found,
-                              found -> matcher.find())
-                     .map(_ -> matcher.group())
-                     .map(this::findMatchingPattern)
-                     .filter(Option::isPresent)
-                     .map(Option::unwrap)
-                     .map(pattern -> createDiagnostic(method, pattern, ctx))
-                     .limit(3);
+    private boolean isJdkCall(Hit hit, ParsingPattern pattern, String source) {
+        // Not a suffix of a longer identifier (e.g. MyInteger.parseInt)
+        if (hit.start() > 0 && Character.isJavaIdentifierPart(source.charAt(hit.start() - 1))) {
+            return false;
+        }
+        if (!pattern.opensCall()) {
+            return true;
+        }
+        // "new URL (" - whitespace is allowed before the opening parenthesis
+        var next = hit.end();
+        while (next < source.length() && Character.isWhitespace(source.charAt(next))) {
+            next++;
+        }
+        return next < source.length() && source.charAt(next) == '(';
     }
 
-    private Option<ParsingPattern> findMatchingPattern(String match) {
-        for (var entry : PATTERN_MAP.entrySet()) {
-            if (Pattern.matches(entry.getKey(), match)) {
-                return Option.some(entry.getValue());
-            }
+    private static List<Hit> byStart(Hits hits) {
+        // Scan results are ordered by end offset, which differs from start order for literals of different length
+        return hits.hits()
+                   .stream()
+                   .sorted(Comparator.comparingInt(Hit::start))
+                   .toList();
+    }
+
+    private static void closeEnded(Deque<Integer> open, List<CstNode> methods, int offset) {
+        while (!open.isEmpty() && endOffset(methods.get(open.peek())) <= offset) {
+            open.pop();
         }
-        // Direct lookup for exact matches
-        for (var pattern : PATTERNS) {
-            if (match.contains(pattern.jdkPattern()
-                                      .replace("\\s*", "")
-                                      .replace("\\(",
-                                               "("))) {
-                return Option.some(pattern);
+    }
+
+    private static int innermostMethod(Deque<Integer> open, List<CstNode> methods, Hit hit) {
+        // Open methods all start before the hit and are nested, innermost on top
+        for (var method : open) {
+            if (hit.end() <= endOffset(methods.get(method))) {
+                return method;
             }
         }
-        return PATTERNS.stream()
-                       .filter(p -> match.matches(".*" + p.jdkPattern() + ".*"))
-                       .findFirst()
-                       .map(Option::some)
-                       .orElse(Option.none());
+        return - 1;
+    }
+
+    private static int startOffset(CstNode node) {
+        return node.span()
+                   .start()
+                   .offset();
+    }
+
+    private static int endOffset(CstNode node) {
+        return node.span()
+                   .end()
+                   .offset();
     }
 
     private Diagnostic createDiagnostic(CstNode node, ParsingPattern pattern, LintContext ctx) {
@@ -149,5 +187,16 @@ public class CstParsingUtilitiesRule implements CstLintRule {
                                      + "Import from " + pattern.importPath() + ".");
     }
 
-    private record ParsingPattern(String jdkPattern, String pragmaticaMethod, String importPath) {}
+    private record ParsingPattern(String jdkCall, String pragmaticaMethod, String importPath) {
+        // "new URL(" is scanned as "new URL", followed by an opening parenthesis
+        boolean opensCall() {
+            return jdkCall.endsWith("(");
+        }
+
+        String literal() {
+            return opensCall()
+                   ? jdkCall.substring(0, jdkCall.length() - 1)
+                   : jdkCall;
+        }
+    }
 }
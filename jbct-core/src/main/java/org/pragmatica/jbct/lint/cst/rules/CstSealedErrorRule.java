@@ -27,10 +27,14 @@ public class CstSealedErrorRule implements CstLintRule {
 
     @Override
     public Stream<Diagnostic> analyze(CstNode root, String source, LintContext ctx) {
+        var packageName = packageName(root, source);
         // Find TypeDecl nodes that contain InterfaceDecl
         return findAll(root, RuleId.TypeDecl.class).stream()
                       .filter(typeDecl -> hasInterfaceDecl(typeDecl))
-                      .filter(typeDecl -> extendsCause(typeDecl, source))
+                      .filter(typeDecl -> extendsCause(typeDecl, source) || extendsErrorType(typeDecl,
+                                                                                             packageName,
+                                                                                             source,
+                                                                                             ctx))
                       .filter(typeDecl -> !isSealed(typeDecl, source))
                       .map(typeDecl -> createDiagnostic(getInterfaceDecl(typeDecl),
                                                         source,
@@ -52,6 +56,18 @@ public class CstSealedErrorRule implements CstLintRule {
                           .or(false);
     }
 
+    private boolean extendsErrorType(CstNode typeDecl, String packageName, String source, LintContext ctx) {
+        // Cause reached through interfaces declared in other files, e.g. "extends DomainError"
+        var index = ctx.projectIndex();
+        var name = getInterfaceName(getInterfaceDecl(typeDecl), source);
+        var qualifiedName = packageName.isEmpty()
+                            ? name
+                            : packageName + "." + name;
+        return index.type(qualifiedName)
+                    .filter(index::isErrorType)
+                    .isPresent();
+    }
+
     private boolean isSealed(CstNode typeDecl, String source) {
         // Check for 'sealed' modifier in Modifier children of TypeDecl
         return childrenByRule(typeDecl, RuleId.Modifier.class).stream()
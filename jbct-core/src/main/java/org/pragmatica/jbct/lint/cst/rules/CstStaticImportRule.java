@@ -5,11 +5,13 @@ import org.pragmatica.jbct.lint.LintContext;
 import org.pragmatica.jbct.lint.cst.CstLintRule;
 import org.pragmatica.jbct.parser.Java25Parser.CstNode;
 import org.pragmatica.jbct.parser.Java25Parser.RuleId;
+import org.pragmatica.jbct.parser.LiteralScanner;
+import org.pragmatica.jbct.parser.MethodCall;
+import org.pragmatica.lang.Option;
 
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 import static org.pragmatica.jbct.parser.CstNodes.*;
@@ -36,8 +38,12 @@ public class CstStaticImportRule implements CstLintRule {
                                                                                                    "resolved",
                                                                                                    "failed")));
 
-    // Regex to find qualified factory calls
-    private static final Pattern QUALIFIED_CALL = Pattern.compile("\\b(Result|Option|Causes|Promise)\\.([a-z]+)\\s*\\(");
+    // Factory method names; methods whose text contains none of them are skipped without a tree walk
+    private static final LiteralScanner SCANNER = LiteralScanner.literalScanner(FACTORY_PATTERNS.stream()
+                                                                                                .flatMap(pattern -> pattern.methods()
+                                                                                                                           .stream())
+                                                                                                .distinct()
+                                                                                                .toList());
 
     @Override
     public String ruleId() {
@@ -53,57 +59,73 @@ public class CstStaticImportRule implements CstLintRule {
         if (!ctx.isBusinessPackage(packageName)) {
             return Stream.empty();
         }
+        var hits = SCANNER.scan(source);
+        if (hits.isEmpty()) {
+            return Stream.empty();
+        }
         // Collect static imports already in the file
         var staticImports = collectStaticImports(root, source);
         // Find qualified factory calls
         return findAll(root, RuleId.MethodDecl.class).stream()
+                      .filter(method -> !hits.within(method)
+                                             .isEmpty())
                       .flatMap(method -> findQualifiedCalls(method, source, staticImports, ctx));
     }
 
     private Set<String> collectStaticImports(CstNode root, String source) {
         var imports = new HashSet<String>();
-        findAll(root, RuleId.ImportDecl.class)
-        .forEach(imp -> {
-                     var importText = text(imp, source);
-                     if (importText.contains("static")) {
-                         // Extract the imported members
-        for (var pattern : FACTORY_PATTERNS) {
-                             for (var method : pattern.methods()) {
-                                 // Check for specific method import or wildcard
-        if (importText.contains("." + method + ";") ||
-        importText.contains("." + pattern.typeName() + ".*;") ||
-        importText.contains("." + pattern.typeName() + "." + method)) {
-                                     imports.add(pattern.typeName() + "." + method);
-                                 }
-                             }
-                         }
-                     }
-                 });
+        // ImportDecl <- 'import' ('static'? QualifiedName ('.' '*')? ';')
+        findAll(root, RuleId.ImportDecl.class).stream()
+               .filter(imp -> hasLiteral(imp, "static"))
+               .forEach(imp -> childByRule(imp, RuleId.QualifiedName.class)
+                               .map(name -> childrenByRule(name, RuleId.Identifier.class).getLast())
+                               .onPresent(member -> addStaticImports(member, hasLiteral(imp, "*"), source, imports)));
         return imports;
     }
 
+    private void addStaticImports(CstNode member, boolean wildcard, String source, Set<String> imports) {
+        for (var pattern : FACTORY_PATTERNS) {
+            for (var method : pattern.methods()) {
+                // Wildcard import of the type, or specific method import
+                var imported = wildcard
+                               ? textEquals(member, source, pattern.typeName())
+                               : textEquals(member, source, method);
+                if (imported) {
+                    imports.add(pattern.typeName() + "." + method);
+                }
+            }
+        }
+    }
+
     private Stream<Diagnostic> findQualifiedCalls(CstNode method,
                                                   String source,
                                                   Set<String> staticImports,
                                                   LintContext ctx) {
-        var methodText = text(method, source);
-        var matcher = QUALIFIED_CALL.matcher(methodText);
-        return Stream.iterate(matcher.find(),
-                              found -> found,
-                              found -> matcher.find())
-                     .map(_ -> new String[]{matcher.group(1), matcher.group(2)})
-                     .filter(parts -> isFactoryMethod(parts[0], parts[1]))
-                     .filter(parts -> !staticImports.contains(parts[0] + "." + parts[1]))
-                     .map(parts -> createDiagnostic(method, parts[0], parts[1], ctx))
-                     .limit(3);
+        // Calls in methods of local and anonymous classes are reported for those methods
+        return findAllWithin(method, RuleId.MethodDecl.class, node -> isRule(node, RuleId.Postfix.class)).stream()
+                            .flatMap(postfix -> MethodCall.methodCalls(postfix)
+                                                          .stream())
+                            .flatMap(call -> factoryCall(call, source).stream())
+                            .filter(factory -> !staticImports.contains(factory.qualifiedName()))
+                            .map(factory -> createDiagnostic(method, factory.typeName(), factory.methodName(), ctx))
+                            .limit(3);
     }
 
-    private boolean isFactoryMethod(String typeName, String methodName) {
-        return FACTORY_PATTERNS.stream()
-                               .anyMatch(p -> p.typeName()
-                                               .equals(typeName) &&
-        p.methods()
-         .contains(methodName));
+    // Type.method(...) where the type name directly precedes the factory method name
+    private Option<FactoryCall> factoryCall(MethodCall call, String source) {
+        if (call.qualifier()
+                .isEmpty()) {
+            return Option.none();
+        }
+        var typeName = call.qualifier()
+                           .getLast();
+        for (var pattern : FACTORY_PATTERNS) {
+            if (textEquals(typeName, source, pattern.typeName()) && textIn(call.name(), source, pattern.methods())) {
+                return Option.some(new FactoryCall(pattern.typeName(),
+                                                   text(call.name(), source).trim()));
+            }
+        }
+        return Option.none();
     }
 
     private Diagnostic createDiagnostic(CstNode node,
@@ -121,4 +143,10 @@ public class CstStaticImportRule implements CstLintRule {
     }
 
     private record FactoryPattern(String typeName, Set<String> methods) {}
+
+    private record FactoryCall(String typeName, String methodName) {
+        String qualifiedName() {
+            return typeName + "." + methodName;
+        }
+    }
 }
@@ -0,0 +1,66 @@
+package org.pragmatica.jbct.lint.report;
+
+import org.pragmatica.jbct.lint.Diagnostic;
+import org.pragmatica.jbct.shared.JsonWriter;
+
+import java.io.BufferedWriter;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Streaming reporter for lint diagnostics.
+ *
+ * <p>Diagnostics are written file by file as soon as they are produced, so memory use does not
+ * depend on the total number of findings. Call {@link #start()} once, then {@link #report(List)}
+ * for each file, then {@link #finish()} to complete the document and flush the output.
+ *
+ * <p>I/O failures are reported as {@link java.io.UncheckedIOException}.
+ *
+ * <p><b>Thread Safety:</b> Not thread-safe. Callers reporting from multiple threads must synchronize.
+ */
+public interface DiagnosticReporter {
+    int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Write the document header, if any.
+     */
+    void start();
+
+    /**
+     * Write diagnostics of a single file and flush them.
+     */
+    void report(List<Diagnostic> diagnostics);
+
+    /**
+     * Write the document footer, if any, and flush. The underlying stream is not closed.
+     */
+    void finish();
+
+    /**
+     * Human-readable text reporter.
+     */
+    static DiagnosticReporter textReporter(OutputStream out) {
+        return new TextReporter(writer(out));
+    }
+
+    /**
+     * JSON array reporter.
+     */
+    static DiagnosticReporter jsonReporter(OutputStream out) {
+        return new JsonReporter(JsonWriter.jsonWriter(writer(out)));
+    }
+
+    /**
+     * SARIF 2.1.0 reporter with a single run.
+     */
+    static DiagnosticReporter sarifReporter(OutputStream out) {
+        return new SarifReporter(JsonWriter.jsonWriter(writer(out)));
+    }
+
+    private static Writer writer(OutputStream out) {
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+    }
+}
@@ -0,0 +1,56 @@
+package org.pragmatica.jbct.lint.report;
+
+import org.pragmatica.jbct.lint.Diagnostic;
+import org.pragmatica.jbct.shared.JsonWriter;
+
+import java.util.List;
+
+/**
+ * Writes diagnostics as a JSON array of objects.
+ */
+final class JsonReporter implements DiagnosticReporter {
+    private final JsonWriter json;
+    private boolean first = true;
+
+    JsonReporter(JsonWriter json) {
+        this.json = json;
+    }
+
+    @Override
+    public void start() {
+        json.raw("[");
+    }
+
+    @Override
+    public void report(List<Diagnostic> diagnostics) {
+        for (var d : diagnostics) {
+            json.raw(first
+                     ? "\n"
+                     : ",\n");
+            first = false;
+            json.raw("  {\n    ")
+                .member("ruleId", d.ruleId())
+                .raw(",\n    ")
+                .member("severity",
+                        d.severity()
+                         .name()
+                         .toLowerCase())
+                .raw(",\n    ")
+                .member("file", d.file())
+                .raw(",\n    ")
+                .member("line", d.line())
+                .raw(",\n    ")
+                .member("column", d.column())
+                .raw(",\n    ")
+                .member("message", d.message())
+                .raw("\n  }");
+        }
+        json.flush();
+    }
+
+    @Override
+    public void finish() {
+        json.raw("\n]\n")
+            .flush();
+    }
+}
@@ -0,0 +1,84 @@
+package org.pragmatica.jbct.lint.report;
+
+import org.pragmatica.jbct.lint.Diagnostic;
+import org.pragmatica.jbct.lint.DiagnosticSeverity;
+import org.pragmatica.jbct.shared.JsonWriter;
+
+import java.util.List;
+
+/**
+ * Writes diagnostics as a SARIF 2.1.0 log with a single run.
+ *
+ * <p>The run header is written by {@link #start()}, each diagnostic becomes one entry
+ * of the run's {@code results} array, and {@link #finish()} closes the run.
+ */
+final class SarifReporter implements DiagnosticReporter {
+    private static final String HEADER = """
+        {
+          "$schema": "https://json.schemastore.org/sarif-2.1.0.json",
+          "version": "2.1.0",
+          "runs": [{
+            "tool": {
+              "driver": {
+                "name": "jbct",
+                "informationUri": "https://github.com/siy/coding-technology"
+              }
+            },
+            "results": [""";
+    private static final String FOOTER = """
+
+            ]
+          }]
+        }
+        """;
+
+    private final JsonWriter json;
+    private boolean first = true;
+
+    SarifReporter(JsonWriter json) {
+        this.json = json;
+    }
+
+    @Override
+    public void start() {
+        json.raw(HEADER);
+    }
+
+    @Override
+    public void report(List<Diagnostic> diagnostics) {
+        for (var d : diagnostics) {
+            json.raw(first
+                     ? "\n"
+                     : ",\n");
+            first = false;
+            json.raw("      {\n        ")
+                .member("ruleId", d.ruleId())
+                .raw(",\n        ")
+                .member("level", sarifLevel(d.severity()))
+                .raw(",\n        \"message\": { ")
+                .member("text", d.message())
+                .raw(" },\n        \"locations\": [{\n          \"physicalLocation\": {\n            \"artifactLocation\": { ")
+                .member("uri", d.file())
+                .raw(" },\n            \"region\": { ")
+                .member("startLine", d.line())
+                .raw(", ")
+                .member("startColumn", d.column())
+                .raw(" }\n          }\n        }]\n      }");
+        }
+        json.flush();
+    }
+
+    @Override
+    public void finish() {
+        json.raw(FOOTER)
+            .flush();
+    }
+
+    private static String sarifLevel(DiagnosticSeverity severity) {
+        return switch (severity) {
+            case ERROR -> "error";
+            case WARNING -> "warning";
+            case INFO -> "note";
+        };
+    }
+}
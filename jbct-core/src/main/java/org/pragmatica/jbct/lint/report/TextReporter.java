@@ -0,0 +1,51 @@
+package org.pragmatica.jbct.lint.report;
+
+import org.pragmatica.jbct.lint.Diagnostic;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes diagnostics in human-readable form.
+ */
+final class TextReporter implements DiagnosticReporter {
+    private final Writer out;
+    private boolean first = true;
+
+    TextReporter(Writer out) {
+        this.out = out;
+    }
+
+    @Override
+    public void start() {}
+
+    @Override
+    public void report(List<Diagnostic> diagnostics) {
+        if (diagnostics.isEmpty()) {
+            return;
+        }
+        try{
+            if (first) {
+                out.write(System.lineSeparator());
+                first = false;
+            }
+            for (var d : diagnostics) {
+                out.write(d.toHumanReadable());
+            }
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void finish() {
+        try{
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import org.pragmatica.lang.Option;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -71,6 +72,35 @@ public final class CstNodes {
         return results;
     }
 
+    /**
+     * Find all descendants matching a predicate without descending into nested nodes of the
+     * boundary rule type (e.g. methods of local or anonymous classes declared inside a method).
+     */
+    public static List<CstNode> findAllWithin(CstNode root,
+                                              Class<? extends RuleId> boundary,
+                                              Predicate<CstNode> predicate) {
+        var results = new ArrayList<CstNode>();
+        for (var child : children(root)) {
+            collectWithin(child, boundary, predicate, results);
+        }
+        return results;
+    }
+
+    private static void collectWithin(CstNode node,
+                                      Class<? extends RuleId> boundary,
+                                      Predicate<CstNode> predicate,
+                                      List<CstNode> results) {
+        if (isRule(node, boundary)) {
+            return;
+        }
+        if (predicate.test(node)) {
+            results.add(node);
+        }
+        for (var child : children(node)) {
+            collectWithin(child, boundary, predicate, results);
+        }
+    }
+
     /**
      * Find first descendant matching a rule type.
      */
@@ -223,6 +253,123 @@ public final class CstNodes {
         };
     }
 
+    /**
+     * Check if the node has a direct literal child with specific text.
+     */
+    public static boolean hasLiteral(CstNode node, String text) {
+        for (var child : children(node)) {
+            if (isLiteral(child, text)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check if the source text of a node, ignoring surrounding whitespace, equals the expected text.
+     * Compares in place, without extracting a substring.
+     */
+    public static boolean textEquals(CstNode node, String source, String expected) {
+        var start = trimmedStart(node, source);
+        var length = trimmedEnd(node, source) - start;
+        return length == expected.length() && source.regionMatches(start, expected, 0, length);
+    }
+
+    /**
+     * Check if the source text of a node is one of the given texts.
+     */
+    public static boolean textIn(CstNode node, String source, Set<String> texts) {
+        for (var text : texts) {
+            if (textEquals(node, source, text)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check if two nodes have the same source text, ignoring surrounding whitespace.
+     */
+    public static boolean sameText(CstNode first, CstNode second, String source) {
+        var firstStart = trimmedStart(first, source);
+        var secondStart = trimmedStart(second, source);
+        var length = trimmedEnd(first, source) - firstStart;
+        return length == trimmedEnd(second, source) - secondStart && source.regionMatches(firstStart,
+                                                                                        source,
+                                                                                        secondStart,
+                                                                                        length);
+    }
+
+    /**
+     * Check if the source text of a node is a single simple name (no dots, generics or whitespace).
+     */
+    public static boolean isSimpleName(CstNode node, String source) {
+        var start = trimmedStart(node, source);
+        var end = trimmedEnd(node, source);
+        if (start >= end || !Character.isJavaIdentifierStart(source.charAt(start))) {
+            return false;
+        }
+        for (int i = start + 1; i < end; i++) {
+            if (!Character.isJavaIdentifierPart(source.charAt(i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int trimmedStart(CstNode node, String source) {
+        var start = node.span()
+                        .start()
+                        .offset();
+        var end = node.span()
+                      .end()
+                      .offset();
+        while (start < end && Character.isWhitespace(source.charAt(start))) {
+            start++;
+        }
+        return start;
+    }
+
+    private static int trimmedEnd(CstNode node, String source) {
+        var start = node.span()
+                        .start()
+                        .offset();
+        var end = node.span()
+                      .end()
+                      .offset();
+        while (end > start && Character.isWhitespace(source.charAt(end - 1))) {
+            end--;
+        }
+        return end;
+    }
+
+    /**
+     * Get names of implicitly typed lambda parameters ({@code x} or {@code (a, b)}).
+     * Returns an empty list if any parameter declares a type, modifier or annotation.
+     */
+    public static List<CstNode> implicitLambdaParameters(CstNode lambdaParams) {
+        var single = childByRule(lambdaParams, RuleId.Identifier.class);
+        if (single.isPresent()) {
+            return List.of(single.unwrap());
+        }
+        var names = new ArrayList<CstNode>();
+        for (var param : childrenByRule(lambdaParams, RuleId.LambdaParam.class)) {
+            var identifiers = childrenByRule(param, RuleId.Identifier.class);
+            if (identifiers.isEmpty()) {
+                return List.of();
+            }
+            // A parameter consisting of the name alone carries no type, modifiers or annotations
+            var name = identifiers.getLast();
+            if (name.span()
+                    .length() != param.span()
+                                      .length()) {
+                return List.of();
+            }
+            names.add(name);
+        }
+        return names;
+    }
+
     /**
      * Count descendants matching a rule type.
      */
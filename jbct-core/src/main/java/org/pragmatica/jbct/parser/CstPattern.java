@@ -0,0 +1,276 @@
+package org.pragmatica.jbct.parser;
+
+import org.pragmatica.jbct.parser.Java25Parser.CstNode;
+import org.pragmatica.jbct.parser.Java25Parser.RuleId;
+import org.pragmatica.lang.Option;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Structural pattern over CST nodes.
+ *
+ * <p>Patterns are composed from a few primitives - rule type, literal token, exact child shape
+ * and named captures - and matched directly against the tree. Text comparisons are done in place
+ * against the source, so matching extracts no substrings and uses no regular expressions.
+ *
+ * <p>Expression rules form long single-child chains ({@code Expr -> Assignment -> ... -> Postfix -> Primary}).
+ * {@link #unwrapped()} looks through them, so patterns can be written against the interesting node:
+ * <pre>{@code
+ * // x -> new Type(x)
+ * var constructorLambda = rule(RuleId.Lambda.class,
+ *                              rule(RuleId.LambdaParams.class).as("param"),
+ *                              literal("->"),
+ *                              rule(RuleId.Primary.class,
+ *                                   literal("new"),
+ *                                   rule(RuleId.ArrayType.class).as("type"),
+ *                                   literal("("),
+ *                                   rule(RuleId.Args.class).and(sameTextAs("param")),
+ *                                   literal(")")).unwrapped());
+ * }</pre>
+ *
+ * <p><b>Thread Safety:</b> Patterns are stateless and may be shared. Captures belong to a single match.
+ */
+@FunctionalInterface
+public interface CstPattern {
+    /**
+     * Match the pattern against a node, recording captures on success.
+     */
+    boolean match(CstNode node, Captures captures);
+
+    /**
+     * Match the pattern against a node.
+     *
+     * @return captures of a successful match
+     */
+    default Option<Captures> match(CstNode node, String source) {
+        var captures = new Captures(source);
+        return match(node, captures)
+               ? Option.some(captures)
+               : Option.none();
+    }
+
+    /**
+     * Check if the pattern matches a node.
+     */
+    default boolean matches(CstNode node, String source) {
+        return match(node, new Captures(source));
+    }
+
+    /**
+     * Both patterns must match the same node.
+     */
+    default CstPattern and(CstPattern other) {
+        return (node, captures) -> match(node, captures) && other.match(node, captures);
+    }
+
+    /**
+     * Either pattern must match; captures of a failed first alternative are discarded.
+     */
+    default CstPattern or(CstPattern other) {
+        return (node, captures) -> {
+            var mark = captures.mark();
+            if (match(node, captures)) {
+                return true;
+            }
+            captures.reset(mark);
+            return other.match(node, captures);
+        };
+    }
+
+    /**
+     * Capture the matched node under the given name.
+     */
+    default CstPattern as(String name) {
+        return (node, captures) -> {
+            if (!match(node, captures)) {
+                return false;
+            }
+            captures.put(name, node);
+            return true;
+        };
+    }
+
+    /**
+     * Match this pattern against the node or any node reachable from it through single-child wrappers.
+     */
+    default CstPattern unwrapped() {
+        return (node, captures) -> {
+            var current = node;
+            while (true) {
+                var mark = captures.mark();
+                if (match(current, captures)) {
+                    return true;
+                }
+                captures.reset(mark);
+                if (!(current instanceof CstNode.NonTerminal nonTerminal) || nonTerminal.children()
+                                                                                       .size() != 1) {
+                    return false;
+                }
+                current = nonTerminal.children()
+                                     .getFirst();
+            }
+        };
+    }
+
+    /**
+     * Match any node.
+     */
+    static CstPattern any() {
+        return (_, _) -> true;
+    }
+
+    /**
+     * Match nodes of a rule type.
+     */
+    static CstPattern rule(Class<? extends RuleId> ruleClass) {
+        return (node, _) -> CstNodes.isRule(node, ruleClass);
+    }
+
+    /**
+     * Match nodes of a rule type whose direct children match the given patterns exactly, in order.
+     */
+    static CstPattern rule(Class<? extends RuleId> ruleClass, CstPattern... shape) {
+        return rule(ruleClass).and(children(shape));
+    }
+
+    /**
+     * Match nodes whose direct children match the given patterns exactly, in order.
+     */
+    static CstPattern children(CstPattern... shape) {
+        var expected = List.of(shape);
+        return (node, captures) -> {
+            var actual = CstNodes.children(node);
+            if (actual.size() != expected.size()) {
+                return false;
+            }
+            for (int i = 0; i < expected.size(); i++) {
+                if (!expected.get(i)
+                             .match(actual.get(i), captures)) {
+                    return false;
+                }
+            }
+            return true;
+        };
+    }
+
+    /**
+     * Match nodes having at least one direct child matching the pattern.
+     */
+    static CstPattern child(CstPattern pattern) {
+        return (node, captures) -> {
+            for (var child : CstNodes.children(node)) {
+                var mark = captures.mark();
+                if (pattern.match(child, captures)) {
+                    return true;
+                }
+                captures.reset(mark);
+            }
+            return false;
+        };
+    }
+
+    /**
+     * Match terminals and tokens with specific text (keywords, operators, punctuation).
+     */
+    static CstPattern literal(String text) {
+        return (node, _) -> CstNodes.isLiteral(node, text);
+    }
+
+    /**
+     * Match nodes whose source text equals the given text.
+     */
+    static CstPattern text(String text) {
+        return (node, captures) -> CstNodes.textEquals(node, captures.source(), text);
+    }
+
+    /**
+     * Match nodes whose source text is one of the given texts.
+     */
+    static CstPattern textIn(Set<String> texts) {
+        return (node, captures) -> CstNodes.textIn(node, captures.source(), texts);
+    }
+
+    /**
+     * Match nodes whose source text is a simple name.
+     */
+    static CstPattern simpleName() {
+        return (node, captures) -> CstNodes.isSimpleName(node, captures.source());
+    }
+
+    /**
+     * Match nodes with the same source text as a previously captured node.
+     */
+    static CstPattern sameTextAs(String name) {
+        return (node, captures) -> captures.sameText(name, node);
+    }
+
+    /**
+     * Named nodes captured during a match.
+     */
+    final class Captures {
+        private final String source;
+        private final List<String> names = new ArrayList<>(4);
+        private final List<CstNode> nodes = new ArrayList<>(4);
+
+        Captures(String source) {
+            this.source = source;
+        }
+
+        /**
+         * Source text the matched tree was parsed from.
+         */
+        public String source() {
+            return source;
+        }
+
+        /**
+         * Get a captured node.
+         */
+        public Option<CstNode> node(String name) {
+            return Option.option(find(name));
+        }
+
+        /**
+         * Get source text of a captured node (empty if not captured).
+         */
+        public String text(String name) {
+            return node(name).map(found -> CstNodes.text(found, source)
+                                                   .trim())
+                             .or("");
+        }
+
+        boolean sameText(String name, CstNode node) {
+            var captured = find(name);
+            return captured != null && CstNodes.sameText(captured, node, source);
+        }
+
+        void put(String name, CstNode node) {
+            names.add(name);
+            nodes.add(node);
+        }
+
+        int mark() {
+            return names.size();
+        }
+
+        void reset(int mark) {
+            while (names.size() > mark) {
+                names.removeLast();
+                nodes.removeLast();
+            }
+        }
+
+        private CstNode find(String name) {
+            // Latest capture wins
+            for (int i = names.size() - 1; i >= 0; i--) {
+                if (names.get(i)
+                         .equals(name)) {
+                    return nodes.get(i);
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package org.pragmatica.jbct.parser;
+
+import org.pragmatica.jbct.parser.Java25Parser.CstNode;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Multi-literal text scanner (Aho-Corasick automaton).
+ *
+ * <p>Finds every occurrence of a fixed set of literals in a single left-to-right pass, regardless of
+ * the number of literals. Rules scan the file source once and map hits back to CST nodes by span
+ * ({@link Hits#within(CstNode)}), instead of matching node text repeatedly for every enclosing node.
+ *
+ * <p>The automaton is compiled into a dense transition table over the literals' alphabet; characters
+ * that do not occur in any literal reset the scan without a table lookup.
+ *
+ * <p><b>Thread Safety:</b> Instances are immutable and safe to share across threads.
+ */
+public final class LiteralScanner {
+    private final List<String> literals;
+    private final int[] charClasses;
+    private final int classCount;
+    private final int[] transitions;
+    private final int[][] outputs;
+
+    private LiteralScanner(List<String> literals, int[] charClasses, int classCount, int[] transitions, int[][] outputs) {
+        this.literals = literals;
+        this.charClasses = charClasses;
+        this.classCount = classCount;
+        this.transitions = transitions;
+        this.outputs = outputs;
+    }
+
+    /**
+     * Build a scanner for the given literals. Hits report literals by their index in this list.
+     */
+    public static LiteralScanner literalScanner(List<String> literals) {
+        var copy = List.copyOf(literals);
+        if (copy.stream()
+                .anyMatch(String::isEmpty)) {
+            throw new IllegalArgumentException("Literals must not be empty");
+        }
+        // Compress the alphabet: class 0 stands for every character not used by any literal
+        var maxChar = copy.stream()
+                          .flatMapToInt(String::chars)
+                          .max()
+                          .orElse(0);
+        var charClasses = new int[maxChar + 1];
+        var classCount = 1;
+        for (var literal : copy) {
+            for (int i = 0; i < literal.length(); i++) {
+                var c = literal.charAt(i);
+                if (charClasses[c] == 0) {
+                    charClasses[c] = classCount++;
+                }
+            }
+        }
+        // Trie
+        var next = new ArrayList<int[]>();
+        var terminal = new ArrayList<List<Integer>>();
+        next.add(new int[classCount]);
+        terminal.add(new ArrayList<>());
+        for (int index = 0; index < copy.size(); index++) {
+            var literal = copy.get(index);
+            var state = 0;
+            for (int i = 0; i < literal.length(); i++) {
+                var cls = charClasses[literal.charAt(i)];
+                if (next.get(state)[cls] == 0) {
+                    next.get(state)[cls] = next.size();
+                    next.add(new int[classCount]);
+                    terminal.add(new ArrayList<>());
+                }
+                state = next.get(state)[cls];
+            }
+            terminal.get(state)
+                    .add(index);
+        }
+        // Failure links in breadth-first order, turning the trie into a complete transition table
+        var states = next.size();
+        var transitions = new int[states * classCount];
+        var fail = new int[states];
+        var outputs = new int[states][];
+        outputs[0] = new int[0];
+        var queue = new ArrayDeque<Integer>();
+        for (int cls = 1; cls < classCount; cls++) {
+            var child = next.get(0)[cls];
+            transitions[cls] = child;
+            if (child != 0) {
+                queue.add(child);
+            }
+        }
+        while (!queue.isEmpty()) {
+            int state = queue.poll();
+            var own = terminal.get(state);
+            var inherited = outputs[fail[state]];
+            var merged = Arrays.copyOf(inherited, inherited.length + own.size());
+            for (int i = 0; i < own.size(); i++) {
+                merged[inherited.length + i] = own.get(i);
+            }
+            outputs[state] = merged;
+            for (int cls = 1; cls < classCount; cls++) {
+                var child = next.get(state)[cls];
+                var fallback = transitions[fail[state] * classCount + cls];
+                if (child == 0) {
+                    transitions[state * classCount + cls] = fallback;
+                    continue;
+                }
+                transitions[state * classCount + cls] = child;
+                fail[child] = fallback;
+                queue.add(child);
+            }
+        }
+        return new LiteralScanner(copy, charClasses, classCount, transitions, outputs);
+    }
+
+    /**
+     * Literals recognized by this scanner.
+     */
+    public List<String> literals() {
+        return literals;
+    }
+
+    /**
+     * Find all literal occurrences in the text.
+     */
+    public Hits scan(CharSequence text) {
+        return scan(text, 0, text.length());
+    }
+
+    /**
+     * Find all literal occurrences lying entirely within {@code [from, to)} of the text.
+     */
+    public Hits scan(CharSequence text, int from, int to) {
+        var hits = new ArrayList<Hit>();
+        var state = 0;
+        for (int i = from; i < to; i++) {
+            state = step(state, text.charAt(i));
+            for (var literal : outputs[state]) {
+                hits.add(new Hit(i + 1 - literals.get(literal)
+                                                 .length(),
+                                 i + 1,
+                                 literal));
+            }
+        }
+        return new Hits(hits);
+    }
+
+    /**
+     * Check if any literal occurs within {@code [from, to)} of the text, stopping at the first occurrence.
+     */
+    public boolean containsAny(CharSequence text, int from, int to) {
+        var state = 0;
+        for (int i = from; i < to; i++) {
+            state = step(state, text.charAt(i));
+            if (outputs[state].length > 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private int step(int state, char c) {
+        var cls = c < charClasses.length
+                  ? charClasses[c]
+                  : 0;
+        return cls == 0
+               ? 0
+               : transitions[state * classCount + cls];
+    }
+
+    /**
+     * Occurrence of a literal.
+     *
+     * @param start   offset of the first character
+     * @param end     offset after the last character
+     * @param literal index of the literal in the scanner's list
+     */
+    public record Hit(int start, int end, int literal) {}
+
+    /**
+     * Hits of a scan, ordered by end offset.
+     */
+    public record Hits(List<Hit> hits) {
+        public Hits {
+            hits = List.copyOf(hits);
+        }
+
+        /**
+         * Check if the scan found nothing.
+         */
+        public boolean isEmpty() {
+            return hits.isEmpty();
+        }
+
+        /**
+         * Hits lying entirely within the span of a node.
+         */
+        public List<Hit> within(CstNode node) {
+            var start = node.span()
+                            .start()
+                            .offset();
+            var end = node.span()
+                          .end()
+                          .offset();
+            // Hits are ordered by end offset: skip those ending before the node could contain them
+            var result = new ArrayList<Hit>();
+            for (int i = firstEndingAfter(start); i < hits.size(); i++) {
+                var hit = hits.get(i);
+                if (hit.end() > end) {
+                    break;
+                }
+                if (hit.start() >= start) {
+                    result.add(hit);
+                }
+            }
+            return result;
+        }
+
+        private int firstEndingAfter(int offset) {
+            int low = 0;
+            int high = hits.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (hits.get(mid)
+                        .end() <= offset) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
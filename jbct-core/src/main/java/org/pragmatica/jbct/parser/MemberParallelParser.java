@@ -0,0 +1,475 @@
+package org.pragmatica.jbct.parser;
+
+import org.pragmatica.jbct.parser.Java25Parser.CstNode;
+import org.pragmatica.jbct.parser.Java25Parser.ParseResultWithDiagnostics;
+import org.pragmatica.jbct.parser.Java25Parser.RuleId;
+import org.pragmatica.jbct.parser.Java25Parser.SourceLocation;
+import org.pragmatica.jbct.parser.Java25Parser.SourceSpan;
+import org.pragmatica.jbct.parser.Java25Parser.Trivia;
+import org.pragmatica.lang.Option;
+import org.pragmatica.lang.Result;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Parser for very large compilation units which parses the members of top-level types concurrently.
+ *
+ * <p>Parsing runs in two phases. A brace-matching pre-scan, aware of comments and of string, text block
+ * and character literals, finds the bodies of top-level types and the offsets where their members end.
+ * Then the compilation unit is parsed with those bodies left empty, while runs of consecutive members
+ * are parsed on the common fork-join pool, each wrapped in a synthetic type body. The pieces are
+ * stitched into a single {@code CompilationUnit} tree with every span relocated to the original
+ * source, so the result is identical to a sequential {@link Java25Parser} parse.
+ *
+ * <p>Sources below the size threshold, and sources the pre-scan cannot split (enum, annotation or
+ * module bodies, unbalanced braces, any piece which fails to parse), are parsed sequentially.
+ *
+ * <p><b>Thread Safety:</b> Thread-safe. Each parse, and each piece, uses a parser of its own, so no
+ * packrat cache or input is retained by pool threads after the parse.
+ */
+public final class MemberParallelParser {
+    /**
+     * Default source length (in characters) from which members are parsed concurrently.
+     */
+    public static final int PARALLEL_PARSE_THRESHOLD = 256 * 1024;
+
+    /**
+     * Default minimal length (in characters) of a run of members parsed as one piece.
+     */
+    public static final int CHUNK_SIZE = 16 * 1024;
+
+    private static final String CLASS_PREFIX = "class X{";
+    private static final String RECORD_PREFIX = "record X(){";
+    private static final String SUFFIX = "}";
+
+    private final int threshold;
+    private final int chunkSize;
+
+    private MemberParallelParser(int threshold, int chunkSize) {
+        this.threshold = threshold;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Create parser with default threshold and chunk size.
+     */
+    public static MemberParallelParser memberParallelParser() {
+        return new MemberParallelParser(PARALLEL_PARSE_THRESHOLD, CHUNK_SIZE);
+    }
+
+    /**
+     * Create parser which splits sources of at least {@code threshold} characters into pieces of at
+     * least {@code chunkSize} characters.
+     */
+    public static MemberParallelParser memberParallelParser(int threshold, int chunkSize) {
+        return new MemberParallelParser(threshold, chunkSize);
+    }
+
+    /**
+     * Parse input into a CST.
+     *
+     * @see Java25Parser#parse(String)
+     */
+    public Result<CstNode> parse(String input) {
+        return parseInParallel(input).map(Result::success)
+                                     .or(() -> new Java25Parser().parse(input));
+    }
+
+    /**
+     * Parse input into a CST with diagnostics.
+     *
+     * @see Java25Parser#parseWithDiagnostics(String)
+     */
+    public ParseResultWithDiagnostics parseWithDiagnostics(String input) {
+        return parseInParallel(input).map(node -> ParseResultWithDiagnostics.success(node, input))
+                                     .or(() -> new Java25Parser().parseWithDiagnostics(input));
+    }
+
+    /**
+     * Parse input with members split across workers. Empty if the source is below the threshold or
+     * cannot be split, in which case {@link #parse(String)} parses it sequentially.
+     */
+    Option<CstNode> parseInParallel(String input) {
+        if (input.length() < threshold) {
+            return Option.none();
+        }
+        return scanBodies(input).filter(bodies -> !bodies.isEmpty())
+                                .flatMap(bodies -> parseSplit(input, bodies));
+    }
+
+    private Option<CstNode> parseSplit(String input, List<Body> bodies) {
+        var chunks = chunks(bodies);
+        if (chunks.size() < 2) {
+            return Option.none();
+        }
+        var skeleton = Skeleton.skeleton(input, bodies);
+        var skeletonCst = new Java25Parser().parse(skeleton.text());
+        if (skeletonCst.isFailure()) {
+            return Option.none();
+        }
+        var root = skeletonCst.unwrap();
+        var kinds = bodyKinds(root, skeleton, bodies.size());
+        if (kinds.isEmpty()) {
+            return Option.none();
+        }
+        var lines = LineIndex.lineIndex(input);
+        var pieces = chunks.parallelStream()
+                           .map(chunk -> parseChunk(input,
+                                                    chunk,
+                                                    kinds.unwrap()[chunk.body()],
+                                                    lines))
+                           .toList();
+        var members = new HashMap<Integer, List<CstNode>>();
+        for (int i = 0; i < chunks.size(); i++) {
+            if (pieces.get(i)
+                      .isEmpty()) {
+                return Option.none();
+            }
+            members.computeIfAbsent(skeleton.opens()[chunks.get(i)
+                                                           .body()],
+                                    _ -> new ArrayList<>())
+                   .addAll(pieces.get(i)
+                                 .unwrap());
+        }
+        return Option.some(stitch(root, new Relocation(skeleton::original, lines), members));
+    }
+
+    private List<Chunk> chunks(List<Body> bodies) {
+        var chunks = new ArrayList<Chunk>();
+        for (int b = 0; b < bodies.size(); b++) {
+            var body = bodies.get(b);
+            var start = body.open() + 1;
+            for (var end : body.memberEnds()) {
+                if (end - start >= chunkSize) {
+                    chunks.add(new Chunk(b, start, end));
+                    start = end;
+                }
+            }
+            chunks.add(new Chunk(b, start, body.close()));
+        }
+        return chunks;
+    }
+
+    // Kind of each hollowed body: the skeleton must have a class or record body at its brace
+    private static Option<RuleId[]> bodyKinds(CstNode root, Skeleton skeleton, int count) {
+        var byOffset = new HashMap<Integer, RuleId>();
+        CstNodes.findAll(root,
+                         node -> node.rule() instanceof RuleId.ClassBody || node.rule() instanceof RuleId.RecordBody)
+                .forEach(node -> byOffset.put(node.span()
+                                                  .start()
+                                                  .offset(),
+                                              node.rule()));
+        var kinds = new RuleId[count];
+        for (int b = 0; b < count; b++) {
+            kinds[b] = byOffset.get(skeleton.opens()[b]);
+            if (kinds[b] == null) {
+                return Option.none();
+            }
+        }
+        return Option.some(kinds);
+    }
+
+    private static Option<List<CstNode>> parseChunk(String input, Chunk chunk, RuleId kind, LineIndex lines) {
+        var prefix = kind instanceof RuleId.RecordBody
+                     ? RECORD_PREFIX
+                     : CLASS_PREFIX;
+        var wrapper = prefix + input.substring(chunk.start(), chunk.end()) + SUFFIX;
+        var shift = chunk.start() - prefix.length();
+        var relocation = new Relocation(offset -> offset + shift, lines);
+        return new Java25Parser().parse(wrapper)
+                                 .map(cst -> CstNodes.findFirst(cst,
+                                                                node -> kind.getClass()
+                                                                            .isInstance(node.rule()))
+                                                     .map(body -> members(body, relocation)))
+                                 .or(Option.none());
+    }
+
+    private static List<CstNode> members(CstNode body, Relocation relocation) {
+        var children = CstNodes.children(body);
+        return children.subList(1,
+                                children.size() - 1)
+                       .stream()
+                       .map(relocation::node)
+                       .toList();
+    }
+
+    private static CstNode stitch(CstNode node, Relocation relocation, Map<Integer, List<CstNode>> members) {
+        if (!(node instanceof CstNode.NonTerminal nonTerminal)) {
+            return relocation.node(node);
+        }
+        var bodyMembers = members.get(node.span()
+                                          .start()
+                                          .offset());
+        List<CstNode> children;
+        if (bodyMembers != null && (node.rule() instanceof RuleId.ClassBody || node.rule() instanceof RuleId.RecordBody)) {
+            var original = nonTerminal.children();
+            var stitched = new ArrayList<CstNode>(bodyMembers.size() + 2);
+            stitched.add(relocation.node(original.getFirst()));
+            stitched.addAll(bodyMembers);
+            stitched.add(relocation.node(original.getLast()));
+            children = stitched;
+        } else {
+            children = nonTerminal.children()
+                                  .stream()
+                                  .map(child -> stitch(child, relocation, members))
+                                  .toList();
+        }
+        return new CstNode.NonTerminal(relocation.span(node.span()),
+                                       node.rule(),
+                                       children,
+                                       relocation.trivia(node.leadingTrivia()),
+                                       relocation.trivia(node.trailingTrivia()));
+    }
+
+    // === Pre-scan ===
+    private static Option<List<Body>> scanBodies(String s) {
+        var bodies = new ArrayList<Body>();
+        var ends = new ArrayList<Integer>();
+        var depth = 0;
+        var parens = 0;
+        var open = - 1;
+        var i = 0;
+        while (i < s.length()) {
+            var next = skipTrivia(s, i);
+            if (next != i) {
+                i = next;
+                continue;
+            }
+            var c = s.charAt(i);
+            if (c == '"' || c == '\'') {
+                i = skipLiteral(s, i);
+                if (i < 0) {
+                    return Option.none();
+                }
+                continue;
+            }
+            switch (c) {
+                case '(', '[' -> parens++;
+                case ')', ']' -> parens--;
+                case '{' -> {
+                    if (depth == 0 && parens == 0) {
+                        open = i;
+                        ends = new ArrayList<>();
+                    }
+                    depth++;
+                }
+                case '}' -> {
+                    depth--;
+                    if (depth < 0) {
+                        return Option.none();
+                    }
+                    if (depth == 0 && open >= 0) {
+                        bodies.add(new Body(open, i, ends));
+                        open = - 1;
+                    } else if (depth == 1 && open >= 0 && parens == 0 && startsMember(s, i + 1)) {
+                        ends.add(i + 1);
+                    }
+                }
+                case ';' -> {
+                    if (depth == 1 && open >= 0 && parens == 0) {
+                        ends.add(i + 1);
+                    }
+                }
+                default -> {}
+            }
+            i++;
+        }
+        return depth == 0
+               ? Option.some(bodies)
+               : Option.none();
+    }
+
+    // A closing brace ends a member only if a new member follows. A ';' after it belongs to the same
+    // member (lambda, anonymous class or array initializer of a field) and ends it there instead
+    private static boolean startsMember(String s, int from) {
+        var i = from;
+        while (i < s.length()) {
+            var next = skipTrivia(s, i);
+            if (next == i) {
+                break;
+            }
+            i = next;
+        }
+        if (i >= s.length()) {
+            return false;
+        }
+        var c = s.charAt(i);
+        return Character.isJavaIdentifierStart(c) || c == '@' || c == '<' || c == '{';
+    }
+
+    private static int skipTrivia(String s, int i) {
+        var c = s.charAt(i);
+        if (Character.isWhitespace(c)) {
+            return i + 1;
+        }
+        if (c != '/' || i + 1 >= s.length()) {
+            return i;
+        }
+        if (s.charAt(i + 1) == '/') {
+            var end = s.indexOf('\n', i);
+            return end < 0
+                   ? s.length()
+                   : end + 1;
+        }
+        if (s.charAt(i + 1) == '*') {
+            var end = s.indexOf("*/", i + 2);
+            return end < 0
+                   ? s.length()
+                   : end + 2;
+        }
+        return i;
+    }
+
+    // Returns the offset after the literal, or -1 if it is not terminated
+    private static int skipLiteral(String s, int i) {
+        var quote = s.charAt(i);
+        var textBlock = quote == '"' && s.startsWith("\"\"\"", i);
+        var j = textBlock
+                ? i + 3
+                : i + 1;
+        while (j < s.length()) {
+            var c = s.charAt(j);
+            if (c == '\\') {
+                j += 2;
+            } else if (textBlock && s.startsWith("\"\"\"", j)) {
+                return j + 3;
+            } else if (!textBlock && c == quote) {
+                return j + 1;
+            } else if (!textBlock && c == '\n') {
+                return - 1;
+            } else {
+                j++;
+            }
+        }
+        return - 1;
+    }
+
+    /**
+     * Body of a top-level type.
+     *
+     * @param open       offset of the opening brace
+     * @param close      offset of the closing brace
+     * @param memberEnds offsets right after the members which may end a piece
+     */
+    private record Body(int open, int close, List<Integer> memberEnds) {}
+
+    private record Chunk(int body, int start, int end) {}
+
+    /**
+     * Source with every top-level body replaced by a single space.
+     *
+     * @param text   skeleton source
+     * @param opens  skeleton offsets of the opening braces
+     * @param shifts length removed from the source at each body
+     */
+    private record Skeleton(String text, int[] opens, int[] shifts) {
+        static Skeleton skeleton(String input, List<Body> bodies) {
+            var text = new StringBuilder(input.length());
+            var opens = new int[bodies.size()];
+            var shifts = new int[bodies.size()];
+            var from = 0;
+            for (int b = 0; b < bodies.size(); b++) {
+                var body = bodies.get(b);
+                text.append(input, from, body.open() + 1);
+                opens[b] = text.length() - 1;
+                shifts[b] = body.close() - body.open() - 2;
+                text.append(' ');
+                from = body.close();
+            }
+            text.append(input, from, input.length());
+            return new Skeleton(text.toString(), opens, shifts);
+        }
+
+        int original(int offset) {
+            var shifted = offset;
+            for (int b = 0; b < opens.length && offset >= opens[b] + 2; b++) {
+                shifted += shifts[b];
+            }
+            return shifted;
+        }
+    }
+
+    private record LineIndex(int[] starts) {
+        static LineIndex lineIndex(String input) {
+            var starts = new ArrayList<Integer>();
+            starts.add(0);
+            for (int i = 0; i < input.length(); i++) {
+                if (input.charAt(i) == '\n') {
+                    starts.add(i + 1);
+                }
+            }
+            return new LineIndex(starts.stream()
+                                       .mapToInt(Integer::intValue)
+                                       .toArray());
+        }
+
+        SourceLocation location(int offset) {
+            var index = Arrays.binarySearch(starts, offset);
+            var line = index >= 0
+                       ? index
+                       : - index - 2;
+            return SourceLocation.sourceLocation(line + 1, offset - starts[line] + 1, offset);
+        }
+    }
+
+    // Maps nodes parsed from a skeleton or a piece back to positions in the original source
+    private record Relocation(IntUnaryOperator offsets, LineIndex lines) {
+        CstNode node(CstNode node) {
+            return switch (node) {
+                case CstNode.Terminal terminal -> new CstNode.Terminal(span(terminal.span()),
+                                                                       terminal.rule(),
+                                                                       terminal.text(),
+                                                                       trivia(terminal.leadingTrivia()),
+                                                                       trivia(terminal.trailingTrivia()));
+                case CstNode.NonTerminal nonTerminal -> new CstNode.NonTerminal(span(nonTerminal.span()),
+                                                                                nonTerminal.rule(),
+                                                                                nonTerminal.children()
+                                                                                           .stream()
+                                                                                           .map(this::node)
+                                                                                           .toList(),
+                                                                                trivia(nonTerminal.leadingTrivia()),
+                                                                                trivia(nonTerminal.trailingTrivia()));
+                case CstNode.Token token -> new CstNode.Token(span(token.span()),
+                                                              token.rule(),
+                                                              token.text(),
+                                                              trivia(token.leadingTrivia()),
+                                                              trivia(token.trailingTrivia()));
+                case CstNode.Error error -> new CstNode.Error(span(error.span()),
+                                                              error.skippedText(),
+                                                              error.expected(),
+                                                              trivia(error.leadingTrivia()),
+                                                              trivia(error.trailingTrivia()));
+            };
+        }
+
+        List<Trivia> trivia(List<Trivia> trivia) {
+            if (trivia.isEmpty()) {
+                return trivia;
+            }
+            return trivia.stream()
+                         .map(this::trivia)
+                         .toList();
+        }
+
+        Trivia trivia(Trivia trivia) {
+            return switch (trivia) {
+                case Trivia.Whitespace whitespace -> new Trivia.Whitespace(span(whitespace.span()), whitespace.text());
+                case Trivia.LineComment comment -> new Trivia.LineComment(span(comment.span()), comment.text());
+                case Trivia.BlockComment comment -> new Trivia.BlockComment(span(comment.span()), comment.text());
+            };
+        }
+
+        SourceSpan span(SourceSpan span) {
+            return SourceSpan.sourceSpan(location(span.start()), location(span.end()));
+        }
+
+        SourceLocation location(SourceLocation location) {
+            return lines.location(offsets.applyAsInt(location.offset()));
+        }
+    }
+}
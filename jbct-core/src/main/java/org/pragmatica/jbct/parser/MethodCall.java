@@ -0,0 +1,111 @@
+package org.pragmatica.jbct.parser;
+
+import org.pragmatica.jbct.parser.Java25Parser.CstNode;
+import org.pragmatica.jbct.parser.Java25Parser.RuleId;
+import org.pragmatica.lang.Option;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.pragmatica.jbct.parser.CstNodes.*;
+
+/**
+ * Structural view of a method invocation within a {@code Postfix} expression.
+ *
+ * <p>The grammar represents calls in two shapes: {@code a.b.m(x)} is a {@code QualifiedName} primary
+ * {@code a.b.m} followed by a bare {@code (x)} post-op, while {@code f().m(x)} ends with a {@code .m(x)}
+ * post-op. This view hides the difference, so rules can inspect calls without re-reading source text.
+ *
+ * @param name      identifier of the invoked method
+ * @param qualifier identifiers of the name the call is qualified with ({@code a, b} in {@code a.b.m(x)})
+ * @param receiver  preceding part of the postfix expression for post-op calls ({@code f()} in {@code f().m(x)})
+ * @param args      argument list, if any arguments are passed
+ */
+public record MethodCall(CstNode name,
+                         List<CstNode> qualifier,
+                         Option<CstNode> receiver,
+                         Option<CstNode> args) {
+    public MethodCall {
+        qualifier = List.copyOf(qualifier);
+    }
+
+    /**
+     * Factory method for creating MethodCall.
+     */
+    public static MethodCall methodCall(CstNode name,
+                                        List<CstNode> qualifier,
+                                        Option<CstNode> receiver,
+                                        Option<CstNode> args) {
+        return new MethodCall(name, qualifier, receiver, args);
+    }
+
+    /**
+     * Extract method calls of a {@code Postfix} node in source order.
+     * Calls nested inside arguments belong to their own {@code Postfix} nodes and are not included.
+     */
+    public static List<MethodCall> methodCalls(CstNode postfix) {
+        var parts = children(postfix);
+        if (!isRule(postfix, RuleId.Postfix.class) || parts.size() < 2) {
+            return List.of();
+        }
+        var headName = primaryName(parts.getFirst());
+        var calls = new ArrayList<MethodCall>();
+        for (int i = 1; i < parts.size(); i++) {
+            var op = parts.get(i);
+            if (i == 1 && !headName.isEmpty() && child(op, 0).filter(first -> isLiteral(first, "("))
+                                                             .isPresent()) {
+                // a.b.m(x): the method name is the last segment of the qualified name
+                calls.add(methodCall(headName.getLast(),
+                                     headName.subList(0, headName.size() - 1),
+                                     Option.none(),
+                                     childByRule(op, RuleId.Args.class)));
+                continue;
+            }
+            if (child(op, 0).filter(first -> isLiteral(first, "."))
+                            .isPresent() && hasLiteral(op, "(")) {
+                var qualifier = i == 1
+                                ? headName
+                                : List.<CstNode>of();
+                var receiver = parts.get(i - 1);
+                childByRule(op, RuleId.Identifier.class)
+                .onPresent(name -> calls.add(methodCall(name,
+                                                        qualifier,
+                                                        Option.some(receiver),
+                                                        childByRule(op, RuleId.Args.class))));
+            }
+        }
+        return calls;
+    }
+
+    /**
+     * Check if the call is qualified ({@code x.m()}, {@code f().m()}) rather than a bare {@code m()}.
+     */
+    public boolean qualified() {
+        return !qualifier.isEmpty() || receiver.isPresent();
+    }
+
+    /**
+     * Check if the call is chained directly on the result of another call or constructor ({@code f().m()}).
+     */
+    public boolean chained() {
+        return receiver.map(node -> children(node))
+                       .filter(parts -> !parts.isEmpty() && isLiteral(parts.getLast(), ")"))
+                       .isPresent();
+    }
+
+    /**
+     * Argument expressions of the call.
+     */
+    public List<CstNode> arguments() {
+        return args.map(list -> childrenByRule(list, RuleId.Expr.class))
+                   .or(List.of());
+    }
+
+    private static List<CstNode> primaryName(CstNode primary) {
+        var parts = children(primary);
+        if (parts.size() != 1 || !isRule(parts.getFirst(), RuleId.QualifiedName.class)) {
+            return List.of();
+        }
+        return childrenByRule(parts.getFirst(), RuleId.Identifier.class);
+    }
+}
@@ -23,11 +23,26 @@ public sealed interface FileCollector permits FileCollector.unused {
      * @return List of Java file paths
      */
     static List<Path> collectJavaFiles(List<Path> paths, Consumer<String> errorHandler) {
+        return collectJavaFiles(paths, List.of(), errorHandler);
+    }
+
+    /**
+     * Collect Java files from a list of paths (files or directories).
+     * Directories are scanned recursively, skipping ignored and excluded directories.
+     * Files given explicitly are always collected.
+     *
+     * @param paths        List of paths to collect from
+     * @param excludes     Exclude patterns in {@code .gitignore} syntax, relative to each scanned directory
+     * @param errorHandler Handler for errors during collection
+     * @return List of Java file paths
+     */
+    static List<Path> collectJavaFiles(List<Path> paths, List<String> excludes, Consumer<String> errorHandler) {
+        var discovery = SourceDiscovery.sourceDiscovery(excludes);
         var files = new ArrayList<Path>();
         for (var path : paths) {
             if (Files.isDirectory(path)) {
                 SourceRoot.sourceRoot(path)
-                          .flatMap(SourceRoot::findJavaFiles)
+                          .flatMap(root -> root.findJavaFiles(discovery))
                           .onSuccess(files::addAll)
                           .onFailure(cause -> errorHandler.accept("Error scanning " + path + ": " + cause.message()));
             } else if (path.toString()
@@ -51,19 +66,41 @@ public sealed interface FileCollector permits FileCollector.unused {
                                              Option<Path> testSourceDirectory,
                                              boolean includeTests,
                                              Consumer<String> errorHandler) {
+        return collectFromDirectories(sourceDirectory, testSourceDirectory, includeTests, List.of(), errorHandler);
+    }
+
+    /**
+     * Collect Java files from source directories (for Maven plugin), skipping excluded directories.
+     *
+     * @param sourceDirectory     Main source directory (may be empty)
+     * @param testSourceDirectory Test source directory (may be empty)
+     * @param includeTests        Whether to include test sources
+     * @param excludes            Exclude patterns in {@code .gitignore} syntax, relative to each source directory
+     * @param errorHandler        Handler for errors during collection
+     * @return List of Java file paths
+     */
+    static List<Path> collectFromDirectories(Option<Path> sourceDirectory,
+                                             Option<Path> testSourceDirectory,
+                                             boolean includeTests,
+                                             List<String> excludes,
+                                             Consumer<String> errorHandler) {
+        var discovery = SourceDiscovery.sourceDiscovery(excludes);
         var files = new ArrayList<Path>();
         sourceDirectory.filter(Files::exists)
-                       .onPresent(dir -> collectFromDirectory(dir, files, errorHandler));
+                       .onPresent(dir -> collectFromDirectory(dir, discovery, files, errorHandler));
         if (includeTests) {
             testSourceDirectory.filter(Files::exists)
-                               .onPresent(dir -> collectFromDirectory(dir, files, errorHandler));
+                               .onPresent(dir -> collectFromDirectory(dir, discovery, files, errorHandler));
         }
         return List.copyOf(files);
     }
 
-    private static void collectFromDirectory(Path directory, List<Path> files, Consumer<String> errorHandler) {
+    private static void collectFromDirectory(Path directory,
+                                             SourceDiscovery discovery,
+                                             List<Path> files,
+                                             Consumer<String> errorHandler) {
         SourceRoot.sourceRoot(directory)
-                  .flatMap(SourceRoot::findJavaFiles)
+                  .flatMap(root -> root.findJavaFiles(discovery))
                   .onSuccess(files::addAll)
                   .onFailure(cause -> errorHandler.accept("Error scanning " + directory + ": " + cause.message()));
     }
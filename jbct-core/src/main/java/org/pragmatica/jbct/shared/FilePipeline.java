@@ -0,0 +1,146 @@
+package org.pragmatica.jbct.shared;
+
+import org.pragmatica.lang.Functions.Fn1;
+import org.pragmatica.lang.Result;
+import org.pragmatica.lang.utils.Causes;
+
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiConsumer;
+
+/**
+ * Streaming read, process and report pipeline over source files with a bounded in-flight window.
+ *
+ * <p>Files are read and processed (parsed, analyzed) on a fixed pool of worker threads, with at most
+ * {@code 2 * concurrency} files in flight. Results are handed to the sink on the calling thread, in
+ * input order, as soon as all earlier files are reported. Contents and CSTs are released when the
+ * processing stage returns and results when the sink returns, so peak memory is proportional to the
+ * concurrency level rather than to the number of files.
+ *
+ * <p><b>Thread Safety:</b> The processing stage runs concurrently and must be thread-safe. The sink
+ * only runs on the calling thread.
+ *
+ * @param <R> result of processing a single file
+ */
+public final class FilePipeline<R> {
+    private final int concurrency;
+    private final Fn1<Result<R>, SourceFile> stage;
+
+    private FilePipeline(int concurrency, Fn1<Result<R>, SourceFile> stage) {
+        this.concurrency = concurrency;
+        this.stage = stage;
+    }
+
+    /**
+     * Create pipeline using all available processors.
+     *
+     * @param stage processing applied to each file after reading it
+     */
+    public static <R> FilePipeline<R> filePipeline(Fn1<Result<R>, SourceFile> stage) {
+        return filePipeline(Runtime.getRuntime()
+                                   .availableProcessors(),
+                            stage);
+    }
+
+    /**
+     * Create pipeline with the given number of worker threads. A concurrency of 1 processes
+     * files on the calling thread.
+     *
+     * @param concurrency number of files processed at the same time
+     * @param stage       processing applied to each file after reading it
+     */
+    public static <R> FilePipeline<R> filePipeline(int concurrency, Fn1<Result<R>, SourceFile> stage) {
+        return new FilePipeline<>(Math.max(1, concurrency), stage);
+    }
+
+    /**
+     * Process all files, reporting each result in input order.
+     *
+     * @return number of files reported
+     */
+    public int forEach(List<Path> files, BiConsumer<Path, Result<R>> sink) {
+        return until(files,
+                     (file, result) -> {
+                         sink.accept(file, result);
+                         return true;
+                     });
+    }
+
+    /**
+     * Process files in input order until the sink asks to stop. Files in flight when the sink
+     * stops are discarded without being reported.
+     *
+     * @return number of files reported
+     */
+    public int until(List<Path> files, Sink<R> sink) {
+        if (concurrency == 1) {
+            for (int i = 0; i < files.size(); i++) {
+                if (!sink.accept(files.get(i), process(files.get(i)))) {
+                    return i + 1;
+                }
+            }
+            return files.size();
+        }
+        var window = 2 * concurrency;
+        var threads = Thread.ofPlatform()
+                            .name("jbct-pipeline-", 0)
+                            .daemon()
+                            .factory();
+        try (var executor = Executors.newFixedThreadPool(concurrency, threads)) {
+            var inFlight = new ArrayDeque<Future<Result<R>>>(window);
+            var submitted = 0;
+            var reported = 0;
+            while (reported < files.size()) {
+                while (submitted < files.size() && inFlight.size() < window) {
+                    var file = files.get(submitted++);
+                    inFlight.add(executor.submit(() -> process(file)));
+                }
+                var result = await(inFlight.poll());
+                if (!sink.accept(files.get(reported++), result)) {
+                    inFlight.forEach(pending -> pending.cancel(true));
+                    executor.shutdownNow();
+                    break;
+                }
+            }
+            return reported;
+        }
+    }
+
+    private Result<R> process(Path file) {
+        return SourceFile.sourceFile(file)
+                         .flatMap(stage);
+    }
+
+    private static <R> Result<R> await(Future<Result<R>> pending) {
+        try{
+            return pending.get();
+        } catch (ExecutionException e) {
+            return Causes.fromThrowable(e.getCause())
+                         .result();
+        } catch (InterruptedException e) {
+            Thread.currentThread()
+                  .interrupt();
+            return Causes.fromThrowable(e)
+                         .result();
+        }
+    }
+
+    /**
+     * Receiver of per-file results.
+     *
+     * @param <R> result of processing a single file
+     */
+    @FunctionalInterface
+    public interface Sink<R> {
+        /**
+         * Accept the result of a file.
+         *
+         * @return {@code true} to continue with the next file, {@code false} to stop
+         */
+        boolean accept(Path file, Result<R> result);
+    }
+}
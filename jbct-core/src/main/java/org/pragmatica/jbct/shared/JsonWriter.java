@@ -0,0 +1,111 @@
+package org.pragmatica.jbct.shared;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * Minimal streaming JSON token writer.
+ *
+ * <p>Strings are escaped character by character directly into the underlying writer
+ * (RFC 8259: quote, backslash and all control characters), so no intermediate strings are built.
+ * Shared by every JSON output of the tool, so there is a single escaper.
+ *
+ * <p><b>Thread Safety:</b> Not thread-safe.
+ */
+public final class JsonWriter {
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private final Writer out;
+
+    private JsonWriter(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * Factory method for creating JsonWriter.
+     */
+    public static JsonWriter jsonWriter(Writer out) {
+        return new JsonWriter(out);
+    }
+
+    /**
+     * Write structural text as-is.
+     */
+    public JsonWriter raw(String text) {
+        try{
+            out.write(text);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this;
+    }
+
+    /**
+     * Write a quoted, escaped JSON string.
+     */
+    public JsonWriter string(String value) {
+        try{
+            out.write('"');
+            for (int i = 0; i < value.length(); i++) {
+                writeEscaped(value.charAt(i));
+            }
+            out.write('"');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return this;
+    }
+
+    /**
+     * Write a JSON number.
+     */
+    public JsonWriter number(long value) {
+        return raw(Long.toString(value));
+    }
+
+    /**
+     * Write a {@code "name": "value"} member.
+     */
+    public JsonWriter member(String name, String value) {
+        return string(name).raw(": ")
+                           .string(value);
+    }
+
+    /**
+     * Write a {@code "name": number} member.
+     */
+    public JsonWriter member(String name, long value) {
+        return string(name).raw(": ")
+                           .number(value);
+    }
+
+    public void flush() {
+        try{
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void writeEscaped(char c) throws IOException {
+        switch (c) {
+            case '"' -> out.write("\\\"");
+            case '\\' -> out.write("\\\\");
+            case '\n' -> out.write("\\n");
+            case '\r' -> out.write("\\r");
+            case '\t' -> out.write("\\t");
+            case '\b' -> out.write("\\b");
+            case '\f' -> out.write("\\f");
+            default -> {
+                if (c < 0x20) {
+                    out.write("\\u00");
+                    out.write(HEX[c >> 4]);
+                    out.write(HEX[c & 0xF]);
+                } else {
+                    out.write(c);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,364 @@
+package org.pragmatica.jbct.shared;
+
+import org.pragmatica.lang.Option;
+import org.pragmatica.lang.Result;
+import org.pragmatica.lang.utils.Causes;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.regex.Pattern;
+
+import static org.pragmatica.lang.Result.lift;
+
+/**
+ * Discovery of Java source files which skips ignored parts of the tree.
+ *
+ * <p>Directories are pruned before descending when they are:
+ * <ul>
+ *   <li>version control or tool directories ({@code .git}, {@code node_modules}, ...)</li>
+ *   <li>build output ({@code target}, {@code build}) next to a Maven or Gradle build file</li>
+ *   <li>ignored by a {@code .gitignore} file inside the scanned tree or above it, up to the repository root</li>
+ *   <li>matched by one of the configured excludes</li>
+ * </ul>
+ *
+ * <p>Excludes use {@code .gitignore} syntax and are relative to the scanned root, e.g.
+ * {@code generated/} or {@code **}{@code /*Generated.java}.
+ *
+ * <p>Each directory is listed once with {@link Files#walkFileTree}, so entry types come from the
+ * attributes read during listing instead of an extra stat per path. Subdirectories are scanned in
+ * parallel on the common fork-join pool. Files are returned in sorted order.
+ */
+public final class SourceDiscovery {
+    private static final Set<String> PRUNED_DIRECTORIES = Set.of(".git",
+                                                                 ".hg",
+                                                                 ".svn",
+                                                                 ".gradle",
+                                                                 ".idea",
+                                                                 "node_modules");
+    private static final Set<String> BUILD_OUTPUT_DIRECTORIES = Set.of("target", "build");
+    private static final Set<String> BUILD_FILES = Set.of("pom.xml", "build.gradle", "build.gradle.kts");
+    private static final String GITIGNORE = ".gitignore";
+    private static final SourceDiscovery DEFAULT = new SourceDiscovery(List.of());
+
+    private final List<IgnoreRule> excludes;
+
+    private SourceDiscovery(List<IgnoreRule> excludes) {
+        this.excludes = excludes;
+    }
+
+    /**
+     * Discovery honoring {@code .gitignore} files only.
+     */
+    public static SourceDiscovery sourceDiscovery() {
+        return DEFAULT;
+    }
+
+    /**
+     * Discovery honoring {@code .gitignore} files and the given excludes.
+     *
+     * @param excludes exclude patterns in {@code .gitignore} syntax, relative to the scanned root
+     */
+    public static SourceDiscovery sourceDiscovery(List<String> excludes) {
+        var rules = excludes.stream()
+                            .flatMap(line -> ignoreRule(line).stream())
+                            .toList();
+        return rules.isEmpty()
+               ? DEFAULT
+               : new SourceDiscovery(rules);
+    }
+
+    /**
+     * Find all Java source files below the given directory.
+     */
+    public Result<List<Path>> findJavaFiles(Path root) {
+        return lift(Causes::fromThrowable,
+                    () -> {
+                        var absoluteRoot = root.toAbsolutePath()
+                                               .normalize();
+                        var scope = new Scope(repositoryIgnoreFiles(absoluteRoot),
+                                              new IgnoreFile(absoluteRoot, excludes));
+                        var files = new ArrayList<>(ForkJoinPool.commonPool()
+                                                                .invoke(new ScanTask(root, scope)));
+                        files.sort(Comparator.naturalOrder());
+                        return List.copyOf(files);
+                    });
+    }
+
+    /**
+     * Load {@code .gitignore} files of the directories between the repository root and the scanned root.
+     * The scanned root's own file is picked up while scanning it.
+     */
+    private static List<IgnoreFile> repositoryIgnoreFiles(Path root) {
+        var ancestors = new ArrayList<Path>();
+        for (var dir = root.getParent(); dir != null; dir = dir.getParent()) {
+            ancestors.addFirst(dir);
+            if (Files.exists(dir.resolve(".git"))) {
+                return ancestors.stream()
+                                .flatMap(ancestor -> readIgnoreFile(ancestor).stream())
+                                .toList();
+            }
+        }
+        // Not inside a repository: .gitignore files above the root do not apply
+        return List.of();
+    }
+
+    private static Option<IgnoreFile> readIgnoreFile(Path directory) {
+        var file = directory.resolve(GITIGNORE);
+        if (!Files.isRegularFile(file)) {
+            return Option.none();
+        }
+        try{
+            var rules = Files.readAllLines(file)
+                             .stream()
+                             .flatMap(line -> ignoreRule(line).stream())
+                             .toList();
+            return Option.some(new IgnoreFile(directory, rules));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Parse a single {@code .gitignore} line into a rule matching paths relative to the file's directory.
+     */
+    static Option<IgnoreRule> ignoreRule(String line) {
+        var text = line.stripTrailing();
+        if (text.isEmpty() || text.startsWith("#")) {
+            return Option.none();
+        }
+        var negated = text.startsWith("!");
+        if (negated) {
+            text = text.substring(1);
+        } else if (text.startsWith("\\")) {
+            text = text.substring(1);
+        }
+        var directoryOnly = text.endsWith("/");
+        if (directoryOnly) {
+            text = text.substring(0, text.length() - 1);
+        }
+        // A slash anywhere but at the end anchors the pattern to the .gitignore directory
+        var anchored = text.contains("/");
+        if (text.startsWith("/")) {
+            text = text.substring(1);
+        }
+        if (text.isEmpty()) {
+            return Option.none();
+        }
+        var regex = anchored
+                    ? globRegex(text)
+                    : "(?:.*/)?" + globRegex(text);
+        return Option.some(new IgnoreRule(Pattern.compile(regex), negated, directoryOnly));
+    }
+
+    private static String globRegex(String glob) {
+        var regex = new StringBuilder();
+        for (int i = 0; i < glob.length(); i++) {
+            var c = glob.charAt(i);
+            switch (c) {
+                case '*' -> {
+                    var doubleStar = glob.startsWith("**", i)
+                                     && (i == 0 || glob.charAt(i - 1) == '/')
+                                     && (i + 2 == glob.length() || glob.charAt(i + 2) == '/');
+                    if (!doubleStar) {
+                        regex.append("[^/]*");
+                    } else if (i + 2 == glob.length()) {
+                        regex.append(".*");
+                        i++;
+                    } else {
+                        regex.append("(?:.*/)?");
+                        i += 2;
+                    }
+                }
+                case '?' -> regex.append("[^/]");
+                case '[' -> {
+                    var end = glob.indexOf(']', i + 2);
+                    if (end < 0) {
+                        regex.append("\\[");
+                    } else {
+                        var body = glob.substring(i + 1, end);
+                        if (body.startsWith("!")) {
+                            body = "^" + body.substring(1);
+                        }
+                        regex.append('[')
+                             .append(body.replace("\\", "\\\\")
+                                         .replace("[", "\\["))
+                             .append(']');
+                        i = end;
+                    }
+                }
+                case '\\' -> {
+                    if (i + 1 < glob.length()) {
+                        regex.append(Pattern.quote(String.valueOf(glob.charAt(++i))));
+                    }
+                }
+                default -> {
+                    if (Character.isLetterOrDigit(c) || c == '/') {
+                        regex.append(c);
+                    } else {
+                        regex.append('\\')
+                             .append(c);
+                    }
+                }
+            }
+        }
+        return regex.toString();
+    }
+
+    /**
+     * Single ignore pattern; {@code negated} patterns re-include paths matched by earlier ones.
+     */
+    record IgnoreRule(Pattern pattern, boolean negated, boolean directoryOnly) {}
+
+    /**
+     * Ignore rules together with the directory their patterns are relative to.
+     */
+    private record IgnoreFile(Path base, List<IgnoreRule> rules) {
+        /**
+         * Decide whether the path is ignored by this file.
+         *
+         * @return matching verdict of the last matching rule, or empty if no rule matches
+         */
+        Option<Boolean> verdict(Path absolutePath, boolean directory) {
+            if (rules.isEmpty() || !absolutePath.startsWith(base)) {
+                return Option.none();
+            }
+            var relative = base.relativize(absolutePath)
+                               .toString()
+                               .replace(File.separatorChar, '/');
+            Option<Boolean> verdict = Option.none();
+            for (var rule : rules) {
+                if ((directory || !rule.directoryOnly()) && rule.pattern()
+                                                                .matcher(relative)
+                                                                .matches()) {
+                    verdict = Option.some(!rule.negated());
+                }
+            }
+            return verdict;
+        }
+    }
+
+    /**
+     * Ignore files in effect for a directory, outermost first, plus the configured excludes.
+     */
+    private record Scope(List<IgnoreFile> ignoreFiles, IgnoreFile excludes) {
+        Scope with(Option<IgnoreFile> ignoreFile) {
+            return ignoreFile.map(file -> {
+                                      var files = new ArrayList<>(ignoreFiles);
+                                      files.add(file);
+                                      return new Scope(List.copyOf(files), excludes);
+                                  })
+                             .or(this);
+        }
+
+        boolean ignored(Path path, boolean directory) {
+            if (ignoreFiles.isEmpty() && excludes.rules()
+                                                 .isEmpty()) {
+                return false;
+            }
+            var absolutePath = path.toAbsolutePath()
+                                   .normalize();
+            if (excludes.verdict(absolutePath, directory)
+                        .or(false)) {
+                return true;
+            }
+            // Deeper .gitignore files override outer ones
+            for (var file : ignoreFiles.reversed()) {
+                var verdict = file.verdict(absolutePath, directory);
+                if (verdict.isPresent()) {
+                    return verdict.unwrap();
+                }
+            }
+            return false;
+        }
+    }
+
+    private record Entry(Path path, BasicFileAttributes attributes) {}
+
+    /**
+     * Lists one directory and forks a task per remaining subdirectory.
+     */
+    private static final class ScanTask extends RecursiveTask<List<Path>> {
+        private final Path directory;
+        private final Scope parentScope;
+
+        private ScanTask(Path directory, Scope parentScope) {
+            this.directory = directory;
+            this.parentScope = parentScope;
+        }
+
+        @Override
+        protected List<Path> compute() {
+            var entries = list(directory);
+            var names = entries.stream()
+                               .map(entry -> entry.path()
+                                                  .getFileName()
+                                                  .toString())
+                               .toList();
+            var scope = names.contains(GITIGNORE)
+                        ? parentScope.with(readIgnoreFile(directory.toAbsolutePath()
+                                                                   .normalize()))
+                        : parentScope;
+            var hasBuildFile = names.stream()
+                                    .anyMatch(BUILD_FILES::contains);
+            var files = new ArrayList<Path>();
+            var subtasks = new ArrayList<ScanTask>();
+            for (var entry : entries) {
+                var path = entry.path();
+                var name = path.getFileName()
+                               .toString();
+                var attributes = entry.attributes();
+                if (attributes.isDirectory()) {
+                    if (!pruned(name, hasBuildFile) && !scope.ignored(path, true)) {
+                        subtasks.add(new ScanTask(path, scope));
+                    }
+                } else if (name.endsWith(".java") && isRegularFile(path, attributes) && !scope.ignored(path, false)) {
+                    files.add(path);
+                }
+            }
+            for (var task : invokeAll(subtasks)) {
+                files.addAll(task.join());
+            }
+            return files;
+        }
+
+        private static boolean pruned(String name, boolean hasBuildFile) {
+            return PRUNED_DIRECTORIES.contains(name) || (hasBuildFile && BUILD_OUTPUT_DIRECTORIES.contains(name));
+        }
+
+        private static boolean isRegularFile(Path path, BasicFileAttributes attributes) {
+            // Links are not followed while listing; only they need another stat
+            return attributes.isRegularFile() || (attributes.isSymbolicLink() && Files.isRegularFile(path));
+        }
+
+        private static List<Entry> list(Path directory) {
+            var entries = new ArrayList<Entry>();
+            try{
+                Files.walkFileTree(directory,
+                                   Set.of(),
+                                   1,
+                                   new SimpleFileVisitor<>() {
+                                       @Override
+                                       public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+                                           entries.add(new Entry(file, attributes));
+                                           return FileVisitResult.CONTINUE;
+                                       }
+                                   });
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return entries;
+        }
+    }
+}
@@ -3,8 +3,17 @@ package org.pragmatica.jbct.shared;
 import org.pragmatica.lang.Result;
 import org.pragmatica.lang.utils.Causes;
 
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.HexFormat;
 
 import static org.pragmatica.lang.Result.lift;
 
@@ -28,15 +37,63 @@ public record SourceFile(Path path, String content) {
 
     /**
      * Write the content back to the file.
+     *
+     * @see #writeIfChanged()
      */
     public Result<SourceFile> write() {
+        return writeIfChanged().map(_ -> this);
+    }
+
+    /**
+     * Write the content back to the file unless the file already holds exactly these bytes, so
+     * unchanged files keep their modification time.
+     *
+     * <p>An existing file is replaced by writing a temporary file next to it and renaming it over
+     * the original, so an interrupted write never leaves a truncated file behind.
+     *
+     * @return {@code true} if the file was written
+     */
+    public Result<Boolean> writeIfChanged() {
         return lift(Causes::fromThrowable,
                     () -> {
-                        Files.writeString(path, content);
-                        return this;
+                        var bytes = content.getBytes(StandardCharsets.UTF_8);
+                        if (!Files.exists(path)) {
+                            Files.write(path, bytes);
+                            return true;
+                        }
+                        if (hasContent(bytes)) {
+                            return false;
+                        }
+                        replaceWith(bytes);
+                        return true;
                     });
     }
 
+    private boolean hasContent(byte[] bytes) throws IOException {
+        return Files.size(path) == bytes.length && Arrays.equals(Files.readAllBytes(path), bytes);
+    }
+
+    private void replaceWith(byte[] bytes) throws IOException {
+        var directory = path.toAbsolutePath()
+                            .getParent();
+        var temp = Files.createTempFile(directory, "." + fileName() + ".", ".tmp");
+        try{
+            Files.write(temp, bytes);
+            if (Files.getFileStore(path)
+                     .supportsFileAttributeView(PosixFileAttributeView.class)) {
+                // Temporary files are owner-only; keep the permissions of the original
+                Files.setPosixFilePermissions(temp, Files.getPosixFilePermissions(path));
+            }
+            try{
+                Files.move(temp, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally{
+            Files.deleteIfExists(temp);
+        }
+    }
+
     /**
      * Create a new SourceFile with updated content.
      */
@@ -51,4 +108,19 @@ public record SourceFile(Path path, String content) {
         return path.getFileName()
                    .toString();
     }
+
+    /**
+     * Content fingerprint used to detect changed files. Cached verdicts are trusted without looking
+     * at the file again, so the fingerprint is a cryptographic digest rather than a checksum.
+     */
+    public static String fingerprint(String content) {
+        try{
+            var digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of()
+                            .formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
 }
@@ -7,9 +7,6 @@ import org.pragmatica.lang.utils.Causes;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
-import java.util.stream.Stream;
-
-import static org.pragmatica.lang.Result.lift;
 
 /**
  * Value object representing a source root directory containing Java files.
@@ -31,22 +28,25 @@ public record SourceRoot(Path path) {
     }
 
     /**
-     * Find all Java source files in this source root.
+     * Find all Java source files in this source root, skipping directories ignored by {@code .gitignore}
+     * and build output.
      */
     public Result<List<Path>> findJavaFiles() {
-        return lift(Causes::fromThrowable,
-                    () -> {
-                        try (Stream<Path> walk = Files.walk(path)) {
-                            return walk.filter(Files::isRegularFile)
-                                       .filter(p -> p.toString()
-                                                     .endsWith(".java"))
-                                       .toList();
-                        }
-                    });
+        return findJavaFiles(SourceDiscovery.sourceDiscovery());
+    }
+
+    /**
+     * Find all Java source files in this source root using the given discovery settings.
+     */
+    public Result<List<Path>> findJavaFiles(SourceDiscovery discovery) {
+        return discovery.findJavaFiles(path);
     }
 
     /**
      * Load all Java source files as SourceFile objects.
+     *
+     * <p>Keeps the content of every file in memory. For large trees use {@link FilePipeline},
+     * which holds only the files in flight.
      */
     public Result<List<SourceFile>> loadJavaFiles() {
         return findJavaFiles().map(paths -> paths.stream()
@@ -0,0 +1,69 @@
+package org.pragmatica.jbct.analysis;
+
+import org.pragmatica.jbct.format.FormatterConfig;
+import org.pragmatica.jbct.format.cst.CstFormatter;
+import org.pragmatica.jbct.lint.LintContext;
+import org.pragmatica.jbct.lint.cst.CstLinter;
+import org.pragmatica.jbct.shared.SourceFile;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SourceAnalyzerTest {
+    private static final String SOURCE = """
+        package com.example.domain;
+
+        public class Test {
+            public String   name(   ) {
+                return null;
+            }
+        }
+        """;
+
+    private final LintContext context = LintContext.lintContext(List.of("**.domain.**"));
+    private final CstFormatter formatter = CstFormatter.cstFormatter(FormatterConfig.defaultConfig());
+    private final CstLinter linter = CstLinter.cstLinter(context);
+    private final SourceAnalyzer analyzer = SourceAnalyzer.sourceAnalyzer(formatter, linter);
+
+    @Test
+    void check_matchesSeparateFormatAndLint() {
+        var source = SourceFile.sourceFile(Path.of("Test.java"), SOURCE);
+        var expectedFormatted = formatter.format(source)
+                                         .unwrap()
+                                         .content();
+        var expectedDiagnostics = linter.lint(source)
+                                        .unwrap();
+        analyzer.check(source)
+                .onFailure(cause -> Assertions.fail(cause.message()))
+                .onSuccess(result -> {
+                               assertThat(result.formatted()).isEqualTo(expectedFormatted);
+                               assertThat(result.changed()).isTrue();
+                               assertThat(result.diagnostics()).isEqualTo(expectedDiagnostics);
+                           });
+    }
+
+    @Test
+    void checkFailFast_skipsLintWhenFormattingChanges() {
+        var source = SourceFile.sourceFile(Path.of("Test.java"), SOURCE);
+        analyzer.checkFailFast(source)
+                .onFailure(cause -> Assertions.fail(cause.message()))
+                .onSuccess(result -> {
+                               assertThat(result.changed()).isTrue();
+                               // Fail-fast results carry no formatted text
+                               assertThat(result.formatted()).isEqualTo(SOURCE);
+                               assertThat(result.diagnostics()).isEmpty();
+                           });
+    }
+
+    @Test
+    void check_reportsParseErrors() {
+        var source = SourceFile.sourceFile(Path.of("Broken.java"), "public class {");
+        assertThat(analyzer.check(source)
+                           .isFailure()).isTrue();
+    }
+}
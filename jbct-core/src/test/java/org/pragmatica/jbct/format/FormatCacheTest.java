@@ -0,0 +1,74 @@
+package org.pragmatica.jbct.format;
+
+import org.pragmatica.jbct.shared.SourceFile;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FormatCacheTest {
+    @Test
+    void verifiedContentSurvivesReload(@TempDir Path dir) {
+        var index = dir.resolve("jbct/format-cache.tsv");
+        var source = SourceFile.sourceFile(dir.resolve("App.java"), "class App {}\n");
+        var cache = FormatCache.formatCache(index, FormatterConfig.DEFAULT);
+        assertFalse(cache.isFormatted(source));
+        cache.markFormatted(source);
+        assertTrue(cache.write()
+                        .isSuccess());
+        assertTrue(FormatCache.formatCache(index, FormatterConfig.DEFAULT)
+                              .isFormatted(source));
+    }
+
+    @Test
+    void changedContentOrConfigurationIsNotFormatted(@TempDir Path dir) {
+        var index = dir.resolve("format-cache.tsv");
+        var source = SourceFile.sourceFile(dir.resolve("App.java"), "class App {}\n");
+        var cache = FormatCache.formatCache(index, FormatterConfig.DEFAULT);
+        cache.markFormatted(source);
+        cache.write();
+        assertFalse(FormatCache.formatCache(index, FormatterConfig.DEFAULT)
+                               .isFormatted(source.withContent("class App { }\n")));
+        assertFalse(FormatCache.formatCache(index,
+                                            FormatterConfig.DEFAULT.withMaxLineLength(100))
+                               .isFormatted(source));
+    }
+
+    @Test
+    void staleAndDeletedEntriesAreDropped(@TempDir Path dir) throws Exception {
+        var index = dir.resolve("format-cache.tsv");
+        var kept = SourceFile.sourceFile(dir.resolve("Kept.java"), "class Kept {}\n");
+        var deleted = SourceFile.sourceFile(dir.resolve("Deleted.java"), "class Deleted {}\n");
+        Files.writeString(kept.path(), kept.content());
+        var cache = FormatCache.formatCache(index, FormatterConfig.DEFAULT);
+        cache.markFormatted(kept);
+        cache.markFormatted(deleted);
+        cache.write();
+        // Not seen by this run, but still on disk: kept
+        FormatCache.formatCache(index, FormatterConfig.DEFAULT)
+                   .write();
+        assertTrue(Files.readString(index)
+                        .contains("Kept.java"));
+        assertFalse(Files.readString(index)
+                         .contains("Deleted.java"));
+        // Recorded with other settings: dropped
+        FormatCache.formatCache(index,
+                                FormatterConfig.DEFAULT.withMaxLineLength(100))
+                   .write();
+        assertFalse(Files.readString(index)
+                         .contains("Kept.java"));
+    }
+
+    @Test
+    void malformedIndexIsIgnored(@TempDir Path dir) throws Exception {
+        var index = dir.resolve("format-cache.tsv");
+        Files.writeString(index, "jbct-format-cache 1\nbroken line\n");
+        var source = SourceFile.sourceFile(dir.resolve("App.java"), "class App {}\n");
+        assertFalse(FormatCache.formatCache(index, FormatterConfig.DEFAULT)
+                               .isFormatted(source));
+    }
+}
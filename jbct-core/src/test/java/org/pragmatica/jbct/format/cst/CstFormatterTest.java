@@ -1,5 +1,6 @@
 package org.pragmatica.jbct.format.cst;
 
+import org.pragmatica.jbct.format.TextEdit;
 import org.pragmatica.jbct.parser.Java25Parser;
 import org.pragmatica.jbct.parser.Java25Parser.CstNode;
 import org.pragmatica.jbct.shared.SourceFile;
@@ -7,6 +8,7 @@ import org.pragmatica.jbct.shared.SourceFile;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Disabled;
@@ -652,4 +654,129 @@ class CstFormatterTest {
                          "Line count changed on pass " + i + " for " + fileName + ": " + firstLines + " -> " + currentLines);
         }
     }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ChainAlignment.java", "Records.java", "BlankLines.java", "Comments.java", "Lambdas.java"})
+    void formatRange_leavesGoldenExamplesUntouched(String fileName) throws IOException {
+        var path = EXAMPLES_DIR.resolve(fileName);
+        var source = new SourceFile(path, Files.readString(path));
+        var content = source.content();
+        // Start of every line: members, statements and the lines between them
+        var offset = 0;
+        while (offset < content.length()) {
+            var position = offset;
+            formatter.formatRange(source, position, position)
+                     .onFailure(cause -> fail("Range format failed for " + fileName + ": " + cause.message()))
+                     .onSuccess(edits -> assertEquals(List.of(),
+                                                      edits,
+                                                      "Unexpected edit at offset " + position + " of " + fileName));
+            offset = content.indexOf('\n', offset) + 1;
+            if (offset == 0) {
+                break;
+            }
+        }
+    }
+
+    @Test
+    void formatRange_editsOnlyEnclosingStatement() {
+        var content = """
+            package com.example;
+
+            public class Service {
+                int   first( int a ) {
+                    return a+1;
+                }
+
+                int second(int b) {
+                  if (b > 0) {
+                        return   b;
+                  }
+                    return 0;
+                }
+            }
+            """;
+        var source = new SourceFile(Path.of("Service.java"), content);
+        var offset = content.indexOf("return   b");
+        formatter.formatRange(source, offset, offset + 6)
+                 .onFailure(cause -> fail("Range format failed: " + cause.message()))
+                 .onSuccess(edits -> {
+                                var edited = TextEdit.apply(content, edits);
+                                // Innermost statement: only the return statement is reformatted
+                                assertThat(edited).contains("      if (b > 0) {\n            return b;\n      }");
+                                assertThat(edited).contains("int   first( int a ) {");
+                                var lineStart = content.lastIndexOf('\n', offset) + 1;
+                                assertTrue(edits.stream()
+                                                .allMatch(edit -> edit.startOffset() >= lineStart));
+                            });
+    }
+
+    @Test
+    void formatRange_rejectsInvalidRange() {
+        var source = new SourceFile(Path.of("Empty.java"), "class Empty {}\n");
+        assertTrue(formatter.formatRange(source, 5, 100)
+                            .isFailure());
+    }
+
+    @Test
+    void organizeImports_matchesFullFormattingOfHeader() {
+        var content = """
+            package test;
+            import java.util.List;
+            import org.pragmatica.lang.Result;
+            import static java.util.Collections.emptyList;
+            import java.util.Map;
+            import org.pragmatica.lang.Option;
+            /**
+             * Test type.
+             */
+            class Test {}
+            """;
+        var source = new SourceFile(Path.of("Test.java"), content);
+        var expected = formatter.format(source)
+                                .unwrap()
+                                .content();
+        formatter.organizeImports(source)
+                 .onFailure(cause -> fail("Organize imports failed: " + cause.message()))
+                 .onSuccess(edits -> {
+                                var edited = TextEdit.apply(content, edits);
+                                // Header as full formatting prints it, the type untouched
+                                assertEquals(expected.substring(0, expected.indexOf("/**")),
+                                             edited.substring(0, edited.indexOf("/**")));
+                                assertEquals(content.substring(content.indexOf("/**")),
+                                             edited.substring(edited.indexOf("/**")));
+                            });
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ChainAlignment.java", "Records.java", "Comments.java", "TextBlocks.java"})
+    void organizeImports_leavesGoldenExamplesUntouched(String fileName) throws IOException {
+        var path = EXAMPLES_DIR.resolve(fileName);
+        var source = new SourceFile(path, Files.readString(path));
+        assertEquals(List.of(),
+                     formatter.organizeImports(source)
+                              .unwrap());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ChainAlignment.java", "Records.java", "Comments.java", "TextBlocks.java"})
+    void isFormatted_agreesWithFullFormatting(String fileName) throws IOException {
+        var path = EXAMPLES_DIR.resolve(fileName);
+        var content = Files.readString(path);
+        var variants = List.of(content,
+                               content + "\n",
+                               content.stripTrailing(),
+                               content.replaceFirst("    ", "  "),
+                               content.replaceFirst(";", " ;"));
+        for (var variant : variants) {
+            var source = new SourceFile(path, variant);
+            var expected = formatter.format(source)
+                                    .map(formatted -> formatted.content()
+                                                               .equals(variant))
+                                    .unwrap();
+            assertEquals(expected,
+                         formatter.isFormatted(source)
+                                  .unwrap(),
+                         "Variant of " + fileName + ":\n" + variant);
+        }
+    }
 }
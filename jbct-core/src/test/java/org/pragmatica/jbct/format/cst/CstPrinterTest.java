@@ -0,0 +1,113 @@
+package org.pragmatica.jbct.format.cst;
+
+import org.pragmatica.jbct.format.FormatterConfig;
+import org.pragmatica.jbct.parser.Java25Parser;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Reusing measured widths must not change printer output: every case is printed with the measure
+ * cache and with every subtree measured afresh.
+ */
+class CstPrinterTest {
+    private static final Path EXAMPLES_DIR = Path.of("src/test/resources/format-examples");
+
+    @ParameterizedTest
+    @ValueSource(ints = {40, 80, 120})
+    void deeplyNestedFitChecksMatchUncachedOutput(int maxLineLength) {
+        var call = "value";
+        for (int i = 0; i < 12; i++) {
+            call = "transform" + i + "(" + call + ", \"argument" + i + "\", other" + i + ")";
+        }
+        var lambda = "x";
+        for (int i = 0; i < 8; i++) {
+            lambda = "items.map(item" + i + " -> item" + i + ".combine(" + lambda + ", limit" + i + " > 0 ? first" + i
+                     + " : second" + i + "))";
+        }
+        assertSameOutput("""
+            package com.example;
+
+            public class Nested {
+                Object calls(Object value) {
+                    return %s;
+                }
+
+                Object lambdas(Object x) {
+                    return %s;
+                }
+
+                Object chain(Input input) {
+                    return input.parse().flatMap(parsed -> validator.validate(parsed).map(valid -> repository.save(valid).onFailure(error -> log(error, parsed, valid)))).or(defaultValue(input));
+                }
+            }
+            """.formatted(call, lambda),
+                         maxLineLength);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {40, 80, 120})
+    void genericMethodSignaturesMatchUncachedOutput(int maxLineLength) {
+        assertSameOutput("""
+            package com.example;
+
+            import java.util.List;
+            import java.util.Map;
+
+            public interface Mapper {
+                <T extends Comparable<T>, R> Map<String, List<R>> group(List<T> values, Function<T, R> mapper, Comparator<R> order);
+
+                static <K, V extends List<K>> Mapper mapper(Map<K, V> source) {
+                    return new Mapper() {
+                        @Override
+                        public <T extends Comparable<T>, R> Map<String, List<R>> group(List<T> values, Function<T, R> mapper, Comparator<R> order) {
+                            Function<List<T>, Map<String, List<R>>> grouping = list -> Collections.<String, List<R>>emptyMap();
+                            return grouping.apply(values);
+                        }
+                    };
+                }
+
+                record Pair<A extends Comparable<A>, B>(A first, B second) {
+                    <C> Pair<A, C> withSecond(C value) { return new Pair<>(first, value); }
+                }
+            }
+            """,
+                         maxLineLength);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"ChainAlignment.java",
+    "MultilineArguments.java",
+    "MultilineParameters.java",
+    "Lambdas.java",
+    "Annotations.java",
+    "Records.java",
+    "SwitchExpressions.java",
+    "TernaryOperators.java",
+    "LineWrapping.java",
+    "Comments.java"})
+    void goldenExamplesMatchUncachedOutput(String fileName) throws IOException {
+        assertSameOutput(Files.readString(EXAMPLES_DIR.resolve(fileName)), 120);
+    }
+
+    @Test
+    void narrowLinesMatchUncachedOutputOnGoldenExamples() throws IOException {
+        // Narrow lines push fit checks to fail at every nesting level
+        assertSameOutput(Files.readString(EXAMPLES_DIR.resolve("LineWrapping.java")), 30);
+    }
+
+    private static void assertSameOutput(String source, int maxLineLength) {
+        var config = FormatterConfig.DEFAULT.withMaxLineLength(maxLineLength);
+        var root = new Java25Parser().parse(source)
+                                     .unwrap();
+        assertEquals(CstPrinter.printWithoutMeasureReuse(config, source, root),
+                     CstPrinter.print(config, source, root));
+    }
+}
@@ -0,0 +1,43 @@
+package org.pragmatica.jbct.lint;
+
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PackageClassifierTest {
+    @Test
+    void matchesAnyPatternEntirely() {
+        var classifier = PackageClassifier.packageClassifier(List.of(Pattern.compile(".*\\.usecase\\..*"),
+                                                                     Pattern.compile("com\\.example\\.domain")));
+        assertTrue(classifier.matches("com.example.usecase.login"));
+        assertTrue(classifier.matches("com.example.domain"));
+        assertFalse(classifier.matches("com.example.domain.shared"));
+        assertFalse(classifier.matches("com.example.adapter"));
+        // Memoized answers stay the same
+        assertTrue(classifier.matches("com.example.usecase.login"));
+        assertFalse(classifier.matches("com.example.adapter"));
+    }
+
+    @Test
+    void emptyClassifierMatchesNothing() {
+        var classifier = PackageClassifier.packageClassifier(List.of());
+        assertTrue(classifier.isEmpty());
+        assertFalse(classifier.matches("com.example.usecase.login"));
+    }
+
+    @Test
+    void contextsOfOneRunShareClassifier() {
+        var context = LintContext.lintContext(List.of("**.usecase.**"))
+                                 .withSlicePackages(List.of("**.usecase.*"));
+        var fileContext = context.withFileName("Login.java")
+                                 .withProjectIndex(ProjectIndex.empty());
+        assertSame(context.businessPackages(), fileContext.businessPackages());
+        assertSame(context.slicePackages(), fileContext.slicePackages());
+        assertTrue(fileContext.isBusinessPackage("com.example.usecase.login"));
+        assertTrue(fileContext.isSlicePackage("com.example.usecase.login"));
+        assertFalse(fileContext.isSlicePackage("com.example.usecase.login.internal"));
+    }
+}
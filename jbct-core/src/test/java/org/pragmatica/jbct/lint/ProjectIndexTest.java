@@ -0,0 +1,129 @@
+package org.pragmatica.jbct.lint;
+
+import org.pragmatica.jbct.lint.ProjectIndex.FileTypes;
+import org.pragmatica.jbct.lint.cst.CstLinter;
+import org.pragmatica.jbct.parser.Java25Parser;
+import org.pragmatica.jbct.shared.SourceFile;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProjectIndexTest {
+    private static final String DOMAIN_ERROR = """
+        package com.example.domain.shared;
+        import org.pragmatica.lang.Cause;
+        public sealed interface DomainError extends Cause {
+        }
+        """;
+
+    private static final String EMAIL = """
+        package com.example.domain.shared;
+        import org.pragmatica.lang.Result;
+        public record Email(String value) {
+            public static Result<Email> email(String value) {
+                return Result.success(new Email(value));
+            }
+        }
+        """;
+
+    private static final String LOGIN_ERROR = """
+        package com.example.usecase.login;
+        import com.example.domain.shared.DomainError;
+        public interface LoginError extends DomainError {
+        }
+        """;
+
+    private static final String LOGIN = """
+        package com.example.usecase.login;
+        import com.example.domain.shared.Email;
+        public class Login {
+            public Email defaultEmail() {
+                return new Email("admin@example.com");
+            }
+        }
+        """;
+
+    private final Java25Parser parser = new Java25Parser();
+
+    @Test
+    void indexesTypesAcrossFiles() {
+        var index = index(List.of(DOMAIN_ERROR, EMAIL, LOGIN_ERROR));
+        var domainError = index.type("com.example.domain.shared.DomainError");
+        assertTrue(domainError.isPresent());
+        domainError.onPresent(type -> assertTrue(type.sealed()));
+        assertTrue(index.type("com.example.domain.shared.Email")
+                        .filter(index::isValueObject)
+                        .isPresent());
+        assertTrue(index.type("com.example.usecase.login.LoginError")
+                        .filter(index::isErrorType)
+                        .isPresent());
+    }
+
+    @Test
+    void resolvesImportedTypes() {
+        var index = index(List.of(EMAIL, LOGIN));
+        var resolved = index.resolve("Email", "com.example.usecase.login", List.of("com.example.domain.shared.Email"));
+        assertTrue(resolved.isPresent());
+        assertTrue(index.resolve("Phone", "com.example.usecase.login", List.of())
+                        .isEmpty());
+    }
+
+    @Test
+    void rulesUseCrossFileKnowledge() {
+        var context = LintContext.lintContext(List.of("**.usecase.**", "**.domain.**"))
+                                 .withProjectIndex(index(List.of(DOMAIN_ERROR, EMAIL, LOGIN_ERROR, LOGIN)));
+        var linter = CstLinter.cstLinter(context);
+        var errorDiagnostics = linter.lint(SourceFile.sourceFile(Path.of("LoginError.java"), LOGIN_ERROR))
+                                     .unwrap();
+        assertTrue(errorDiagnostics.stream()
+                                   .anyMatch(d -> d.ruleId()
+                                                   .equals("JBCT-SEAL-01")));
+        var loginDiagnostics = linter.lint(SourceFile.sourceFile(Path.of("Login.java"), LOGIN))
+                                     .unwrap();
+        assertTrue(loginDiagnostics.stream()
+                                   .anyMatch(d -> d.ruleId()
+                                                   .equals("JBCT-VO-02")));
+    }
+
+    @Test
+    void persistsAndReusesUnchangedFiles(@TempDir Path dir) throws Exception {
+        var emailFile = dir.resolve("Email.java");
+        var loginFile = dir.resolve("LoginError.java");
+        Files.writeString(emailFile, EMAIL);
+        Files.writeString(loginFile, LOGIN_ERROR);
+        var index = ProjectIndexer.index(List.of(emailFile, loginFile));
+        var indexFile = dir.resolve("target/project-index.tsv");
+        assertTrue(ProjectIndexer.write(index, indexFile)
+                                 .isSuccess());
+        var restored = ProjectIndexer.read(indexFile);
+        assertEquals(index.files()
+                          .size(),
+                     restored.files()
+                             .size());
+        assertTrue(restored.type("com.example.domain.shared.Email")
+                           .filter(restored::isValueObject)
+                           .isPresent());
+        // Unchanged content is taken from the previous index without parsing
+        var reused = ProjectIndexer.index(List.of(emailFile), restored);
+        assertEquals(restored.file(emailFile.toString()),
+                     reused.file(emailFile.toString()));
+    }
+
+    private ProjectIndex index(List<String> sources) {
+        var files = new ArrayList<FileTypes>();
+        for (int i = 0; i < sources.size(); i++) {
+            var source = sources.get(i);
+            var cst = parser.parse(source)
+                            .unwrap();
+            files.add(ProjectIndexer.fileTypes(cst, source, "File" + i + ".java", ProjectIndexer.fingerprint(source)));
+        }
+        return ProjectIndex.projectIndex(files);
+    }
+}
@@ -0,0 +1,24 @@
+package org.pragmatica.jbct.lint;
+
+import org.pragmatica.jbct.lint.RuleProfile.FileTiming;
+import org.pragmatica.jbct.lint.RuleProfile.RuleTiming;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RuleProfileTest {
+    @Test
+    void toJsonWritesTimingsAndEscapesFileNames() {
+        var profile = RuleProfile.ruleProfile(List.of(new RuleTiming("JBCT-RET-01", 300, 2, 100, 200, 200, 1)),
+                                              List.of(new FileTiming("src/\"Odd\"\u0001Name.java", 300)),
+                                              2);
+        var json = profile.toJson();
+        assertTrue(json.contains("\"filesProfiled\": 2"));
+        assertTrue(json.contains("{\"ruleId\": \"JBCT-RET-01\", \"totalNanos\": 300, \"files\": 2, "
+                                 + "\"p50Nanos\": 100, \"p99Nanos\": 200, \"maxNanos\": 200, \"diagnostics\": 1}"));
+        assertTrue(json.contains("{\"file\": \"src/\\\"Odd\\\"\\u0001Name.java\", \"totalNanos\": 300}"));
+    }
+}
@@ -2,6 +2,7 @@ package org.pragmatica.jbct.lint.cst;
 
 import org.pragmatica.jbct.lint.Diagnostic;
 import org.pragmatica.jbct.lint.LintContext;
+import org.pragmatica.jbct.lint.RuleProfiler;
 import org.pragmatica.jbct.shared.SourceFile;
 
 import java.nio.file.Path;
@@ -300,6 +301,54 @@ class CstLinterTest {
         }
     }
 
+    @Nested
+    @DisplayName("JBCT-RET-06: No nullable parameters")
+    class NullableParameterTests {
+        @Test
+        void detectsNullCheckedParameter() {
+            var diagnostics = lint("""
+                package com.example.usecase.test;
+                public class Test {
+                    public String merge(String other) {
+                        if (other == null) {
+                            return "";
+                        }
+                        return other;
+                    }
+                }
+                """);
+            assertHasRule(diagnostics, "JBCT-RET-06");
+        }
+
+        @Test
+        void detectsReversedNullCheck() {
+            var diagnostics = lint("""
+                package com.example.usecase.test;
+                import java.util.List;
+                public class Test {
+                    public boolean present(List<String> values) {
+                        return null != values;
+                    }
+                }
+                """);
+            assertHasRule(diagnostics, "JBCT-RET-06");
+        }
+
+        @Test
+        void allowsNullCheckOfLocalVariable() {
+            var diagnostics = lint("""
+                package com.example.usecase.test;
+                public class Test {
+                    public String merge(String other) {
+                        var local = other.trim();
+                        return local == null ? "" : local;
+                    }
+                }
+                """);
+            assertNoRule(diagnostics, "JBCT-RET-06");
+        }
+    }
+
     // ========== JBCT-VO-* Value Object Rules ==========
     @Nested
     @DisplayName("JBCT-VO-01: Value objects should have factory returning Result")
@@ -831,6 +880,42 @@ class CstLinterTest {
                 """);
             assertNoRule(diagnostics, "JBCT-SEQ-01");
         }
+
+        @Test
+        void countsNestedChainsSeparately() {
+            var diagnostics = lint("""
+                package com.example.usecase.test;
+                import org.pragmatica.lang.Result;
+                public class Test {
+                    public Result<String> process(Result<String> input) {
+                        return input
+                            .map(s -> s.trim().strip().toLowerCase())
+                            .map(s -> s.repeat(2).indent(2).trim());
+                    }
+                }
+                """);
+            assertNoRule(diagnostics, "JBCT-SEQ-01");
+        }
+
+        @Test
+        void reportsLongChainOnceForInnermostStatement() {
+            var diagnostics = lint("""
+                package com.example.usecase.test;
+                public class Test {
+                    public String process(String input, boolean flag) {
+                        if (flag) {
+                            return input.trim().strip().toLowerCase().repeat(2).indent(2).trim();
+                        }
+                        return input;
+                    }
+                }
+                """);
+            assertEquals(1,
+                         diagnostics.stream()
+                                    .filter(d -> d.ruleId()
+                                                  .equals("JBCT-SEQ-01"))
+                                    .count());
+        }
     }
 
     // ========== JBCT-STY-* Style Rules ==========
@@ -934,6 +1019,19 @@ class CstLinterTest {
                 """);
             assertNoRule(diagnostics, "JBCT-STY-03");
         }
+
+        @Test
+        void ignoresQualifiedNamesInStringLiterals() {
+            var diagnostics = lint("""
+                package com.example.usecase.test;
+                public class Test {
+                    public String describe() {
+                        return "see java.util.List for details";
+                    }
+                }
+                """);
+            assertNoRule(diagnostics, "JBCT-STY-03");
+        }
     }
 
     // ========== JBCT-LOG-* Logging Rules ==========
@@ -1217,6 +1315,34 @@ class CstLinterTest {
                 """);
             assertNoRule(diagnostics, "JBCT-UTIL-01");
         }
+
+        @Test
+        void attributesCallsToInnermostMethod() {
+            var diagnostics = lint("""
+                package com.example.usecase.test;
+                import java.util.function.Supplier;
+                public class Test {
+                    public long outer(String s) {
+                        Supplier<Integer> inner = new Supplier<>() {
+                            public Integer get() {
+                                return Integer.parseInt(s);
+                            }
+                        };
+                        return Long.parseLong(s);
+                    }
+                    public double sibling(String s) {
+                        return Double.parseDouble(s);
+                    }
+                }
+                """);
+            var lines = diagnostics.stream()
+                                   .filter(d -> d.ruleId()
+                                                 .equals("JBCT-UTIL-01"))
+                                   .map(d -> d.line())
+                                   .sorted()
+                                   .toList();
+            assertEquals(List.of(4, 6, 12), lines);
+        }
     }
 
     @Nested
@@ -1911,6 +2037,71 @@ class CstLinterTest {
         }
     }
 
+    // ========== Rule Profiling ==========
+    @Nested
+    @DisplayName("Per-rule profiling")
+    class ProfilingTests {
+        @Test
+        void recordsTimingAndDiagnosticsPerRule() {
+            var profiler = RuleProfiler.ruleProfiler();
+            var profilingLinter = CstLinter.cstLinter(context, profiler);
+            var sourceFile = SourceFile.sourceFile(Path.of("Test.java"),
+                                                   """
+                package com.example.usecase.test;
+                public class Test {
+                    public void doSomething() {}
+                }
+                """);
+            var diagnostics = profilingLinter.lint(sourceFile)
+                                             .or(List.of());
+            var profile = profiler.profile();
+            assertEquals(1, profile.filesProfiled());
+            assertTrue(profile.rules()
+                              .stream()
+                              .allMatch(timing -> timing.files() == 1));
+            assertTrue(profile.rules()
+                              .stream()
+                              .anyMatch(timing -> timing.ruleId()
+                                                        .equals("JBCT-RET-01") && timing.diagnostics() > 0));
+            assertEquals(diagnostics.size(),
+                         profile.rules()
+                                .stream()
+                                .mapToLong(timing -> timing.diagnostics())
+                                .sum());
+            assertTrue(profile.toJson()
+                              .contains("\"ruleId\": \"JBCT-RET-01\""));
+        }
+    }
+
+    // ========== Parallel Rule Execution ==========
+    @Nested
+    @DisplayName("Parallel rule execution")
+    class ParallelRuleTests {
+        @Test
+        void parallelRunMatchesSequentialRun() {
+            var source = new StringBuilder("package com.example.usecase.test;\npublic class Test {\n");
+            for (int i = 0; i < 50; i++) {
+                source.append("    public void method")
+                      .append(i)
+                      .append("() { Runnable r = () -> { System.out.println(\"x\"); }; }\n")
+                      .append("    @SuppressWarnings(\"JBCT-RET-01\")\n")
+                      .append("    public String value")
+                      .append(i)
+                      .append("() { return null; }\n");
+            }
+            source.append("}\n");
+            var sourceFile = SourceFile.sourceFile(Path.of("Test.java"), source.toString());
+            var sequential = linter.withParallelRulesThreshold(Integer.MAX_VALUE)
+                                   .lint(sourceFile)
+                                   .unwrap();
+            var parallel = linter.withParallelRulesThreshold(0)
+                                 .lint(sourceFile)
+                                 .unwrap();
+            assertFalse(sequential.isEmpty());
+            assertEquals(sequential, parallel);
+        }
+    }
+
     // ========== @SuppressWarnings Support ==========
     @Nested
     @DisplayName("@SuppressWarnings support")
@@ -1982,5 +2173,29 @@ class CstLinterTest {
                 """);
             assertNoRule(diagnostics, "JBCT-RET-01");
         }
+
+        @Test
+        void nestedSuppressionsCombineAcrossScopes() {
+            var diagnostics = lint("""
+                package com.example.usecase.test;
+                @SuppressWarnings("JBCT-LAM-02")
+                public class Test {
+                    public void notSuppressedMethod() {}
+
+                    @SuppressWarnings("JBCT-RET-01")
+                    public void suppressedMethod() {
+                        Runnable r = () -> { System.out.println("hello"); };
+                    }
+                }
+                """);
+            assertNoRule(diagnostics, "JBCT-LAM-02");
+            // Reported for notSuppressedMethod, and not for suppressedMethod
+            assertEquals(List.of(4),
+                         diagnostics.stream()
+                                    .filter(d -> d.ruleId()
+                                                  .equals("JBCT-RET-01"))
+                                    .map(d -> d.line())
+                                    .toList());
+        }
     }
 }
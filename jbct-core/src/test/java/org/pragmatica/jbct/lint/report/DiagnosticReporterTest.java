@@ -0,0 +1,65 @@
+package org.pragmatica.jbct.lint.report;
+
+import org.pragmatica.jbct.lint.Diagnostic;
+import org.pragmatica.jbct.lint.DiagnosticSeverity;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for streaming diagnostic reporters.
+ */
+class DiagnosticReporterTest {
+    private static final Diagnostic DIAGNOSTIC = Diagnostic.diagnostic("JBCT-RET-01",
+                                                                       DiagnosticSeverity.ERROR,
+                                                                       "C:\\src\\Test.java",
+                                                                       3,
+                                                                       5,
+                                                                       "Bad \"return\"\u0001\ttype",
+                                                                       "");
+
+    @Test
+    void json_escapesAndFramesResults() {
+        var output = report(DiagnosticReporter::jsonReporter, List.of(DIAGNOSTIC), List.of(), List.of(DIAGNOSTIC));
+        assertThat(output).startsWith("[\n  {")
+                          .endsWith("}\n]\n")
+                          .contains("\"file\": \"C:\\\\src\\\\Test.java\"")
+                          .contains("\"message\": \"Bad \\\"return\\\"\\u0001\\ttype\"")
+                          .contains("},\n  {");
+    }
+
+    @Test
+    void json_emptyRunProducesEmptyArray() {
+        assertThat(report(DiagnosticReporter::jsonReporter, List.of())).isEqualTo("[\n]\n");
+    }
+
+    @Test
+    void sarif_wrapsResultsInSingleRun() {
+        var output = report(DiagnosticReporter::sarifReporter, List.of(DIAGNOSTIC), List.of(DIAGNOSTIC));
+        assertThat(output).startsWith("{\n  \"$schema\"")
+                          .contains("\"results\": [\n      {")
+                          .contains("\"level\": \"error\"")
+                          .contains("\"region\": { \"startLine\": 3, \"startColumn\": 5 }")
+                          .endsWith("      }\n    ]\n  }]\n}\n");
+    }
+
+    @SafeVarargs
+    private static String report(Function<OutputStream, DiagnosticReporter> factory,
+                                 List<Diagnostic>... files) {
+        var out = new ByteArrayOutputStream();
+        var reporter = factory.apply(out);
+        reporter.start();
+        for (var file : files) {
+            reporter.report(file);
+        }
+        reporter.finish();
+        return out.toString(StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,89 @@
+package org.pragmatica.jbct.parser;
+
+import org.pragmatica.jbct.parser.Java25Parser.CstNode;
+import org.pragmatica.jbct.parser.Java25Parser.RuleId;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.pragmatica.jbct.parser.CstPattern.literal;
+import static org.pragmatica.jbct.parser.CstPattern.rule;
+import static org.pragmatica.jbct.parser.CstPattern.sameTextAs;
+import static org.pragmatica.jbct.parser.CstPattern.simpleName;
+
+/**
+ * Tests for structural CST patterns and method call extraction.
+ */
+class CstPatternTest {
+    private static final CstPattern CONSTRUCTOR_LAMBDA = rule(RuleId.Lambda.class,
+                                                              rule(RuleId.LambdaParams.class).as("param"),
+                                                              literal("->"),
+                                                              rule(RuleId.Primary.class,
+                                                                   literal("new"),
+                                                                   rule(RuleId.ArrayType.class).and(simpleName())
+                                                                                               .as("type"),
+                                                                   literal("("),
+                                                                   rule(RuleId.Args.class).and(sameTextAs("param")),
+                                                                   literal(")")).unwrapped());
+
+    private final Java25Parser parser = new Java25Parser();
+
+    @Test
+    void matchesStructureAndCapturesNodes() {
+        var source = "class C { Object f = list.map(x -> new Item(x)); }";
+        var lambda = firstLambda(source);
+        var captures = CONSTRUCTOR_LAMBDA.match(lambda, source);
+        assertTrue(captures.isPresent());
+        captures.onPresent(found -> assertEquals("Item", found.text("type")));
+    }
+
+    @Test
+    void rejectsDifferentArgument() {
+        var source = "class C { Object f = list.map(x -> new Item(y)); }";
+        assertFalse(CONSTRUCTOR_LAMBDA.matches(firstLambda(source), source));
+    }
+
+    @Test
+    void rejectsQualifiedType() {
+        var source = "class C { Object f = list.map(x -> new a.Item(x)); }";
+        assertFalse(CONSTRUCTOR_LAMBDA.matches(firstLambda(source), source));
+    }
+
+    @Test
+    void extractsQualifiedAndChainedCalls() {
+        var source = "class C { Object f = Result.success(x).map(y -> y); }";
+        var postfix = CstNodes.findFirst(parse(source), RuleId.Postfix.class)
+                              .unwrap();
+        var calls = MethodCall.methodCalls(postfix);
+        assertEquals(2, calls.size());
+        assertEquals("success",
+                     CstNodes.text(calls.getFirst()
+                                        .name(),
+                                   source)
+                             .trim());
+        assertEquals(1,
+                     calls.getFirst()
+                          .qualifier()
+                          .size());
+        assertFalse(calls.getFirst()
+                         .chained());
+        assertEquals("map",
+                     CstNodes.text(calls.getLast()
+                                        .name(),
+                                   source)
+                             .trim());
+        assertTrue(calls.getLast()
+                        .chained());
+    }
+
+    private CstNode firstLambda(String source) {
+        return CstNodes.findFirst(parse(source), RuleId.Lambda.class)
+                       .unwrap();
+    }
+
+    private CstNode parse(String source) {
+        var result = parser.parse(source);
+        assertTrue(result.isSuccess(), () -> "Failed: " + result);
+        return result.unwrap();
+    }
+}
@@ -0,0 +1,80 @@
+package org.pragmatica.jbct.parser;
+
+import org.pragmatica.jbct.parser.Java25Parser.RuleId;
+import org.pragmatica.jbct.parser.LiteralScanner.Hit;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for the multi-literal scanner.
+ */
+class LiteralScannerTest {
+    @Test
+    void findsOverlappingLiterals() {
+        var scanner = LiteralScanner.literalScanner(List.of("he", "she", "his", "hers"));
+        var hits = scanner.scan("ushers")
+                          .hits();
+        assertEquals(List.of(new Hit(2, 4, 0), new Hit(1, 4, 1), new Hit(2, 6, 3)), hits);
+    }
+
+    @Test
+    void findsLiteralsAfterPartialMatches() {
+        var scanner = LiteralScanner.literalScanner(List.of("Integer.parseInt", "Long.parseLong"));
+        var hits = scanner.scan("Integer.parse(x); Integer.parseInt(y); Long.parseLong(z)")
+                          .hits();
+        assertEquals(2, hits.size());
+        assertEquals(18,
+                     hits.getFirst()
+                         .start());
+        assertEquals(1,
+                     hits.getLast()
+                         .literal());
+    }
+
+    @Test
+    void ignoresCharactersOutsideAlphabet() {
+        var scanner = LiteralScanner.literalScanner(List.of("ab"));
+        assertTrue(scanner.scan("aéb a中b")
+                          .isEmpty());
+        assertEquals(1,
+                     scanner.scan("é ab")
+                            .hits()
+                            .size());
+    }
+
+    @Test
+    void scansOnlyRequestedRange() {
+        var scanner = LiteralScanner.literalScanner(List.of("ab"));
+        var text = "ab ab ab";
+        assertEquals(1,
+                     scanner.scan(text, 2, 6)
+                            .hits()
+                            .size());
+        assertTrue(scanner.containsAny(text, 0, 2));
+        assertFalse(scanner.containsAny(text, 1, 4));
+    }
+
+    @Test
+    void mapsHitsToNodesBySpan() {
+        var source = """
+            class C {
+                void a() { Integer.parseInt("1"); }
+                void b() { }
+            }
+            """;
+        var cst = new Java25Parser().parse(source)
+                                    .unwrap();
+        var methods = CstNodes.findAll(cst, RuleId.MethodDecl.class);
+        var hits = LiteralScanner.literalScanner(List.of("parseInt"))
+                                 .scan(source);
+        assertEquals(1,
+                     hits.within(methods.getFirst())
+                         .size());
+        assertTrue(hits.within(methods.getLast())
+                       .isEmpty());
+    }
+}
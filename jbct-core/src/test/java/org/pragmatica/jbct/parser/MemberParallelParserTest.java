@@ -0,0 +1,146 @@
+package org.pragmatica.jbct.parser;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Equivalence tests: member-parallel parsing must produce exactly the tree of a sequential parse.
+ */
+class MemberParallelParserTest {
+    // Split every member into its own piece regardless of source size
+    private final MemberParallelParser parallel = MemberParallelParser.memberParallelParser(0, 1);
+    private final Java25Parser sequential = new Java25Parser();
+
+    @Test
+    void classMembersMatchSequentialParse() {
+        assertSplitEquivalent("""
+            package com.example;
+
+            import java.util.List;
+
+            /** Service with many members. */
+            public class Service {
+                private static final String OPEN = "{ not a brace";
+                private static final char CLOSE = '}';
+                private final Runnable task = () -> { System.out.println("}"); };
+                private final Object anonymous = new Object() {
+                    @Override
+                    public String toString() { return "x"; }
+                };
+                private final int[] values = {1, 2, 3};
+                // comment with { brace
+                static { System.out.println("init"); }
+
+                public Service() {}
+
+                /* block comment } */
+                public int compute(int x) {
+                    return switch (x) { case 1 -> 2; default -> 3; };
+                }
+
+                <T> List<T> generic(T value) {
+                    return List.of(value);
+                }
+
+                String text() {
+                    return \"""
+                        text block with } and "quotes"
+                        \""";
+                }
+
+                ;
+
+                class Inner {
+                    void run() {}
+                }
+            }
+            """);
+    }
+
+    @Test
+    void multipleTopLevelTypesMatchSequentialParse() {
+        assertSplitEquivalent("""
+            package com.example;
+
+            interface Shape {
+                double area();
+                default String name() { return "shape"; }
+            }
+
+            record Circle(double radius) implements Shape {
+                Circle {
+                    if (radius < 0) { throw new IllegalArgumentException(); }
+                }
+
+                public double area() { return Math.PI * radius * radius; }
+            }
+            """);
+    }
+
+    @Test
+    void unsplittableSourcesFallBackToSequentialParse() {
+        var enumSource = """
+            package com.example;
+
+            enum Color {
+                RED, GREEN;
+
+                String lower() { return name().toLowerCase(); }
+            }
+            """;
+        assertTrue(parallel.parseInParallel(enumSource)
+                           .isEmpty());
+        assertEquivalent(enumSource);
+        var broken = "class Broken { void a() {} void b() { }";
+        assertTrue(parallel.parseInParallel(broken)
+                           .isEmpty());
+        assertTrue(parallel.parse(broken)
+                           .isFailure());
+        assertEquals(sequential.parseWithDiagnostics(broken)
+                               .diagnostics(),
+                     parallel.parseWithDiagnostics(broken)
+                             .diagnostics());
+    }
+
+    @Test
+    void defaultParserMatchesSequentialParseOfLargeSource() {
+        var source = new StringBuilder("package com.example;\n\npublic class Generated {\n");
+        var index = 0;
+        while (source.length() < MemberParallelParser.PARALLEL_PARSE_THRESHOLD) {
+            source.append("    public String method")
+                  .append(index++)
+                  .append("(String value) {\n        return value.isEmpty() ? \"}\" : value.trim();\n    }\n\n");
+        }
+        source.append("}\n");
+        var text = source.toString();
+        var parser = MemberParallelParser.memberParallelParser();
+        assertTrue(parser.parseInParallel(text)
+                         .isPresent());
+        assertEquals(sequential.parse(text)
+                               .unwrap(),
+                     parser.parse(text)
+                           .unwrap());
+    }
+
+    // The parallel path must actually run, otherwise the fallback makes any source pass
+    private void assertSplitEquivalent(String source) {
+        assertEquals(sequential.parse(source)
+                               .unwrap(),
+                     parallel.parseInParallel(source)
+                             .unwrap());
+        assertEquivalent(source);
+    }
+
+    private void assertEquivalent(String source) {
+        var expected = sequential.parse(source)
+                                 .unwrap();
+        assertEquals(expected,
+                     parallel.parse(source)
+                             .unwrap());
+        assertEquals(expected,
+                     parallel.parseWithDiagnostics(source)
+                             .node()
+                             .unwrap());
+    }
+}
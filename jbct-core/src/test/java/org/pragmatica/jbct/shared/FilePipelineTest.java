@@ -0,0 +1,85 @@
+package org.pragmatica.jbct.shared;
+
+import org.pragmatica.lang.Result;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FilePipelineTest {
+    @Test
+    void reportsResultsInInputOrder(@TempDir Path dir) throws Exception {
+        var files = writeFiles(dir, 50);
+        var reported = new ArrayList<Path>();
+        var lengths = new ArrayList<Integer>();
+        var count = FilePipeline.filePipeline(4,
+                                              source -> Result.success(source.content()
+                                                                             .length()))
+                                .forEach(files,
+                                         (file, result) -> {
+                                             reported.add(file);
+                                             lengths.add(result.unwrap());
+                                         });
+        assertEquals(files.size(), count);
+        assertEquals(files, reported);
+        assertEquals(Integer.toString(49).length() + 5, lengths.getLast());
+    }
+
+    @Test
+    void boundsFilesInFlight(@TempDir Path dir) throws Exception {
+        var files = writeFiles(dir, 40);
+        var inFlight = new AtomicInteger();
+        var peak = new AtomicInteger();
+        FilePipeline.filePipeline(2,
+                                  source -> {
+                                      peak.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                                      inFlight.decrementAndGet();
+                                      return Result.success(source);
+                                  })
+                    .forEach(files,
+                             (_, _) -> {});
+        assertTrue(peak.get() <= 2);
+    }
+
+    @Test
+    void stopsWhenSinkDeclines(@TempDir Path dir) throws Exception {
+        var files = writeFiles(dir, 20);
+        var reported = new ArrayList<Path>();
+        var count = FilePipeline.filePipeline(3, Result::success)
+                                .until(files,
+                                       (file, _) -> {
+                                           reported.add(file);
+                                           return reported.size() < 5;
+                                       });
+        assertEquals(5, count);
+        assertEquals(files.subList(0, 5), reported);
+    }
+
+    @Test
+    void reportsReadFailuresPerFile(@TempDir Path dir) throws Exception {
+        var files = new ArrayList<>(writeFiles(dir, 2));
+        files.add(1, dir.resolve("Missing.java"));
+        var failures = new ArrayList<Path>();
+        FilePipeline.filePipeline(2, Result::success)
+                    .forEach(files,
+                             (file, result) -> result.onFailure(_ -> failures.add(file)));
+        assertEquals(List.of(dir.resolve("Missing.java")), failures);
+    }
+
+    private static List<Path> writeFiles(Path dir, int count) throws Exception {
+        var files = new ArrayList<Path>();
+        for (int i = 0; i < count; i++) {
+            var file = dir.resolve("File" + i + ".java");
+            Files.writeString(file, "class" + i);
+            files.add(file);
+        }
+        return files;
+    }
+}
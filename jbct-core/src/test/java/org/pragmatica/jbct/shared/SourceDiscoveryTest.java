@@ -0,0 +1,82 @@
+package org.pragmatica.jbct.shared;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SourceDiscoveryTest {
+    @Test
+    void skipsBuildOutputAndToolDirectories(@TempDir Path dir) throws Exception {
+        write(dir, "pom.xml");
+        write(dir, "src/main/java/com/example/App.java");
+        write(dir, "src/main/java/com/example/build/Step.java");
+        write(dir, "target/generated-sources/Generated.java");
+        write(dir, "node_modules/pkg/Vendored.java");
+        write(dir, ".git/objects/Object.java");
+        write(dir, "src/main/java/com/example/README.md");
+        assertEquals(List.of(dir.resolve("src/main/java/com/example/App.java"),
+                             dir.resolve("src/main/java/com/example/build/Step.java")),
+                     SourceDiscovery.sourceDiscovery()
+                                    .findJavaFiles(dir)
+                                    .unwrap());
+    }
+
+    @Test
+    void honorsNestedGitignoreFiles(@TempDir Path dir) throws Exception {
+        Files.writeString(dir.resolve(".gitignore"), "# generated code\ngenerated/\n*Stub.java\n!KeepStub.java\n");
+        write(dir, "a/App.java");
+        write(dir, "a/generated/Gen.java");
+        write(dir, "a/ServiceStub.java");
+        write(dir, "a/KeepStub.java");
+        write(dir, "b/Local.java");
+        Files.writeString(dir.resolve("b/.gitignore"), "/Local.java\n");
+        write(dir, "b/c/Local.java");
+        assertEquals(List.of(dir.resolve("a/App.java"), dir.resolve("a/KeepStub.java"), dir.resolve("b/c/Local.java")),
+                     SourceDiscovery.sourceDiscovery()
+                                    .findJavaFiles(dir)
+                                    .unwrap());
+    }
+
+    @Test
+    void appliesConfiguredExcludes(@TempDir Path dir) throws Exception {
+        write(dir, "com/example/App.java");
+        write(dir, "com/example/legacy/Old.java");
+        write(dir, "com/example/AppGenerated.java");
+        assertEquals(List.of(dir.resolve("com/example/App.java")),
+                     SourceDiscovery.sourceDiscovery(List.of("legacy/", "**/*Generated.java"))
+                                    .findJavaFiles(dir)
+                                    .unwrap());
+    }
+
+    @Test
+    void translatesGitignorePatterns() {
+        assertTrue(matches("**/gen/**", "a/b/gen/X.java"));
+        assertTrue(matches("/src/*.java", "src/A.java"));
+        assertFalse(matches("/src/*.java", "src/a/A.java"));
+        assertFalse(matches("/src/*.java", "x/src/A.java"));
+        assertTrue(matches("Test?.java", "deep/Test1.java"));
+        assertTrue(matches("[!a]*.java", "B.java"));
+        assertFalse(matches("[!a]*.java", "a.java"));
+        assertTrue(SourceDiscovery.ignoreRule("# comment")
+                                  .isEmpty());
+    }
+
+    private static boolean matches(String pattern, String path) {
+        return SourceDiscovery.ignoreRule(pattern)
+                              .map(rule -> rule.pattern()
+                                               .matcher(path)
+                                               .matches())
+                              .or(false);
+    }
+
+    private static void write(Path dir, String relative) throws Exception {
+        var file = dir.resolve(relative);
+        Files.createDirectories(file.getParent());
+        Files.writeString(file, "class X {}");
+    }
+}
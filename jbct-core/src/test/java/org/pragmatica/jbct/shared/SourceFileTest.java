@@ -0,0 +1,52 @@
+package org.pragmatica.jbct.shared;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SourceFileTest {
+    @Test
+    void identicalContentIsNotWritten(@TempDir Path dir) throws Exception {
+        var file = dir.resolve("App.java");
+        Files.writeString(file, "class App {}\n");
+        var modified = FileTime.fromMillis(1_000_000_000L);
+        Files.setLastModifiedTime(file, modified);
+        assertFalse(SourceFile.sourceFile(file, "class App {}\n")
+                              .writeIfChanged()
+                              .unwrap());
+        assertEquals(modified, Files.getLastModifiedTime(file));
+    }
+
+    @Test
+    void changedContentReplacesFileWithoutLeftovers(@TempDir Path dir) throws Exception {
+        var file = dir.resolve("App.java");
+        Files.writeString(file, "class App{}");
+        assertTrue(SourceFile.sourceFile(file, "class App {}\n")
+                             .writeIfChanged()
+                             .unwrap());
+        assertEquals("class App {}\n", Files.readString(file));
+        try (var entries = Files.list(dir)) {
+            assertEquals(1, entries.count());
+        }
+    }
+
+    @Test
+    void missingFileIsCreated(@TempDir Path dir) throws Exception {
+        var file = dir.resolve("New.java");
+        assertTrue(SourceFile.sourceFile(file, "class New {}\n")
+                             .write()
+                             .isSuccess());
+        assertEquals("class New {}\n", Files.readString(file));
+    }
+
+    @Test
+    void fingerprintIsSha256OfContent() {
+        assertEquals("e3b0c44298fc1c149afbf4c8996fb92427ae41e4649b934ca495991b7852b855", SourceFile.fingerprint(""));
+        assertNotEquals(SourceFile.fingerprint("class A {}"), SourceFile.fingerprint("class B {}"));
+    }
+}
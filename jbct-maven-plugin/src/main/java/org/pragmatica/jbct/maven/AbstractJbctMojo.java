@@ -1,14 +1,34 @@
 package org.pragmatica.jbct.maven;
 
+import org.pragmatica.jbct.analysis.SourceAnalyzer;
 import org.pragmatica.jbct.config.ConfigLoader;
 import org.pragmatica.jbct.config.JbctConfig;
+import org.pragmatica.jbct.format.FormatCache;
+import org.pragmatica.jbct.format.FormatterConfig;
+import org.pragmatica.jbct.format.JbctFormatter;
+import org.pragmatica.jbct.format.cst.CstFormatter;
+import org.pragmatica.jbct.lint.JbctLinter;
 import org.pragmatica.jbct.lint.LintContext;
+import org.pragmatica.jbct.lint.ProjectIndex;
+import org.pragmatica.jbct.lint.ProjectIndexer;
+import org.pragmatica.jbct.lint.RuleProfiler;
+import org.pragmatica.jbct.lint.cst.CstLinter;
 import org.pragmatica.jbct.shared.FileCollector;
+import org.pragmatica.jbct.shared.FilePipeline;
+import org.pragmatica.jbct.shared.SourceFile;
+import org.pragmatica.lang.Functions.Fn1;
 import org.pragmatica.lang.Option;
+import org.pragmatica.lang.Result;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import org.apache.maven.plugin.AbstractMojo;
 import org.apache.maven.plugins.annotations.Parameter;
@@ -18,6 +38,11 @@ import org.apache.maven.project.MavenProject;
  * Base class for JBCT Maven mojos with common configuration parameters.
  */
 public abstract class AbstractJbctMojo extends AbstractMojo {
+    // Formatters are thread-safe and live as long as the plugin class loader, so modules of the
+    // reactor (including parallel -T builds) share them and the code they run stays warm
+    private static final Map<FormatterConfig, JbctFormatter> FORMATTERS = new ConcurrentHashMap<>();
+    private static final String SEPARATOR = "\t";
+
     @Parameter(defaultValue = "${project}", readonly = true, required = true)
     protected MavenProject project;
 
@@ -33,6 +58,41 @@ public abstract class AbstractJbctMojo extends AbstractMojo {
     @Parameter(property = "jbct.includeTests", defaultValue = "false")
     protected boolean includeTests;
 
+    /**
+     * Record per-rule lint timings and report them after the run.
+     * The JSON report is written to {@code target/jbct-profile.json}.
+     */
+    @Parameter(property = "jbct.profile", defaultValue = "false")
+    protected boolean profile;
+
+    /**
+     * Skip files verified as formatted by an earlier build with the same content and configuration.
+     * The index is kept in {@code target/jbct/format-cache.tsv}.
+     */
+    @Parameter(property = "jbct.formatCache", defaultValue = "true")
+    protected boolean formatCache;
+
+    /**
+     * Number of files of a module processed in parallel; {@code 0} uses all available processors.
+     * With {@code mvn -T} consider lowering it, as each module being built runs its own workers.
+     * Very large files additionally parse members and run lint rules on the JVM-wide common fork-join
+     * pool, which this limit does not bound.
+     */
+    @Parameter(property = "jbct.threads", defaultValue = "0")
+    protected int threads;
+
+    /**
+     * Replay results of files unchanged since the previous build instead of checking them again.
+     * The state is kept in {@code target/jbct/<goal>-state.tsv} and dropped whenever the configuration,
+     * the plugin version or any type declaration of the project changes. Off by default, so existing
+     * builds keep checking every file.
+     */
+    @Parameter(property = "jbct.incremental", defaultValue = "false")
+    protected boolean incremental;
+
+    @Parameter(defaultValue = "${plugin.version}", readonly = true)
+    protected String pluginVersion;
+
     /**
      * Load JBCT configuration from project directory.
      */
@@ -50,14 +110,173 @@ public abstract class AbstractJbctMojo extends AbstractMojo {
     }
 
     /**
-     * Collect Java files from source directories.
+     * Attach the project-wide symbol index to the lint context.
+     *
+     * <p>The index is kept in {@code target/jbct/project-index.tsv}; only files changed since the
+     * previous build are parsed again.
+     */
+    protected LintContext withProjectIndex(LintContext context, List<Path> files) {
+        var indexFile = Path.of(project.getBuild()
+                                       .getDirectory(),
+                                "jbct",
+                                "project-index.tsv");
+        var index = ProjectIndexer.index(files, ProjectIndexer.read(indexFile));
+        ProjectIndexer.write(index, indexFile)
+                      .onFailure(cause -> getLog().debug("Failed to write project index: " + cause.message()));
+        return context.withProjectIndex(index);
+    }
+
+    /**
+     * Load results of the previous build of the goal, if incremental mode is enabled.
+     *
+     * @param goal    goal the results belong to
+     * @param config  configuration of this build
+     * @param context lint context with the project index attached
+     */
+    protected Option<BuildState> loadBuildState(String goal, JbctConfig config, LintContext context) {
+        if (!incremental) {
+            return Option.none();
+        }
+        var stateFile = Path.of(project.getBuild()
+                                       .getDirectory(),
+                                "jbct",
+                                goal + "-state.tsv");
+        var stamp = BuildState.stamp(goal,
+                                     Option.option(pluginVersion)
+                                           .or("dev"),
+                                     canonical(config.toToml()
+                                                     .lines()),
+                                     canonical(config.lint()
+                                                     .disabledRules()
+                                                     .stream()),
+                                     indexStamp(context.projectIndex()));
+        return Option.some(BuildState.buildState(stateFile, stamp));
+    }
+
+    /**
+     * Persist results of this build, if incremental mode is enabled. Failures only cost the next
+     * build a full run.
+     */
+    protected void writeBuildState(Option<BuildState> state) {
+        state.onPresent(buildState -> buildState.write()
+                                                .onFailure(cause -> getLog().debug("Failed to write build state: "
+                                                                                   + cause.message())));
+    }
+
+    // Rules see other files only through their declared types, so a body-only edit of one file
+    // keeps results of the others valid
+    private static String indexStamp(ProjectIndex index) {
+        return canonical(index.files()
+                              .stream()
+                              .map(file -> file.file() + SEPARATOR + file.packageName() + SEPARATOR + file.imports()
+                                           + SEPARATOR + file.types()));
+    }
+
+    // Settings come from unordered maps and sets, so their order must not affect the stamp
+    private static String canonical(Stream<String> values) {
+        return values.sorted()
+                     .collect(Collectors.joining("\n"));
+    }
+
+    /**
+     * Formatter for the configuration, shared by all mojo executions of the build.
+     */
+    protected static JbctFormatter sharedFormatter(FormatterConfig config) {
+        return FORMATTERS.computeIfAbsent(config, JbctFormatter::jbctFormatter);
+    }
+
+    /**
+     * Pipeline processing files on {@code jbct.threads} workers. Results are reported on the calling
+     * thread, so the sink may log and aggregate without synchronization.
+     */
+    protected <R> FilePipeline<R> filePipeline(Fn1<Result<R>, SourceFile> stage) {
+        return threads > 0
+               ? FilePipeline.filePipeline(threads, stage)
+               : FilePipeline.filePipeline(stage);
+    }
+
+    /**
+     * Load the format cache of this module, if enabled.
+     */
+    protected Option<FormatCache> loadFormatCache(FormatterConfig config) {
+        if (!formatCache) {
+            return Option.none();
+        }
+        var indexFile = Path.of(project.getBuild()
+                                       .getDirectory(),
+                                "jbct",
+                                "format-cache.tsv");
+        return Option.some(FormatCache.formatCache(indexFile, config));
+    }
+
+    /**
+     * Record content verified as formatted, if the cache is enabled.
+     */
+    protected static void markFormatted(Option<FormatCache> cache, SourceFile source) {
+        cache.onPresent(formatCache -> formatCache.markFormatted(source));
+    }
+
+    /**
+     * Persist the format cache, if enabled. Failures only cost the next build a full check.
+     */
+    protected void writeFormatCache(Option<FormatCache> cache) {
+        cache.onPresent(formatCache -> formatCache.write()
+                                                  .onFailure(cause -> getLog().debug("Failed to write format cache: "
+                                                                                     + cause.message())));
+    }
+
+    /**
+     * Create linter, recording rule timings into the profiler when profiling is enabled.
+     */
+    protected JbctLinter createLinter(LintContext context, RuleProfiler profiler) {
+        return profile
+               ? JbctLinter.jbctLinter(context, profiler)
+               : JbctLinter.jbctLinter(context);
+    }
+
+    /**
+     * Create combined format + lint analyzer which parses each file once.
+     */
+    protected SourceAnalyzer createAnalyzer(JbctConfig config, LintContext context, RuleProfiler profiler) {
+        var linter = profile
+                     ? CstLinter.cstLinter(context, profiler)
+                     : CstLinter.cstLinter(context);
+        return SourceAnalyzer.sourceAnalyzer(CstFormatter.cstFormatter(config.formatter()), linter);
+    }
+
+    /**
+     * Log the rule profile and write its JSON form into the build directory.
+     */
+    protected void reportProfile(RuleProfiler profiler) {
+        if (!profile) {
+            return;
+        }
+        var ruleProfile = profiler.profile();
+        ruleProfile.toTable()
+                   .lines()
+                   .forEach(line -> getLog().info(line));
+        var outputFile = Path.of(project.getBuild()
+                                        .getDirectory(),
+                                 "jbct-profile.json");
+        try{
+            Files.createDirectories(outputFile.getParent());
+            Files.writeString(outputFile, ruleProfile.toJson());
+            getLog().info("Rule profile written to " + outputFile);
+        } catch (IOException e) {
+            getLog().warn("Failed to write rule profile to " + outputFile + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Collect Java files from source directories, skipping the excludes configured in the project.
      */
-    protected List<Path> collectJavaFiles() {
+    protected List<Path> collectJavaFiles(JbctConfig config) {
         return FileCollector.collectFromDirectories(Option.option(sourceDirectory)
                                                           .map(File::toPath),
                                                     Option.option(testSourceDirectory)
                                                           .map(File::toPath),
                                                     includeTests,
+                                                    config.excludes(),
                                                     msg -> getLog().warn(msg));
     }
 
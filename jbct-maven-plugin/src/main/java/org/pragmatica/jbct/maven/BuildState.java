@@ -0,0 +1,262 @@
+package org.pragmatica.jbct.maven;
+
+import org.pragmatica.jbct.lint.Diagnostic;
+import org.pragmatica.jbct.lint.DiagnosticSeverity;
+import org.pragmatica.jbct.shared.SourceFile;
+import org.pragmatica.lang.Option;
+import org.pragmatica.lang.Result;
+import org.pragmatica.lang.utils.Causes;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.pragmatica.lang.Result.lift;
+
+/**
+ * Results of a goal from the previous build, persisted in the build directory.
+ *
+ * <p>Each file entry holds the fingerprint of the content it was computed from, whether the file
+ * needed formatting and the diagnostics reported for it. A file whose content is unchanged replays
+ * its entry instead of being parsed again. The whole state is tied to a stamp of everything else
+ * results depend on (configuration, plugin version, project-wide types); a different stamp drops it.
+ *
+ * <p>Only files seen in a run are written back, so deleted files disappear from the state.
+ *
+ * <p><b>Thread Safety:</b> Thread-safe.
+ */
+final class BuildState {
+    private static final String HEADER = "jbct-build-state 1";
+    private static final String SEPARATOR = "\t";
+    private static final String FILE = "F";
+    private static final String DIAGNOSTIC = "D";
+
+    private final Path stateFile;
+    private final String stamp;
+    private final Map<String, Entry> previous;
+    private final Map<String, Entry> current = new ConcurrentHashMap<>();
+
+    private BuildState(Path stateFile, String stamp, Map<String, Entry> previous) {
+        this.stateFile = stateFile;
+        this.stamp = stamp;
+        this.previous = previous;
+    }
+
+    /**
+     * Load the state recorded with the given stamp. A missing, malformed or differently stamped
+     * state file yields an empty state.
+     */
+    static BuildState buildState(Path stateFile, String stamp) {
+        return new BuildState(stateFile, stamp, read(stateFile, stamp));
+    }
+
+    /**
+     * Combine values results depend on into a stamp. Order of the values matters.
+     */
+    static String stamp(String... values) {
+        return SourceFile.fingerprint(String.join("\0", values));
+    }
+
+    /**
+     * Result recorded for the same content by the previous build. A replayed result is kept for
+     * the next build.
+     */
+    Option<FileResult> unchanged(SourceFile source) {
+        var key = key(source);
+        var entry = previous.get(key);
+        if (entry == null || !entry.fingerprint()
+                                   .equals(SourceFile.fingerprint(source.content()))) {
+            return Option.none();
+        }
+        current.put(key, entry);
+        return Option.some(entry.result());
+    }
+
+    /**
+     * Record the result computed for the file content.
+     */
+    void record(SourceFile source, boolean needsFormatting, List<Diagnostic> diagnostics) {
+        current.put(key(source),
+                    new Entry(SourceFile.fingerprint(source.content()),
+                              FileResult.fileResult(needsFormatting, diagnostics)));
+    }
+
+    /**
+     * Persist results of files seen in this run, replacing the file only if its content changed.
+     */
+    Result<Boolean> write() {
+        var text = new StringBuilder(HEADER).append(SEPARATOR)
+                                            .append(stamp)
+                                            .append('\n');
+        new TreeMap<>(current).forEach((file, entry) -> appendEntry(text, file, entry));
+        return lift(Causes::fromThrowable,
+                    () -> Files.createDirectories(stateFile.toAbsolutePath()
+                                                           .getParent()))
+        .flatMap(_ -> SourceFile.sourceFile(stateFile,
+                                            text.toString())
+                                .writeIfChanged());
+    }
+
+    private static void appendEntry(StringBuilder text, String file, Entry entry) {
+        line(text,
+             FILE,
+             file,
+             entry.fingerprint(),
+             Boolean.toString(entry.result()
+                                   .needsFormatting()));
+        for (var d : entry.result()
+                          .diagnostics()) {
+            line(text,
+                 DIAGNOSTIC,
+                 d.ruleId(),
+                 d.severity()
+                  .name(),
+                 d.file(),
+                 Integer.toString(d.line()),
+                 Integer.toString(d.column()),
+                 d.message(),
+                 d.details(),
+                 d.example()
+                  .or(""),
+                 d.docLink()
+                  .or(""));
+        }
+    }
+
+    private static void line(StringBuilder text, String... fields) {
+        for (int i = 0; i < fields.length; i++) {
+            if (i > 0) {
+                text.append(SEPARATOR);
+            }
+            escape(text, fields[i]);
+        }
+        text.append('\n');
+    }
+
+    private static void escape(StringBuilder text, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            switch (c) {
+                case '\\' -> text.append("\\\\");
+                case '\t' -> text.append("\\t");
+                case '\n' -> text.append("\\n");
+                case '\r' -> text.append("\\r");
+                default -> text.append(c);
+            }
+        }
+    }
+
+    private static String unescape(String value) {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        var text = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            if (c != '\\' || i + 1 == value.length()) {
+                text.append(c);
+                continue;
+            }
+            var next = value.charAt(++i);
+            text.append(switch (next) {
+                            case 't' -> '\t';
+                            case 'n' -> '\n';
+                            case 'r' -> '\r';
+                            default -> next;
+                        });
+        }
+        return text.toString();
+    }
+
+    private static String key(SourceFile source) {
+        return source.path()
+                     .toAbsolutePath()
+                     .normalize()
+                     .toString();
+    }
+
+    private static Map<String, Entry> read(Path stateFile, String stamp) {
+        if (!Files.isRegularFile(stateFile)) {
+            return Map.of();
+        }
+        return lift(Causes::fromThrowable, () -> parseLines(Files.readAllLines(stateFile), stamp))
+        .or(Map.of());
+    }
+
+    private static Map<String, Entry> parseLines(List<String> lines, String stamp) {
+        if (lines.isEmpty() || !lines.getFirst()
+                                     .equals(HEADER + SEPARATOR + stamp)) {
+            return Map.of();
+        }
+        var entries = new HashMap<String, Entry>();
+        String file = null;
+        String fingerprint = null;
+        var needsFormatting = false;
+        var diagnostics = new ArrayList<Diagnostic>();
+        for (var line : lines.subList(1, lines.size())) {
+            var fields = line.split(SEPARATOR, - 1);
+            if (fields[0].equals(FILE) && fields.length == 4) {
+                if (file != null) {
+                    entries.put(file, new Entry(fingerprint, FileResult.fileResult(needsFormatting, diagnostics)));
+                }
+                file = unescape(fields[1]);
+                fingerprint = fields[2];
+                needsFormatting = Boolean.parseBoolean(fields[3]);
+                diagnostics = new ArrayList<>();
+            } else if (fields[0].equals(DIAGNOSTIC) && fields.length == 10 && file != null) {
+                diagnostics.add(diagnostic(fields));
+            } else {
+                // Malformed file: start over rather than trust a partial state
+                return Map.of();
+            }
+        }
+        if (file != null) {
+            entries.put(file, new Entry(fingerprint, FileResult.fileResult(needsFormatting, diagnostics)));
+        }
+        return Map.copyOf(entries);
+    }
+
+    private static Diagnostic diagnostic(String[] fields) {
+        return new Diagnostic(unescape(fields[1]),
+                              DiagnosticSeverity.valueOf(fields[2]),
+                              unescape(fields[3]),
+                              Integer.parseInt(fields[4]),
+                              Integer.parseInt(fields[5]),
+                              unescape(fields[6]),
+                              unescape(fields[7]),
+                              optional(unescape(fields[8])),
+                              optional(unescape(fields[9])));
+    }
+
+    private static Option<String> optional(String value) {
+        return value.isEmpty()
+               ? Option.none()
+               : Option.some(value);
+    }
+
+    /**
+     * Result of a goal for a single file.
+     *
+     * @param needsFormatting whether the file is not properly formatted
+     * @param diagnostics     lint diagnostics of the file
+     */
+    record FileResult(boolean needsFormatting, List<Diagnostic> diagnostics) {
+        FileResult {
+            diagnostics = List.copyOf(diagnostics);
+        }
+
+        /**
+         * Factory method for creating FileResult.
+         */
+        static FileResult fileResult(boolean needsFormatting, List<Diagnostic> diagnostics) {
+            return new FileResult(needsFormatting, diagnostics);
+        }
+    }
+
+    private record Entry(String fingerprint, FileResult result) {}
+}
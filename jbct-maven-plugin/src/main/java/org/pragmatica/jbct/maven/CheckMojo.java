@@ -1,9 +1,14 @@
 package org.pragmatica.jbct.maven;
 
-import org.pragmatica.jbct.format.JbctFormatter;
+import org.pragmatica.jbct.analysis.AnalysisResult;
+import org.pragmatica.jbct.analysis.SourceAnalyzer;
 import org.pragmatica.jbct.lint.Diagnostic;
-import org.pragmatica.jbct.lint.JbctLinter;
+import org.pragmatica.jbct.lint.RuleProfiler;
+import org.pragmatica.jbct.maven.BuildState.FileResult;
 import org.pragmatica.jbct.shared.SourceFile;
+import org.pragmatica.lang.Cause;
+import org.pragmatica.lang.Option;
+import org.pragmatica.lang.Result;
 
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -14,39 +19,56 @@ import org.apache.maven.plugin.MojoExecutionException;
 import org.apache.maven.plugin.MojoFailureException;
 import org.apache.maven.plugins.annotations.LifecyclePhase;
 import org.apache.maven.plugins.annotations.Mojo;
+import org.apache.maven.plugins.annotations.Parameter;
 
 /**
  * Maven goal combining format check and lint (for CI).
  */
 @Mojo(name = "check", defaultPhase = LifecyclePhase.VERIFY)
 public class CheckMojo extends AbstractJbctMojo {
+    /**
+     * Stop at the first format or lint violation instead of reporting all of them.
+     */
+    @Parameter(property = "jbct.failFast", defaultValue = "false")
+    protected boolean failFast;
+
     @Override
     public void execute() throws MojoExecutionException, MojoFailureException {
         if (shouldSkip("check")) {
             return;
         }
         var jbctConfig = loadConfig();
-        var formatter = JbctFormatter.jbctFormatter(jbctConfig.formatter());
-        var context = createLintContext(jbctConfig);
-        var linter = JbctLinter.jbctLinter(context);
-        var filesToProcess = collectJavaFiles();
+        var filesToProcess = collectJavaFiles(jbctConfig);
         if (filesToProcess.isEmpty()) {
             getLog().info("No Java files found.");
             return;
         }
+        var context = withProjectIndex(createLintContext(jbctConfig), filesToProcess);
+        var profiler = RuleProfiler.ruleProfiler();
+        var analyzer = createAnalyzer(jbctConfig, context, profiler);
         getLog().info("Running JBCT check on " + filesToProcess.size() + " Java file(s)");
+        if (failFast) {
+            // A violation ends the goal with an exception; the profile is reported either way
+            try{
+                checkFailFast(filesToProcess, analyzer);
+            } finally{
+                reportProfile(profiler);
+            }
+            getLog().info("JBCT check passed.");
+            return;
+        }
+        var state = loadBuildState("check", jbctConfig, context);
         // Format check
         var needsFormatting = new ArrayList<Path>();
-        var formatErrors = new AtomicInteger(0);
         // Lint check
         var allDiagnostics = new ArrayList<Diagnostic>();
         var lintErrors = new AtomicInteger(0);
         var warnings = new AtomicInteger(0);
         var parseErrors = new AtomicInteger(0);
         for (var file : filesToProcess) {
-            checkFormat(file, formatter, needsFormatting, formatErrors);
-            checkLint(file, linter, allDiagnostics, lintErrors, warnings, parseErrors);
+            checkFile(file, analyzer, state, needsFormatting, allDiagnostics, lintErrors, warnings, parseErrors);
         }
+        writeBuildState(state);
         // Report format issues
         if (!needsFormatting.isEmpty()) {
             getLog().error("Files not properly formatted:");
@@ -66,6 +88,7 @@ public class CheckMojo extends AbstractJbctMojo {
         getLog()
         .info("Check results: " + needsFormatting.size() + " format issue(s), " + lintErrors.get() + " lint error(s), " + warnings.get()
               + " warning(s)");
+        reportProfile(profiler);
         // Fail build if needed
         var hasFailures = false;
         var failures = new ArrayList<String>();
@@ -73,10 +96,6 @@ public class CheckMojo extends AbstractJbctMojo {
             failures.add(needsFormatting.size() + " file(s) need formatting");
             hasFailures = true;
         }
-        if (formatErrors.get() > 0) {
-            failures.add(formatErrors.get() + " format check error(s)");
-            hasFailures = true;
-        }
         if (parseErrors.get() > 0) {
             failures.add(parseErrors.get() + " parse error(s)");
             hasFailures = true;
@@ -96,31 +115,49 @@ public class CheckMojo extends AbstractJbctMojo {
         getLog().info("JBCT check passed.");
     }
 
-    private void checkFormat(Path file, JbctFormatter formatter, List<Path> needsFormatting, AtomicInteger errors) {
-        SourceFile.sourceFile(file)
-                  .flatMap(formatter::isFormatted)
-                  .onSuccess(isFormatted -> {
-                      if (!isFormatted) {
-                          needsFormatting.add(file);
-                      }
-                  })
-                  .onFailure(cause -> {
-                                 errors.incrementAndGet();
-                                 getLog().error("Error checking format of " + file + ": " + cause.message());
-                             });
+    private void checkFailFast(List<Path> files, SourceAnalyzer analyzer) throws MojoFailureException {
+        for (var file : files) {
+            var source = SourceFile.sourceFile(file);
+            if (source.isFailure()) {
+                throw new MojoFailureException("Error reading " + file + ": " + failureMessage(source));
+            }
+            var checked = source.flatMap(analyzer::checkFailFast);
+            if (checked.isFailure()) {
+                throw new MojoFailureException("Parse error in " + file + ": " + failureMessage(checked));
+            }
+            var result = checked.unwrap();
+            if (result.changed()) {
+                throw new MojoFailureException("JBCT check failed: " + file
+                                               + " is not properly formatted. Run 'mvn jbct:format' to fix.");
+            }
+            if (!result.diagnostics()
+                       .isEmpty()) {
+                throw new MojoFailureException("JBCT check failed: " + formatDiagnostic(result.diagnostics()
+                                                                                             .getFirst()));
+            }
+        }
+    }
+
+    private static String failureMessage(Result<?> result) {
+        return result.fold(Cause::message, _ -> "");
     }
 
-    private void checkLint(Path file,
-                           JbctLinter linter,
+    private void checkFile(Path file,
+                           SourceAnalyzer analyzer,
+                           Option<BuildState> state,
+                           List<Path> needsFormatting,
                            List<Diagnostic> allDiagnostics,
                            AtomicInteger errors,
                            AtomicInteger warnings,
                            AtomicInteger parseErrors) {
         SourceFile.sourceFile(file)
-                  .flatMap(linter::lint)
-                  .onSuccess(diagnostics -> {
-                                 allDiagnostics.addAll(diagnostics);
-                                 for (var d : diagnostics) {
+                  .flatMap(source -> check(source, analyzer, state))
+                  .onSuccess(result -> {
+                                 if (result.needsFormatting()) {
+                                     needsFormatting.add(file);
+                                 }
+                                 allDiagnostics.addAll(result.diagnostics());
+                                 for (var d : result.diagnostics()) {
                                      switch (d.severity()) {
             case ERROR -> errors.incrementAndGet();
             case WARNING -> warnings.incrementAndGet();
@@ -134,6 +171,19 @@ public class CheckMojo extends AbstractJbctMojo {
                              });
     }
 
+    private static Result<FileResult> check(SourceFile source, SourceAnalyzer analyzer, Option<BuildState> state) {
+        return state.flatMap(buildState -> buildState.unchanged(source))
+                    .map(Result::success)
+                    .or(() -> analyzer.check(source)
+                                      .onSuccess(result -> record(state, source, result))
+                                      .map(result -> FileResult.fileResult(result.changed(),
+                                                                           result.diagnostics())));
+    }
+
+    private static void record(Option<BuildState> state, SourceFile source, AnalysisResult result) {
+        state.onPresent(buildState -> buildState.record(source, result.changed(), result.diagnostics()));
+    }
+
     private String formatDiagnostic(Diagnostic d) {
         return "[" + d.ruleId() + "] " + d.file() + ":" + d.line() + ":" + d.column() + " - " + d.message();
     }
@@ -1,7 +1,10 @@
 package org.pragmatica.jbct.maven;
 
+import org.pragmatica.jbct.format.FormatCache;
 import org.pragmatica.jbct.format.JbctFormatter;
 import org.pragmatica.jbct.shared.SourceFile;
+import org.pragmatica.lang.Option;
+import org.pragmatica.lang.Result;
 
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -29,8 +32,9 @@ public class FormatCheckMojo extends AbstractJbctMojo {
             return;
         }
         var config = loadConfig();
-        var formatter = JbctFormatter.jbctFormatter(config.formatter());
-        var filesToProcess = collectJavaFiles();
+        var formatter = sharedFormatter(config.formatter());
+        var cache = loadFormatCache(config.formatter());
+        var filesToProcess = collectJavaFiles(config);
         if (filesToProcess.isEmpty()) {
             getLog().info("No Java files found.");
             return;
@@ -38,9 +42,10 @@ public class FormatCheckMojo extends AbstractJbctMojo {
         getLog().info("Checking format of " + filesToProcess.size() + " Java file(s)");
         var needsFormatting = new ArrayList<Path>();
         var errors = new AtomicInteger(0);
-        for (var file : filesToProcess) {
-            checkFile(file, formatter, needsFormatting, errors);
-        }
+        // Files are checked on a bounded pool; results are reported here, in input order
+        var pipeline = filePipeline(source -> isFormatted(source, formatter, cache));
+        pipeline.forEach(filesToProcess, (file, result) -> reportFile(file, result, needsFormatting, errors));
+        writeFormatCache(cache);
         if (!needsFormatting.isEmpty()) {
             getLog().error("The following files are not properly formatted:");
             for (var file : needsFormatting) {
@@ -55,17 +60,28 @@ public class FormatCheckMojo extends AbstractJbctMojo {
         getLog().info("All files are properly formatted.");
     }
 
-    private void checkFile(Path file, JbctFormatter formatter, List<Path> needsFormatting, AtomicInteger errors) {
-        SourceFile.sourceFile(file)
-                  .flatMap(formatter::isFormatted)
-                  .onSuccess(isFormatted -> {
-                      if (!isFormatted) {
-                          needsFormatting.add(file);
-                      }
-                  })
-                  .onFailure(cause -> {
-                                 errors.incrementAndGet();
-                                 getLog().error("Error checking " + file + ": " + cause.message());
-                             });
+    private void reportFile(Path file, Result<Boolean> result, List<Path> needsFormatting, AtomicInteger errors) {
+        result.onSuccess(isFormatted -> {
+                             if (!isFormatted) {
+                                 needsFormatting.add(file);
+                             }
+                         })
+              .onFailure(cause -> {
+                             errors.incrementAndGet();
+                             getLog().error("Error checking " + file + ": " + cause.message());
+                         });
+    }
+
+    private static Result<Boolean> isFormatted(SourceFile source, JbctFormatter formatter, Option<FormatCache> cache) {
+        if (cache.filter(formatCache -> formatCache.isFormatted(source))
+                 .isPresent()) {
+            return Result.success(true);
+        }
+        return formatter.isFormatted(source)
+                        .onSuccess(formatted -> {
+                                       if (formatted) {
+                                           markFormatted(cache, source);
+                                       }
+                                   });
     }
 }
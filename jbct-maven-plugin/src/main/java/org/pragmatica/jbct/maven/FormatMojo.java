@@ -1,7 +1,10 @@
 package org.pragmatica.jbct.maven;
 
+import org.pragmatica.jbct.format.FormatCache;
 import org.pragmatica.jbct.format.JbctFormatter;
 import org.pragmatica.jbct.shared.SourceFile;
+import org.pragmatica.lang.Option;
+import org.pragmatica.lang.Result;
 
 import java.nio.file.Path;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -26,8 +29,9 @@ public class FormatMojo extends AbstractJbctMojo {
             return;
         }
         var config = loadConfig();
-        var formatter = JbctFormatter.jbctFormatter(config.formatter());
-        var filesToProcess = collectJavaFiles();
+        var formatter = sharedFormatter(config.formatter());
+        var cache = loadFormatCache(config.formatter());
+        var filesToProcess = collectJavaFiles(config);
         if (filesToProcess.isEmpty()) {
             getLog().info("No Java files found.");
             return;
@@ -36,9 +40,10 @@ public class FormatMojo extends AbstractJbctMojo {
         var formatted = new AtomicInteger(0);
         var unchanged = new AtomicInteger(0);
         var errors = new AtomicInteger(0);
-        for (var file : filesToProcess) {
-            processFile(file, formatter, formatted, unchanged, errors);
-        }
+        // Files are formatted and written on a bounded pool; unchanged files are not touched
+        var pipeline = filePipeline(source -> formatFile(source, formatter, cache));
+        pipeline.forEach(filesToProcess, (file, result) -> reportFile(file, result, formatted, unchanged, errors));
+        writeFormatCache(cache);
         getLog()
         .info("Formatted: " + formatted.get() + ", Unchanged: " + unchanged.get() + ", Errors: " + errors.get());
         if (errors.get() > 0) {
@@ -46,30 +51,42 @@ public class FormatMojo extends AbstractJbctMojo {
         }
     }
 
-    private void processFile(Path file,
-                             JbctFormatter formatter,
-                             AtomicInteger formatted,
-                             AtomicInteger unchanged,
-                             AtomicInteger errors) {
-        SourceFile.sourceFile(file)
-                  .flatMap(source -> formatter.isFormatted(source)
-                                              .flatMap(isFormatted -> {
-                                                           if (isFormatted) {
-                                                               unchanged.incrementAndGet();
-                                                               return org.pragmatica.lang.Result.success(source);
-                                                           }
-                                                           return formatter.format(source)
-                                                                           .flatMap(formattedSource -> formattedSource.write()
-                                                                                                                      .map(written -> {
-                                                                                                                               formatted.incrementAndGet();
-                                                                                                                               getLog()
-        .debug("Formatted: " + file);
-                                                                                                                               return written;
-                                                                                                                           }));
-                                                       }))
-                  .onFailure(cause -> {
-                                 errors.incrementAndGet();
-                                 getLog().error("Error formatting " + file + ": " + cause.message());
-                             });
+    private static Result<Boolean> formatFile(SourceFile source,
+                                              JbctFormatter formatter,
+                                              Option<FormatCache> cache) {
+        if (cache.filter(formatCache -> formatCache.isFormatted(source))
+                 .isPresent()) {
+            return Result.success(false);
+        }
+        // Only content the formatter left unchanged counts as verified; rewritten files are verified by the next build
+        return formatter.format(source)
+                        .flatMap(formattedSource -> formattedSource.content()
+                                                                   .equals(source.content())
+                                                    ? verifiedUnchanged(source, cache)
+                                                    : formattedSource.writeIfChanged());
+    }
+
+    private static Result<Boolean> verifiedUnchanged(SourceFile source, Option<FormatCache> cache) {
+        markFormatted(cache, source);
+        return Result.success(false);
+    }
+
+    private void reportFile(Path file,
+                            Result<Boolean> result,
+                            AtomicInteger formatted,
+                            AtomicInteger unchanged,
+                            AtomicInteger errors) {
+        result.onSuccess(written -> {
+                             if (written) {
+                                 formatted.incrementAndGet();
+                                 getLog().debug("Formatted: " + file);
+                             } else {
+                                 unchanged.incrementAndGet();
+                             }
+                         })
+              .onFailure(cause -> {
+                             errors.incrementAndGet();
+                             getLog().error("Error formatting " + file + ": " + cause.message());
+                         });
     }
 }
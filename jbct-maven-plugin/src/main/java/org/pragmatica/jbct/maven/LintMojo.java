@@ -2,7 +2,10 @@ package org.pragmatica.jbct.maven;
 
 import org.pragmatica.jbct.lint.Diagnostic;
 import org.pragmatica.jbct.lint.JbctLinter;
+import org.pragmatica.jbct.lint.RuleProfiler;
 import org.pragmatica.jbct.shared.SourceFile;
+import org.pragmatica.lang.Option;
+import org.pragmatica.lang.Result;
 
 import java.nio.file.Path;
 import java.util.ArrayList;
@@ -25,13 +28,15 @@ public class LintMojo extends AbstractJbctMojo {
             return;
         }
         var jbctConfig = loadConfig();
-        var context = createLintContext(jbctConfig);
-        var linter = JbctLinter.jbctLinter(context);
-        var filesToProcess = collectJavaFiles();
+        var filesToProcess = collectJavaFiles(jbctConfig);
         if (filesToProcess.isEmpty()) {
             getLog().info("No Java files found.");
             return;
         }
+        var context = withProjectIndex(createLintContext(jbctConfig), filesToProcess);
+        var profiler = RuleProfiler.ruleProfiler();
+        var linter = createLinter(context, profiler);
+        var state = loadBuildState("lint", jbctConfig, context);
         getLog().info("Linting " + filesToProcess.size() + " Java file(s)");
         var allDiagnostics = new ArrayList<Diagnostic>();
         var errors = new AtomicInteger(0);
@@ -39,8 +44,9 @@ public class LintMojo extends AbstractJbctMojo {
         var infos = new AtomicInteger(0);
         var parseErrors = new AtomicInteger(0);
         for (var file : filesToProcess) {
-            processFile(file, linter, allDiagnostics, errors, warnings, infos, parseErrors);
+            processFile(file, linter, state, allDiagnostics, errors, warnings, infos, parseErrors);
         }
+        writeBuildState(state);
         // Print diagnostics
         for (var d : allDiagnostics) {
             switch (d.severity()) {
@@ -53,6 +59,7 @@ public class LintMojo extends AbstractJbctMojo {
         getLog()
         .info("Lint results: " + errors.get() + " error(s), " + warnings.get() + " warning(s), " + infos.get()
               + " info(s)");
+        reportProfile(profiler);
         // Fail build if needed
         if (parseErrors.get() > 0 || errors.get() > 0) {
             throw new MojoFailureException("JBCT lint found " + errors.get() + " error(s)");
@@ -66,13 +73,14 @@ public class LintMojo extends AbstractJbctMojo {
 
     private void processFile(Path file,
                              JbctLinter linter,
+                             Option<BuildState> state,
                              List<Diagnostic> allDiagnostics,
                              AtomicInteger errors,
                              AtomicInteger warnings,
                              AtomicInteger infos,
                              AtomicInteger parseErrors) {
         SourceFile.sourceFile(file)
-                  .flatMap(linter::lint)
+                  .flatMap(source -> lint(source, linter, state))
                   .onSuccess(diagnostics -> {
                                  allDiagnostics.addAll(diagnostics);
                                  for (var d : diagnostics) {
@@ -89,6 +97,17 @@ public class LintMojo extends AbstractJbctMojo {
                              });
     }
 
+    private static Result<List<Diagnostic>> lint(SourceFile source, JbctLinter linter, Option<BuildState> state) {
+        return state.flatMap(buildState -> buildState.unchanged(source))
+                    .map(result -> Result.success(result.diagnostics()))
+                    .or(() -> linter.lint(source)
+                                    .onSuccess(diagnostics -> record(state, source, diagnostics)));
+    }
+
+    private static void record(Option<BuildState> state, SourceFile source, List<Diagnostic> diagnostics) {
+        state.onPresent(buildState -> buildState.record(source, false, diagnostics));
+    }
+
     private String formatDiagnostic(Diagnostic d) {
         return "[" + d.ruleId() + "] " + d.file() + ":" + d.line() + ":" + d.column() + " - " + d.message();
     }
@@ -33,7 +33,7 @@ public class ScoreMojo extends AbstractJbctMojo {
         var jbctConfig = loadConfig();
         var context = createLintContext(jbctConfig);
         var linter = JbctLinter.jbctLinter(context);
-        var filesToProcess = collectJavaFiles();
+        var filesToProcess = collectJavaFiles(jbctConfig);
         if (filesToProcess.isEmpty()) {
             getLog().info("No Java files found.");
             return;
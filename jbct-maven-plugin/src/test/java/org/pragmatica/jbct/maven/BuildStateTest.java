@@ -0,0 +1,88 @@
+package org.pragmatica.jbct.maven;
+
+import org.pragmatica.jbct.lint.Diagnostic;
+import org.pragmatica.jbct.lint.DiagnosticSeverity;
+import org.pragmatica.jbct.shared.SourceFile;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BuildStateTest {
+    private static final Diagnostic DIAGNOSTIC = Diagnostic.diagnostic("JBCT-RET-01",
+                                                                       DiagnosticSeverity.WARNING,
+                                                                       "App.java",
+                                                                       3,
+                                                                       5,
+                                                                       "Message with\ttab",
+                                                                       "Details\nover two lines \\ with backslash",
+                                                                       "return Result.success(value);",
+                                                                       null);
+
+    @Test
+    void unchangedFileReplaysRecordedResult(@TempDir Path dir) {
+        var stateFile = dir.resolve("jbct/check-state.tsv");
+        var source = SourceFile.sourceFile(dir.resolve("App.java"), "class App {}\n");
+        var state = BuildState.buildState(stateFile, "stamp");
+        assertTrue(state.unchanged(source)
+                        .isEmpty());
+        state.record(source, true, List.of(DIAGNOSTIC));
+        assertTrue(state.write()
+                        .isSuccess());
+        var replayed = BuildState.buildState(stateFile, "stamp")
+                                 .unchanged(source)
+                                 .unwrap();
+        assertTrue(replayed.needsFormatting());
+        assertEquals(List.of(DIAGNOSTIC), replayed.diagnostics());
+    }
+
+    @Test
+    void changedContentOrStampIsNotReplayed(@TempDir Path dir) {
+        var stateFile = dir.resolve("check-state.tsv");
+        var source = SourceFile.sourceFile(dir.resolve("App.java"), "class App {}\n");
+        var state = BuildState.buildState(stateFile, "stamp");
+        state.record(source, false, List.of());
+        state.write();
+        assertTrue(BuildState.buildState(stateFile, "stamp")
+                             .unchanged(source.withContent("class App { }\n"))
+                             .isEmpty());
+        assertTrue(BuildState.buildState(stateFile, "other")
+                             .unchanged(source)
+                             .isEmpty());
+    }
+
+    @Test
+    void filesNotSeenInRunAreDropped(@TempDir Path dir) {
+        var stateFile = dir.resolve("check-state.tsv");
+        var kept = SourceFile.sourceFile(dir.resolve("Kept.java"), "class Kept {}\n");
+        var deleted = SourceFile.sourceFile(dir.resolve("Deleted.java"), "class Deleted {}\n");
+        var first = BuildState.buildState(stateFile, "stamp");
+        first.record(kept, false, List.of());
+        first.record(deleted, false, List.of());
+        first.write();
+        var second = BuildState.buildState(stateFile, "stamp");
+        assertTrue(second.unchanged(kept)
+                         .isPresent());
+        second.write();
+        var third = BuildState.buildState(stateFile, "stamp");
+        assertTrue(third.unchanged(kept)
+                        .isPresent());
+        assertTrue(third.unchanged(deleted)
+                        .isEmpty());
+    }
+
+    @Test
+    void malformedStateIsIgnored(@TempDir Path dir) throws Exception {
+        var stateFile = dir.resolve("check-state.tsv");
+        Files.writeString(stateFile, "jbct-build-state 1\tstamp\nbroken line\n");
+        var source = SourceFile.sourceFile(dir.resolve("App.java"), "class App {}\n");
+        assertTrue(BuildState.buildState(stateFile, "stamp")
+                             .unchanged(source)
+                             .isEmpty());
+    }
+}